@@ -58,6 +58,8 @@ dependencies {
 
     testImplementation(platform("org.junit:junit-bom:5.10.2"))
     testImplementation("org.junit.jupiter:junit-jupiter")
+    // Boots the loader for tests, so classes that touch FabricLoader at init can be loaded.
+    testImplementation("net.fabricmc:fabric-loader-junit:${property("deps.fabric_loader")}")
     testRuntimeOnly("org.junit.platform:junit-platform-launcher")
 
     include(implementation(annotationProcessor("io.github.llamalad7:mixinextras-fabric:0.5.3")!!)!!)
@@ -122,7 +124,20 @@ tasks {
     }
 
     test {
-        useJUnitPlatform()
+        useJUnitPlatform {
+            excludeTags("benchmark")
+        }
+    }
+
+    // Timing tests are slow and machine-dependent, so they only run on request.
+    register<Test>("benchmark") {
+        group = "verification"
+        testClassesDirs = sourceSets.test.get().output.classesDirs
+        classpath = sourceSets.test.get().runtimeClasspath
+        useJUnitPlatform {
+            includeTags("benchmark")
+        }
+        testLogging.showStandardStreams = true
     }
 }
 
@@ -2,6 +2,7 @@ package com.github.kd_gaming1.skyblockenhancements;
 
 import com.github.kd_gaming1.skyblockenhancements.command.Commands;
 import com.github.kd_gaming1.skyblockenhancements.command.DebugCommand;
+import com.github.kd_gaming1.skyblockenhancements.command.PriceCommand;
 import com.github.kd_gaming1.skyblockenhancements.command.ReminderCommand;
 import com.github.kd_gaming1.skyblockenhancements.config.SkyblockEnhancementsConfig;
 import com.github.kd_gaming1.skyblockenhancements.feature.Fullbright;
@@ -11,11 +12,25 @@ import com.github.kd_gaming1.skyblockenhancements.feature.katreminder.KatReminde
 import com.github.kd_gaming1.skyblockenhancements.feature.mining.PickaxeAbilityNotifier;
 import com.github.kd_gaming1.skyblockenhancements.feature.mining.PingOffsetMiningFeature;
 import com.github.kd_gaming1.skyblockenhancements.feature.missingenchants.MissingEnchants;
+import com.github.kd_gaming1.skyblockenhancements.feature.pricing.BazaarFlipBoard;
+import com.github.kd_gaming1.skyblockenhancements.feature.pricing.ContainerValueOverlay;
+import com.github.kd_gaming1.skyblockenhancements.feature.pricing.CraftCostEngine;
+import com.github.kd_gaming1.skyblockenhancements.feature.pricing.PriceAlertEngine;
 import com.github.kd_gaming1.skyblockenhancements.feature.pricing.PriceDataFetcher;
+import com.github.kd_gaming1.skyblockenhancements.feature.pricing.PriceHistoryStore;
+import com.github.kd_gaming1.skyblockenhancements.feature.pricing.PriceSearch;
+import com.github.kd_gaming1.skyblockenhancements.feature.pricing.PriceSnapshotFile;
 import com.github.kd_gaming1.skyblockenhancements.feature.pricing.PriceStore;
 import com.github.kd_gaming1.skyblockenhancements.feature.pricing.PriceTooltipEnhancement;
 import com.github.kd_gaming1.skyblockenhancements.feature.pricing.PriceTooltipKeybinds;
 import com.github.kd_gaming1.skyblockenhancements.feature.slotmanage.SlotManager;
+import com.github.kd_gaming1.skyblockenhancements.repo.enchant.EnchantCatalog;
+import com.github.kd_gaming1.skyblockenhancements.repo.io.PersistenceService;
+import com.github.kd_gaming1.skyblockenhancements.repo.item.NeuItems;
+import com.github.kd_gaming1.skyblockenhancements.repo.network.HttpCache;
+import com.github.kd_gaming1.skyblockenhancements.repo.network.JsonHttpClient;
+import com.github.kd_gaming1.skyblockenhancements.repo.network.NetworkService;
+import com.github.kd_gaming1.skyblockenhancements.repo.sync.RepoSync;
 import com.github.kd_gaming1.skyblockenhancements.feature.reminder.ReminderManager;
 import com.github.kd_gaming1.skyblockenhancements.feature.reminder.ReminderNotifier;
 import com.github.kd_gaming1.skyblockenhancements.feature.reminder.ReminderStorage;
@@ -25,9 +40,10 @@ import com.github.kd_gaming1.skyblockenhancements.util.IrisCompat;
 import com.github.kd_gaming1.skyblockenhancements.util.ProfileIdTracker;
 import com.github.kd_gaming1.skyblockenhancements.util.tab.TabListMonitor;
 import com.github.kd_gaming1.skyblockenhancements.util.tool.HeldItemTracker;
+import com.google.gson.GsonBuilder;
 import eu.midnightdust.lib.config.MidnightConfig;
 import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
-import java.util.concurrent.CompletableFuture;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
 import net.azureaaron.hmapi.network.HypixelNetworking;
 import net.azureaaron.hmapi.network.packet.v1.s2c.LocationUpdateS2CPacket;
@@ -52,16 +68,53 @@ public class SkyblockEnhancements implements ClientModInitializer {
                             .resolve(MOD_ID)
                             .resolve("reminders.json"));
     private final PriceStore priceStore = new PriceStore();
-    private final PriceDataFetcher priceFetcher = new PriceDataFetcher(new SkyblockEnhancementsConfig(), priceStore);
-    private final PriceTooltipEnhancement priceTooltip = new PriceTooltipEnhancement(new SkyblockEnhancementsConfig(), priceStore);
+    private final PriceHistoryStore priceHistory = new PriceHistoryStore(
+            FabricLoader.getInstance()
+                    .getConfigDir()
+                    .resolve(MOD_ID)
+                    .resolve("price_history.bin"));
+    private final PriceDataFetcher priceFetcher = new PriceDataFetcher(
+            new SkyblockEnhancementsConfig(),
+            priceStore,
+            new PriceSnapshotFile(
+                    FabricLoader.getInstance()
+                            .getConfigDir()
+                            .resolve(MOD_ID)
+                            .resolve("price_snapshot.bin")),
+            priceHistory);
+    private final CraftCostEngine craftCosts = new CraftCostEngine(priceStore);
+    private final PriceTooltipEnhancement priceTooltip =
+            new PriceTooltipEnhancement(new SkyblockEnhancementsConfig(), priceStore, priceHistory, craftCosts);
     private final ReminderNotifier reminderNotifier = new ReminderNotifier(new SkyblockEnhancementsConfig());
     private final ReminderManager reminderManager = new ReminderManager(reminderNotifier);
+    private final PriceAlertEngine priceAlerts = new PriceAlertEngine(
+            priceStore,
+            reminderNotifier,
+            FabricLoader.getInstance()
+                    .getConfigDir()
+                    .resolve(MOD_ID)
+                    .resolve("price_alerts.json"));
+
+    /** Local mirror of the NEU repo files the mod's features read. */
+    private final RepoSync repoSync = new RepoSync(
+            FabricLoader.getInstance().getConfigDir().resolve(MOD_ID).resolve("data"),
+            List.of(EnchantCatalog.ENCHANTS_REPO_PATH, NeuItems.ITEMS_REPO_PATH),
+            DATA_CLIENT);
 
     /** Guards against double-saving reminders on disconnect + shutdown. */
     private final AtomicBoolean remindersSaved = new AtomicBoolean(false);
 
     private static SkyblockEnhancements instance;
 
+    /** Shared client for the mod's data downloads; the connection pool lives in {@link NetworkService}. */
+    private static final JsonHttpClient DATA_CLIENT = new JsonHttpClient(
+            new GsonBuilder().create(),
+            new HttpCache(FabricLoader.getInstance()
+                    .getConfigDir()
+                    .resolve(MOD_ID)
+                    .resolve("cache")
+                    .resolve("http")));
+
     @Override
     public void onInitializeClient() {
         instance = this;
@@ -86,6 +139,7 @@ public class SkyblockEnhancements implements ClientModInitializer {
 
         DebugCommand.register();
         Commands.register();
+        PriceCommand.register(priceStore, new PriceSearch(priceStore), new BazaarFlipBoard(priceStore), priceAlerts);
 
         HeldItemTracker.register();
         PingOffsetMiningFeature.register();
@@ -98,23 +152,24 @@ public class SkyblockEnhancements implements ClientModInitializer {
         SlotManager.init(
                 FabricLoader.getInstance().getConfigDir().resolve(MOD_ID).resolve("slot_locks.json"));
         priceTooltip.register();
+        ContainerValueOverlay.init(new SkyblockEnhancementsConfig(), priceStore);
+        priceAlerts.load();
         priceFetcher.start();
 
         ClientTickEvents.END_CLIENT_TICK.register(Fullbright::onTick);
         ClientTickEvents.END_CLIENT_TICK.register(client -> IrisCompat.tick());
         ClientTickEvents.END_CLIENT_TICK.register(client -> priceFetcher.tick());
 
-        // Enchant data is independent of RRV — always fetch on startup.
-        ClientLifecycleEvents.CLIENT_STARTED.register(
-                client -> CompletableFuture.runAsync(() -> {
-                    try {
-                        downloadEnchantsData();
-                    } catch (Exception e) {
-                        LOGGER.error("Failed to download enchants data", e);
-                    }
-                }));
+        // Repo data is independent of RRV — sync it in the background once the client is up.
+        EnchantCatalog.init(repoSync);
+        NeuItems.init(repoSync, DATA_CLIENT, FabricLoader.getInstance().getConfigDir().resolve(MOD_ID).resolve("cache"));
+        ClientLifecycleEvents.CLIENT_STARTED.register(client -> repoSync.start());
 
         initReminders();
+
+        // Registered last so the features' own disconnect/stop hooks have queued their final state.
+        ClientPlayConnectionEvents.DISCONNECT.register((handler, client) -> PersistenceService.flushAll());
+        ClientLifecycleEvents.CLIENT_STOPPING.register(client -> PersistenceService.shutdown());
     }
 
     /** Loads persisted reminders, registers the /reminder command, and hooks save events. */
@@ -149,25 +204,15 @@ public class SkyblockEnhancements implements ClientModInitializer {
         }
     }
 
-    private static void downloadEnchantsData() throws Exception {
-        String url = "https://raw.githubusercontent.com/NotEnoughUpdates/NotEnoughUpdates-REPO/master/constants/enchants.json";
-        java.net.http.HttpClient http = java.net.http.HttpClient.newHttpClient();
-        com.google.gson.Gson gson = new com.google.gson.GsonBuilder().create();
-        com.github.kd_gaming1.skyblockenhancements.repo.network.JsonHttpClient client =
-                new com.github.kd_gaming1.skyblockenhancements.repo.network.JsonHttpClient(http, gson);
-        String text = client.getString(url);
-        if (text != null) {
-            java.nio.file.Path target = FabricLoader.getInstance()
-                    .getConfigDir()
-                    .resolve(MOD_ID)
-                    .resolve("data")
-                    .resolve("constants")
-                    .resolve("enchants.json");
-            com.github.kd_gaming1.skyblockenhancements.repo.io.AtomicFileWriter.writeString(target, text);
-        }
-    }
-
     public static SkyblockEnhancements getInstance() {
         return instance;
     }
+
+    public PriceDataFetcher getPriceFetcher() {
+        return priceFetcher;
+    }
+
+    public RepoSync getRepoSync() {
+        return repoSync;
+    }
 }
@@ -5,6 +5,9 @@ import static net.fabricmc.fabric.api.client.command.v2.ClientCommands.literal;
 
 import com.github.kd_gaming1.skyblockenhancements.SkyblockEnhancements;
 import com.github.kd_gaming1.skyblockenhancements.config.SkyblockEnhancementsConfig;
+import com.github.kd_gaming1.skyblockenhancements.feature.pricing.PriceDataFetcher;
+import com.github.kd_gaming1.skyblockenhancements.feature.pricing.PriceProvider;
+import com.github.kd_gaming1.skyblockenhancements.repo.network.NetworkService;
 import com.github.kd_gaming1.skyblockenhancements.util.HypixelLocationState;
 import com.github.kd_gaming1.skyblockenhancements.util.NetworkStats;
 import com.github.kd_gaming1.skyblockenhancements.util.StatValueType;
@@ -44,6 +47,10 @@ import java.util.Map;
  * /sbe tool stats
  * /sbe tool id
  * /sbe tool lore
+ *
+ * /sbe debug location
+ * /sbe debug prices
+ * /sbe debug http
  */
 public final class DebugCommand {
 
@@ -55,6 +62,14 @@ public final class DebugCommand {
     private static final String TOOL_E = "§c[Tool] ";
     private static final String TOOL_G = "§7[Tool] ";
 
+    private static final String PRICE_P = "§a[Prices] ";
+    private static final String PRICE_E = "§c[Prices] ";
+    private static final String PRICE_G = "§7[Prices] ";
+
+    private static final String HTTP_P = "§a[HTTP] ";
+    private static final String HTTP_E = "§c[HTTP] ";
+    private static final String HTTP_G = "§7[HTTP] ";
+
     private DebugCommand() {}
 
     public static void register() {
@@ -104,7 +119,11 @@ public final class DebugCommand {
 
                     .then(literal("debug")
                             .then(literal("location")
-                                    .executes(DebugCommand::cmdLocationDebug)));
+                                    .executes(DebugCommand::cmdLocationDebug))
+                            .then(literal("prices")
+                                    .executes(DebugCommand::cmdPriceDebug))
+                            .then(literal("http")
+                                    .executes(DebugCommand::cmdHttpDebug)));
 
             var rootNode = dispatcher.register(root);
 
@@ -540,6 +559,52 @@ public final class DebugCommand {
         return 1;
     }
 
+    private static int cmdPriceDebug(CommandContext<FabricClientCommandSource> ctx) {
+        if (!checkDevMode(ctx, PRICE_E)) return 0;
+
+        PriceDataFetcher.RefreshStats stats = SkyblockEnhancements.getInstance().getPriceFetcher().getLastRefreshStats();
+        if (stats == null) {
+            warn(ctx, PRICE_E, "No price refresh has completed yet");
+            return 1;
+        }
+
+        long ageSeconds = (System.currentTimeMillis() - stats.finishedAt()) / 1000;
+        header(ctx, PRICE_P, "Last Price Refresh §7(" + ageSeconds + "s ago)");
+        info(ctx, PRICE_G, "Result     … " + (stats.success() ? "§asuccess" : "§cfailed"));
+        info(ctx, PRICE_G, "Total      … §6" + stats.totalMs() + " §7ms");
+        info(ctx, PRICE_G, "Lowest BIN … §6" + stats.feedMs()[PriceProvider.Feed.LOWEST_BIN.ordinal()]
+                + " §7ms, §f" + stats.lowestBinCount() + " §7items");
+        info(ctx, PRICE_G, "Bazaar     … §6" + stats.feedMs()[PriceProvider.Feed.BAZAAR.ordinal()]
+                + " §7ms, §f" + stats.bazaarCount() + " §7products");
+        info(ctx, PRICE_G, "Allocated  … "
+                + (stats.allocatedBytes() >= 0 ? "§6" + stats.allocatedBytes() / 1024 + " §7KB" : "§7unavailable"));
+        info(ctx, PRICE_G, "Heap used  … §6" + stats.heapUsedBytes() / (1024 * 1024) + " §7MB");
+        return 1;
+    }
+
+    private static int cmdHttpDebug(CommandContext<FabricClientCommandSource> ctx) {
+        if (!checkDevMode(ctx, HTTP_E)) return 0;
+
+        List<NetworkService.HostStats> hosts = NetworkService.stats();
+        if (hosts.isEmpty()) {
+            warn(ctx, HTTP_E, "No requests sent yet");
+            return 1;
+        }
+
+        header(ctx, HTTP_P, "Requests per host (" + hosts.size() + "):");
+        for (NetworkService.HostStats host : hosts) {
+            info(ctx, HTTP_G, "§f" + host.host());
+            line(ctx, "  §7Requests §f" + host.requests()
+                    + (host.failures() > 0 ? " §7(§c" + host.failures() + " failed§7)" : ""));
+            line(ctx, "  §7Status   §a" + host.status2xx() + " §72xx §f" + host.status3xx()
+                    + " §73xx §e" + host.status4xx() + " §74xx §c" + host.status5xx() + " §75xx");
+            line(ctx, "  §7Received §6" + host.bytesReceived() / 1024 + " §7KB");
+            line(ctx, "  §7Latency  §6" + host.averageLatencyMs() + " §7ms avg, §6"
+                    + host.maxLatencyMs() + " §7ms max");
+        }
+        return 1;
+    }
+
     // ─────────────────────────────────────────────────────────────────────────
     // HELPERS
     // ─────────────────────────────────────────────────────────────────────────
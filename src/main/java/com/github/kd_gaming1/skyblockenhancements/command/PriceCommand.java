@@ -0,0 +1,287 @@
+package com.github.kd_gaming1.skyblockenhancements.command;
+
+import static net.fabricmc.fabric.api.client.command.v2.ClientCommands.argument;
+import static net.fabricmc.fabric.api.client.command.v2.ClientCommands.literal;
+
+import com.github.kd_gaming1.skyblockenhancements.feature.pricing.BazaarFlipBoard;
+import com.github.kd_gaming1.skyblockenhancements.feature.pricing.ItemIdDictionary;
+import com.github.kd_gaming1.skyblockenhancements.feature.pricing.PriceAlert;
+import com.github.kd_gaming1.skyblockenhancements.feature.pricing.PriceAlertEngine;
+import com.github.kd_gaming1.skyblockenhancements.feature.pricing.PriceSearch;
+import com.github.kd_gaming1.skyblockenhancements.feature.pricing.PriceSnapshot;
+import com.github.kd_gaming1.skyblockenhancements.feature.pricing.PriceStore;
+import com.github.kd_gaming1.skyblockenhancements.feature.pricing.PriceTooltipEnhancement;
+import com.mojang.brigadier.arguments.DoubleArgumentType;
+import com.mojang.brigadier.arguments.IntegerArgumentType;
+import com.mojang.brigadier.arguments.StringArgumentType;
+import com.mojang.brigadier.builder.LiteralArgumentBuilder;
+import com.mojang.brigadier.context.CommandContext;
+import com.mojang.brigadier.suggestion.SuggestionProvider;
+import java.util.List;
+import java.util.Locale;
+import net.fabricmc.fabric.api.client.command.v2.ClientCommandRegistrationCallback;
+import net.fabricmc.fabric.api.client.command.v2.FabricClientCommandSource;
+import net.minecraft.network.chat.Component;
+
+/**
+ * Price lookup commands.
+ *
+ * <p>Commands:
+ * <pre>
+ * /sbe price <item id>
+ * /sbe alert add <item id> <above|below|drop> <lowest_bin|bazaar_buy|bazaar_sell> <coins|percent>
+ * /sbe alert list
+ * /sbe alert remove <id>
+ * /sbe bazaar top [absolute|percent] [minBuy] [page]
+ * </pre>
+ *
+ * <p>Item suggestions come from the prebuilt {@link PriceSearch} index, and the bazaar board
+ * reads cached rankings from {@link BazaarFlipBoard}, so neither scans the price data per
+ * keystroke or page.
+ */
+public final class PriceCommand {
+
+    private static final String PREFIX = "§a[Skyblock Enhancements] ";
+    private static final String PREFIX_ERROR = "§c[Skyblock Enhancements] ";
+    private static final int PAGE_SIZE = 10;
+    private static final int MAX_SUGGESTIONS = 50;
+
+    private PriceCommand() {}
+
+    public static void register(PriceStore store, PriceSearch search, BazaarFlipBoard flipBoard,
+                                PriceAlertEngine alerts) {
+        ClientCommandRegistrationCallback.EVENT.register((dispatcher, registryAccess) -> {
+            var root = literal("skyblockenhancements")
+                    .then(literal("price")
+                            .then(argument("item", StringArgumentType.greedyString())
+                                    .suggests(itemSuggestions(search, false))
+                                    .executes(ctx -> showPrice(ctx, store))))
+                    .then(buildAlertCommand(store, alerts, itemSuggestions(search, true)))
+                    .then(literal("bazaar")
+                            .then(literal("top")
+                                    .executes(ctx -> showTop(ctx, flipBoard, BazaarFlipBoard.Mode.ABSOLUTE))
+                                    .then(modeBranch("absolute", flipBoard, BazaarFlipBoard.Mode.ABSOLUTE))
+                                    .then(modeBranch("percent", flipBoard, BazaarFlipBoard.Mode.PERCENT))));
+
+            var rootNode = dispatcher.register(root);
+            dispatcher.register(literal("sbe").redirect(rootNode));
+        });
+    }
+
+    private static LiteralArgumentBuilder<FabricClientCommandSource> modeBranch(
+            String name, BazaarFlipBoard flipBoard, BazaarFlipBoard.Mode mode) {
+        return literal(name)
+                .executes(ctx -> showTop(ctx, flipBoard, mode))
+                .then(argument("minBuy", DoubleArgumentType.doubleArg(0))
+                        .executes(ctx -> showTop(ctx, flipBoard, mode))
+                        .then(argument("page", IntegerArgumentType.integer(1))
+                                .executes(ctx -> showTop(ctx, flipBoard, mode))));
+    }
+
+    // ── Price lookup ────────────────────────────────────────────────────────────
+
+    private static int showPrice(CommandContext<FabricClientCommandSource> ctx, PriceStore store) {
+        String skyblockId = StringArgumentType.getString(ctx, "item").trim().toUpperCase(Locale.ROOT);
+        PriceSnapshot snapshot = store.snapshot();
+        int id = snapshot.indexOf(skyblockId);
+
+        if (!snapshot.hasLowestBin(id) && !snapshot.hasBazaar(id)) {
+            ctx.getSource().sendError(Component.literal(snapshot.isEmpty()
+                    ? PREFIX_ERROR + "No prices loaded yet. Enable price tooltips and wait for a refresh."
+                    : PREFIX_ERROR + "No price data for " + skyblockId + "."));
+            return 0;
+        }
+
+        ctx.getSource().sendFeedback(Component.literal(PREFIX + "§f" + skyblockId));
+        if (snapshot.hasLowestBin(id)) {
+            priceLine(ctx, "Lowest BIN", snapshot.lowestBin(id));
+        }
+        if (snapshot.hasBazaar(id)) {
+            priceLine(ctx, "Bazaar Buy", snapshot.bazaarBuy(id));
+            priceLine(ctx, "Bazaar Sell", snapshot.bazaarSell(id));
+            priceLine(ctx, "Bazaar Spread", snapshot.bazaarSpread(id));
+        }
+        return 1;
+    }
+
+    private static void priceLine(CommandContext<FabricClientCommandSource> ctx, String label, double price) {
+        ctx.getSource().sendFeedback(Component.literal(
+                "  §6" + label + ": §e" + PriceTooltipEnhancement.formatCoins(price) + " coins"));
+    }
+
+    // ── Alerts ──────────────────────────────────────────────────────────────────
+
+    private static LiteralArgumentBuilder<FabricClientCommandSource> buildAlertCommand(
+            PriceStore store, PriceAlertEngine alerts, SuggestionProvider<FabricClientCommandSource> itemIds) {
+        var add = literal("add")
+                .then(argument("item", StringArgumentType.string())
+                        .suggests(itemIds)
+                        .then(argument("condition", StringArgumentType.word())
+                                .suggests(enumSuggestions(PriceAlert.Condition.values()))
+                                .then(argument("field", StringArgumentType.word())
+                                        .suggests(enumSuggestions(PriceAlert.Field.values()))
+                                        .then(argument("threshold", DoubleArgumentType.doubleArg(0))
+                                                .executes(ctx -> addAlert(ctx, store, alerts))))));
+
+        return literal("alert")
+                .then(add)
+                .then(literal("list").executes(ctx -> listAlerts(ctx, alerts)))
+                .then(literal("remove")
+                        .then(argument("id", IntegerArgumentType.integer(1))
+                                .suggests((ctx, builder) -> {
+                                    for (PriceAlert alert : alerts.getAlerts()) builder.suggest(alert.getId());
+                                    return builder.buildFuture();
+                                })
+                                .executes(ctx -> removeAlert(ctx, alerts))));
+    }
+
+    private static int addAlert(CommandContext<FabricClientCommandSource> ctx, PriceStore store,
+                                PriceAlertEngine alerts) {
+        String skyblockId = StringArgumentType.getString(ctx, "item").trim().toUpperCase(Locale.ROOT);
+        PriceAlert.Condition condition = parseEnum(PriceAlert.Condition.class, StringArgumentType.getString(ctx, "condition"));
+        PriceAlert.Field field = parseEnum(PriceAlert.Field.class, StringArgumentType.getString(ctx, "field"));
+        double threshold = DoubleArgumentType.getDouble(ctx, "threshold");
+
+        if (condition == null || field == null) {
+            ctx.getSource().sendError(Component.literal(
+                    PREFIX_ERROR + "Usage: /sbe alert add <item> <above|below|drop> <lowest_bin|bazaar_buy|bazaar_sell> <value>"));
+            return 0;
+        }
+        if (condition == PriceAlert.Condition.DROP && threshold >= 100) {
+            ctx.getSource().sendError(Component.literal(PREFIX_ERROR + "A drop must be below 100%."));
+            return 0;
+        }
+
+        PriceAlert alert = alerts.add(skyblockId, field, condition, threshold);
+        if (alert == null) {
+            ctx.getSource().sendError(Component.literal(
+                    PREFIX_ERROR + "No current " + field.displayName + " for " + skyblockId + " to measure a drop from."));
+            return 0;
+        }
+
+        ctx.getSource().sendFeedback(Component.literal(
+                PREFIX + "Alert #" + alert.getId() + ": §f" + skyblockId + " §7" + alert.describe()));
+        if (store.snapshot().indexOf(skyblockId) == ItemIdDictionary.NO_ID && !store.snapshot().isEmpty()) {
+            ctx.getSource().sendFeedback(Component.literal(
+                    "  §7No price has been seen for " + skyblockId + " yet; check the item ID."));
+        }
+        return 1;
+    }
+
+    private static int listAlerts(CommandContext<FabricClientCommandSource> ctx, PriceAlertEngine alerts) {
+        List<PriceAlert> all = alerts.getAlerts();
+        if (all.isEmpty()) {
+            ctx.getSource().sendFeedback(Component.literal(PREFIX + "No price alerts. Add one with /sbe alert add."));
+            return 1;
+        }
+
+        ctx.getSource().sendFeedback(Component.literal(PREFIX + "§fPrice alerts:"));
+        for (PriceAlert alert : all) {
+            ctx.getSource().sendFeedback(Component.literal(
+                    "  §7#" + alert.getId() + " §f" + alert.getSkyblockId() + " §7" + alert.describe()
+                            + (alert.isTriggered() ? " §6(triggered)" : "")));
+        }
+        return 1;
+    }
+
+    private static int removeAlert(CommandContext<FabricClientCommandSource> ctx, PriceAlertEngine alerts) {
+        int id = IntegerArgumentType.getInteger(ctx, "id");
+        if (!alerts.remove(id)) {
+            ctx.getSource().sendError(Component.literal(PREFIX_ERROR + "No price alert #" + id + "."));
+            return 0;
+        }
+        ctx.getSource().sendFeedback(Component.literal(PREFIX + "Removed price alert #" + id + "."));
+        return 1;
+    }
+
+    // ── Bazaar top ──────────────────────────────────────────────────────────────
+
+    private static int showTop(CommandContext<FabricClientCommandSource> ctx, BazaarFlipBoard flipBoard,
+                               BazaarFlipBoard.Mode mode) {
+        double minBuy = optionalDouble(ctx, "minBuy", 0);
+        int page = optionalInt(ctx, "page", 1);
+
+        BazaarFlipBoard.Ranking ranking = flipBoard.top(mode, minBuy);
+        if (ranking.size() == 0) {
+            ctx.getSource().sendError(Component.literal(ranking.snapshot().bazaarCount() == 0
+                    ? PREFIX_ERROR + "No bazaar prices loaded yet. Enable price tooltips and wait for a refresh."
+                    : PREFIX_ERROR + "No bazaar products match that filter."));
+            return 0;
+        }
+
+        int pages = (ranking.size() + PAGE_SIZE - 1) / PAGE_SIZE;
+        page = Math.min(page, pages);
+        int from = (page - 1) * PAGE_SIZE;
+        int to = Math.min(from + PAGE_SIZE, ranking.size());
+
+        String header = mode == BazaarFlipBoard.Mode.ABSOLUTE ? "Top bazaar spreads" : "Top bazaar margins";
+        String filter = minBuy > 0 ? " §7(buy ≥ " + PriceTooltipEnhancement.formatCoins(minBuy) + ")" : "";
+        ctx.getSource().sendFeedback(Component.literal(
+                PREFIX + "§f" + header + filter + " §7— page " + page + "/" + pages));
+
+        PriceSnapshot snapshot = ranking.snapshot();
+        for (int i = from; i < to; i++) {
+            int id = ranking.itemIds()[i];
+            String score = mode == BazaarFlipBoard.Mode.ABSOLUTE
+                    ? PriceTooltipEnhancement.formatCoins(ranking.scores()[i])
+                    : String.format(Locale.US, "%.1f%%", ranking.scores()[i] * 100);
+            ctx.getSource().sendFeedback(Component.literal(
+                    "  §7" + (i + 1) + ". §f" + snapshot.dictionary().idAt(id)
+                            + " §6" + score
+                            + " §8(buy " + PriceTooltipEnhancement.formatCoins(snapshot.bazaarBuy(id))
+                            + ", sell " + PriceTooltipEnhancement.formatCoins(snapshot.bazaarSell(id)) + ")"));
+        }
+        return 1;
+    }
+
+    // ── Helpers ─────────────────────────────────────────────────────────────────
+
+    /**
+     * Suggests item IDs matching what has been typed so far.
+     *
+     * @param quoted the argument is a {@link StringArgumentType#string()}, which only reads
+     *               {@code [0-9A-Za-z_.+-]} unquoted, so IDs such as {@code GOLDEN_DRAGON;4} or
+     *               {@code INK_SACK:3} are suggested in quotes
+     */
+    private static SuggestionProvider<FabricClientCommandSource> itemSuggestions(PriceSearch search, boolean quoted) {
+        return (ctx, builder) -> {
+            String typed = builder.getRemaining();
+            if (quoted && typed.startsWith("\"")) typed = typed.substring(1);
+            for (String id : search.suggest(typed, MAX_SUGGESTIONS)) {
+                builder.suggest(quoted ? StringArgumentType.escapeIfRequired(id) : id);
+            }
+            return builder.buildFuture();
+        };
+    }
+
+    private static SuggestionProvider<FabricClientCommandSource> enumSuggestions(Enum<?>[] values) {
+        return (ctx, builder) -> {
+            for (Enum<?> value : values) builder.suggest(value.name().toLowerCase(Locale.ROOT));
+            return builder.buildFuture();
+        };
+    }
+
+    private static <E extends Enum<E>> E parseEnum(Class<E> type, String name) {
+        try {
+            return Enum.valueOf(type, name.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static double optionalDouble(CommandContext<FabricClientCommandSource> ctx, String name, double fallback) {
+        try {
+            return DoubleArgumentType.getDouble(ctx, name);
+        } catch (IllegalArgumentException e) {
+            return fallback;
+        }
+    }
+
+    private static int optionalInt(CommandContext<FabricClientCommandSource> ctx, String name, int fallback) {
+        try {
+            return IntegerArgumentType.getInteger(ctx, name);
+        } catch (IllegalArgumentException e) {
+            return fallback;
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.github.kd_gaming1.skyblockenhancements.config;
 
+import java.util.List;
+
 /**
  * Abstraction over the mod's configuration so services can be instantiated
  * with settings instead of reading static fields directly.
@@ -15,6 +17,11 @@ public interface ModSettings {
 
     int priceRefreshIntervalMinutes();
 
+    /** Extra price providers, each {@code "<lowest-BIN URL> <bazaar URL>"}, tried after the default. */
+    List<String> extraPriceProviders();
+
+    boolean hedgePriceRequests();
+
     // ── Reminder sound ─────────────────────────────────────────────────────────
 
     boolean enableReminderSound();
@@ -34,4 +41,10 @@ public interface ModSettings {
     boolean showBazaarBuySell();
 
     boolean showBazaarSpread();
+
+    boolean showPriceTrend();
+
+    boolean showCraftCost();
+
+    boolean showContainerValue();
 }
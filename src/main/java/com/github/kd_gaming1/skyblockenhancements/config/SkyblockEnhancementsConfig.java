@@ -223,6 +223,12 @@ public class SkyblockEnhancementsConfig extends MidnightConfig implements ModSet
     @Entry(category = TOOLTIP_ENHANCEMENTS, isSlider = true, min = 5, max = 60)
     public static int priceRefreshIntervalMinutes = 20;
 
+    @Entry(category = TOOLTIP_ENHANCEMENTS)
+    public static List<String> extraPriceProviders = new ArrayList<>();
+
+    @Entry(category = TOOLTIP_ENHANCEMENTS)
+    public static boolean hedgePriceRequests = true;
+
     @Entry(category = TOOLTIP_ENHANCEMENTS)
     public static boolean enablePriceTickerText = true;
 
@@ -235,6 +241,15 @@ public class SkyblockEnhancementsConfig extends MidnightConfig implements ModSet
     @Entry(category = TOOLTIP_ENHANCEMENTS)
     public static boolean showBazaarSpread = false;
 
+    @Entry(category = TOOLTIP_ENHANCEMENTS)
+    public static boolean showPriceTrend = true;
+
+    @Entry(category = TOOLTIP_ENHANCEMENTS)
+    public static boolean showCraftCost = true;
+
+    @Entry(category = TOOLTIP_ENHANCEMENTS)
+    public static boolean showContainerValue = true;
+
     @Comment(category = TOOLTIP_ENHANCEMENTS, centered = true)
     public static Comment tooltipScrollText;
 
@@ -320,6 +335,8 @@ public class SkyblockEnhancementsConfig extends MidnightConfig implements ModSet
 
     @Override public boolean enablePriceTooltips()        { return enablePriceTooltips; }
     @Override public int     priceRefreshIntervalMinutes() { return priceRefreshIntervalMinutes; }
+    @Override public List<String> extraPriceProviders()   { return extraPriceProviders; }
+    @Override public boolean hedgePriceRequests()           { return hedgePriceRequests; }
     @Override public boolean enableReminderSound()          { return enableReminderSound; }
     @Override public ReminderSoundType reminderSound()      { return reminderSound; }
     @Override public double  reminderSoundVolume()          { return reminderSoundVolume; }
@@ -328,6 +345,9 @@ public class SkyblockEnhancementsConfig extends MidnightConfig implements ModSet
     @Override public boolean roundPriceNumbers()            { return roundPriceNumbers; }
     @Override public boolean showBazaarBuySell()            { return showBazaarBuySell; }
     @Override public boolean showBazaarSpread()             { return showBazaarSpread; }
+    @Override public boolean showPriceTrend()               { return showPriceTrend; }
+    @Override public boolean showCraftCost()                { return showCraftCost; }
+    @Override public boolean showContainerValue()           { return showContainerValue; }
 
     // ═══════════════════════════════════════════════════════════════════════════
     //  Lightmap dirty-flag on save (fullbright immediate refresh)
@@ -2,6 +2,7 @@ package com.github.kd_gaming1.skyblockenhancements.feature.katreminder;
 
 import com.github.kd_gaming1.skyblockenhancements.SkyblockEnhancements;
 import com.github.kd_gaming1.skyblockenhancements.feature.reminder.JsonFileUtil;
+import com.github.kd_gaming1.skyblockenhancements.repo.io.PersistenceService;
 import com.google.gson.JsonParseException;
 
 import java.io.IOException;
@@ -14,13 +15,17 @@ import java.util.List;
 /**
  * Handles persistence (load / save / backup) for Kat pet-upgrade reminders.
  * Isolated from the orchestration logic in {@link KatUpgradeReminderManager}.
+ * Saves are written in the background by the {@link PersistenceService}.
  */
 public class KatReminderStore {
 
     private final Path storagePath;
+    private final PersistenceService.Handle<KatRemindersFileData> persistence;
 
     public KatReminderStore(Path storagePath) {
         this.storagePath = storagePath;
+        this.persistence = PersistenceService.register(
+                "Kat reminders", PersistenceService.DEFAULT_DEBOUNCE_MS, data -> JsonFileUtil.writeAtomic(storagePath, data));
     }
 
     // ── Load ─────────────────────────────────────────────────────────────────────
@@ -57,7 +62,7 @@ public class KatReminderStore {
 
     // ── Save ─────────────────────────────────────────────────────────────────────
 
-    /** Persists the given reminders atomically. */
+    /** Queues the given reminders to be written atomically. */
     public void save(List<KatUpgradeReminder> reminders) {
         KatRemindersFileData data = new KatRemindersFileData();
         for (KatUpgradeReminder r : reminders) {
@@ -67,12 +72,7 @@ public class KatReminderStore {
             rd.readyAtMs = r.readyAtMs();
             data.reminders.add(rd);
         }
-
-        try {
-            JsonFileUtil.writeAtomic(storagePath, data);
-        } catch (IOException e) {
-            SkyblockEnhancements.LOGGER.error("Failed to save Kat reminders", e);
-        }
+        persistence.submit(data);
     }
 
     // ── Broken-file recovery ─────────────────────────────────────────────────────
@@ -1,5 +1,7 @@
 package com.github.kd_gaming1.skyblockenhancements.feature.missingenchants;
 
+import com.github.kd_gaming1.skyblockenhancements.repo.item.NeuItemIndex;
+import com.github.kd_gaming1.skyblockenhancements.repo.item.NeuItems;
 import net.minecraft.core.component.DataComponents;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.network.chat.Component;
@@ -17,8 +19,9 @@ import java.util.regex.Pattern;
  *
  * <p>Two things are read:
  * <ul>
- *   <li><b>Item type</b> — derived from the rarity/type line at the bottom of the tooltip
- *       (e.g. "LEGENDARY SWORD"). Only types listed in {@code SUPPORTED_TYPES} are considered
+ *   <li><b>Item type</b> — the type the {@link NeuItems} index lists for the item's ID, or,
+ *       for items it doesn't know, the rarity/type line at the bottom of the tooltip
+ *       (e.g. "LEGENDARY SWORD"). Only the types in {@code TYPE_LINE} are considered
  *       enchantable; everything else returns {@code null} so the feature is skipped.</li>
  *   <li><b>Current enchants</b> — the keys of the {@code enchantments} compound inside the
  *       item's Skyblock custom NBT data.</li>
@@ -33,18 +36,37 @@ final class HoveredEnchantReader {
             "(?:COMMON|UNCOMMON|RARE|EPIC|LEGENDARY|MYTHIC|DIVINE|VERY SPECIAL|SPECIAL)\\s+(?:DUNGEON\\s+)" +
                     "?(SWORD|LONGSWORD|BOW|AXE|PICKAXE|DRILL|FISHING ROD|FISHING WEAPON|SHOVEL|FARMING TOOL|HELMET|CHESTPLATE|LEGGINGS|BOOTS|GAUNTLET|GLOVES|BELT|NECKLACE|BRACELET|CLOAK|CARNIVAL MASK)\\b"
     );
+    /** The same types, matched against an index category such as {@code "DUNGEON SWORD"}. */
+    private static final Pattern INDEXED_TYPE = Pattern.compile(
+            "(?:DUNGEON\\s+)?(SWORD|LONGSWORD|BOW|AXE|PICKAXE|DRILL|FISHING ROD|FISHING WEAPON|SHOVEL|FARMING TOOL|HELMET|CHESTPLATE|LEGGINGS|BOOTS|GAUNTLET|GLOVES|BELT|NECKLACE|BRACELET|CLOAK|CARNIVAL MASK)"
+    );
 
     HoveredItemInfo readHoveredItemInfo(ItemStack stack, List<Component> tooltipLines) {
-        String itemType = readItemType(tooltipLines);
+        CustomData customData = stack.get(DataComponents.CUSTOM_DATA);
+        CompoundTag tag = customData != null ? customData.copyTag() : null;
+
+        String itemType = tag != null ? readIndexedItemType(tag) : null;
+        if (itemType == null) itemType = readItemType(tooltipLines);
         if (itemType == null) return null;
 
         // One For All replaces all other enchants, so the normal "what's missing" logic doesn't apply.
-        Map<String, Integer> currentEnchants = readCurrentEnchants(stack);
+        Map<String, Integer> currentEnchants = tag != null ? extractEnchantIds(tag) : Map.of();
         if (currentEnchants.containsKey("ultimate_one_for_all")) return null;
 
         return new HoveredItemInfo(itemType, currentEnchants);
     }
 
+    /** The enchantable type the item index lists for the item's ID, or {@code null}. */
+    private String readIndexedItemType(CompoundTag tag) {
+        NeuItemIndex index = NeuItems.index();
+        int item = index.indexOf(tag.getStringOr("id", ""));
+        String category = item != NeuItemIndex.NO_ITEM ? index.category(item) : null;
+        if (category == null) return null;
+
+        Matcher m = INDEXED_TYPE.matcher(category);
+        return m.matches() ? m.group(1) : null;
+    }
+
     private String readItemType(List<Component> tooltipLines) {
         // Scan bottom-up: the rarity line is always last in a Skyblock tooltip.
         for (int i = tooltipLines.size() - 1; i >= 0; i--) {
@@ -57,16 +79,8 @@ final class HoveredEnchantReader {
         return null;
     }
 
-    private Map<String, Integer> readCurrentEnchants(ItemStack stack) {
-        CustomData customData = stack.get(DataComponents.CUSTOM_DATA);
-        if (customData == null) return Map.of();
-        return extractEnchantIds(customData);
-    }
-
-    private Map<String, Integer> extractEnchantIds(CustomData customData) {
+    private Map<String, Integer> extractEnchantIds(CompoundTag tag) {
         // LOGGER.wiki("Parsing enchants from NBT");
-        CompoundTag tag = customData.copyTag();
-
         return tag.getCompound("enchantments").map(enchantments -> {
             Map<String, Integer> result = new HashMap<>();
             for (String key : enchantments.keySet()) {
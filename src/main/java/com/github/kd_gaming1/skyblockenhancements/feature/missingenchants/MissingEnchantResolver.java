@@ -1,9 +1,10 @@
 package com.github.kd_gaming1.skyblockenhancements.feature.missingenchants;
 
-import com.github.kd_gaming1.skyblockenhancements.util.JsonLookup;
+import com.github.kd_gaming1.skyblockenhancements.repo.enchant.EnchantCatalog;
+import com.github.kd_gaming1.skyblockenhancements.repo.item.NeuItemIndex;
+import com.github.kd_gaming1.skyblockenhancements.repo.item.NeuItems;
+import com.github.kd_gaming1.skyblockenhancements.util.StringUtil;
 
-import java.nio.file.Files;
-import java.nio.file.Path;
 import java.util.*;
 
 // import static com.github.kd_gaming1.skyblockenhancements.SkyblockEnhancements.LOGGER;
@@ -12,65 +13,58 @@ import java.util.*;
  * Determines which enchants are missing from an item given its type and current enchants.
  *
  * <p>Skyblock enchants can be mutually exclusive — only one enchant from a given pool
- * (e.g. Sharpness vs. Smite) may be applied at a time. The resolver loads these
- * pools from {@code enchants.json} once and maps each enchant ID to its pool index.
- * A {@link BitSet} of satisfied pools is then used to efficiently skip enchants whose
- * pool is already covered by something the item already has.
+ * (e.g. Sharpness vs. Smite) may be applied at a time. The work is done on the
+ * {@link EnchantCatalog}'s dense enchant IDs: the item's enchants become a {@code long[]}
+ * bitset and {@link EnchantCatalog#missing} masks out everything present or sharing a pool
+ * with something present, so only the final list of names is allocated.
  *
  * <p>Ultimate enchants are treated separately: if the item type supports any ultimate
  * enchant and the item has none, a single generic "Ultimate enchant" entry is added
  * rather than listing every ultimate by name.
  *
- * <p>Pretty-name formatting (e.g. {@code turbo_wheat} → {@code Turbo-Wheat}) is cached
- * per enchant ID so it is only computed once across all tooltip calls.
+ * <p>Pretty names come from the enchant's book in the {@link NeuItems} index, falling back to
+ * formatting the ID (e.g. {@code turbo_wheat} → {@code Turbo-Wheat}). Either way they are
+ * cached per dense ID so each is only resolved once per catalog and index.
+ *
+ * <p>Not thread-safe; used from the client thread only.
  */
 final class MissingEnchantResolver {
 
-    private final JsonLookup lookup;
-    private final Path enchantsJsonPath;
+    private static final String ONE_FOR_ALL = "ultimate_one_for_all";
 
-    // Flat map from enchant ID to its pool index, populated once from enchants.json.
-    private final Map<String, List<Integer>> poolIdsByEnchant = new HashMap<>();
-    private int poolCount = 0;
-    private boolean poolsLoaded = false;
+    // Catalog the scratch bitsets and name cache were sized for; a reload invalidates both.
+    private EnchantCatalog catalog = EnchantCatalog.EMPTY;
+    private long[] presentBits = new long[0];
+    private long[] missingBits = new long[0];
 
-    // Pretty-name cache: enchant ID -> display name (e.g. "turbo_wheat" -> "Turbo-Wheat")
-    private final Map<String, String> prettyNameCache = new HashMap<>(512);
+    // Pretty-name cache by dense ID (e.g. id of "turbo_wheat" -> "Turbo-Wheat"); null until resolved.
+    private String[] prettyNames = new String[0];
+    // Item index the cached names were resolved against; a rebuilt index invalidates them.
+    private NeuItemIndex prettyNameIndex = NeuItemIndex.EMPTY;
 
     private static final String[] ROMAN = {"", "I", "II", "III", "IV", "V", "VI", "VII", "VIII", "IX", "X"};
 
-
-    MissingEnchantResolver(JsonLookup lookup, Path enchantsJsonPath) {
-        this.lookup = lookup;
-        this.enchantsJsonPath = enchantsJsonPath;
-    }
-
     List<String> findMissingEnchantNames(String itemType, Set<String> currentEnchants) {
         // LOGGER.wiki("Resolving missing enchants for {}", itemType);
-        if (!loadPoolsIfNeeded()) return List.of();
-
-        List<String> possibleEnchants = lookup.getEnchants(itemType, enchantsJsonPath);
-        if (possibleEnchants.isEmpty()) return List.of();
-
-        // Pre-compute which pools are already satisfied so isMissingEnchant can do a fast BitSet lookup.
-        BitSet satisfiedPools = buildSatisfiedPools(currentEnchants);
-
-        boolean itemSupportsUltimate = possibleEnchants.stream().anyMatch(this::isUltimateEnchant);
-        boolean hasUltimateOnItem = hasUltimateEnchant(currentEnchants);
+        EnchantCatalog catalog = syncCatalog();
+        int type = catalog.itemTypeId(itemType);
+        if (type == EnchantCatalog.UNKNOWN) return List.of();
 
         ArrayList<String> missing = new ArrayList<>();
 
-        for (String enchantId : possibleEnchants) {
-            // Ultimates are evaluated separately below; skip them in the main loop.
-            if (isUltimateEnchant(enchantId)) continue;
-
-            if (isMissingEnchant(enchantId, currentEnchants, satisfiedPools)) {
-                missing.add(toPrettyName(enchantId));
+        // One For All excludes every other enchant, so only the ultimate check below applies.
+        if (!currentEnchants.contains(ONE_FOR_ALL)) {
+            catalog.toBits(currentEnchants, presentBits);
+            catalog.missing(type, presentBits, missingBits);
+            for (int w = 0; w < missingBits.length; w++) {
+                for (long bits = missingBits[w]; bits != 0; bits &= bits - 1) {
+                    missing.add(toPrettyName((w << 6) | Long.numberOfTrailingZeros(bits)));
+                }
             }
         }
 
         // If any ultimate is possible but none is present, show a single generic prompt
-        if (itemSupportsUltimate && !hasUltimateOnItem) {
+        if (catalog.supportsUltimate(type) && !hasUltimateEnchant(currentEnchants)) {
             missing.add("Ultimate enchant");
         }
 
@@ -78,66 +72,24 @@ final class MissingEnchantResolver {
         return missing;
     }
 
-    private boolean isUltimateEnchant(String enchantId) {
-        return enchantId.startsWith("ultimate_");
-    }
-
     void clearCaches() {
-        poolIdsByEnchant.clear();
-        poolCount = 0;
-        poolsLoaded = false;
-        prettyNameCache.clear();
+        catalog = EnchantCatalog.EMPTY;
+        prettyNames = new String[0];
     }
 
-    private boolean loadPoolsIfNeeded() {
-        if (poolsLoaded) return true;
-
-        // File missing means the repo data hasn't been downloaded yet — try again next call.
-        if (!Files.exists(enchantsJsonPath)) return false;
-
-        List<List<String>> pools = lookup.getEnchantPools(enchantsJsonPath);
-        if (pools == null || pools.isEmpty()) return false;
-
-        poolIdsByEnchant.clear();
-        poolCount = pools.size();
-
-        for (int poolId = 0; poolId < pools.size(); poolId++) {
-            for (String enchantId : pools.get(poolId)) {
-                poolIdsByEnchant.computeIfAbsent(enchantId, k -> new ArrayList<>()).add(poolId);
-            }
+    /** Resizes the scratch bitsets and drops cached names when a new catalog has been loaded. */
+    private EnchantCatalog syncCatalog() {
+        EnchantCatalog current = EnchantCatalog.current();
+        if (current != catalog) {
+            catalog = current;
+            presentBits = new long[current.words()];
+            missingBits = new long[current.words()];
+            prettyNames = new String[current.enchantCount()];
         }
-
-        poolsLoaded = true;
-        return true;
+        return current;
     }
 
-    private BitSet buildSatisfiedPools(Set<String> currentEnchants) {
-        BitSet satisfiedPools = new BitSet(poolCount);
-        for (String enchantId : currentEnchants) {
-            List<Integer> poolIds = poolIdsByEnchant.get(enchantId);
-            if (poolIds != null) {
-                for (int poolId : poolIds) satisfiedPools.set(poolId);
-            }
-        }
-        return satisfiedPools;
-    }
-
-    private boolean isMissingEnchant(String enchantId, Set<String> currentEnchants, BitSet satisfiedPools) {
-        if (currentEnchants.contains(enchantId)) return false;
-        if (currentEnchants.contains("ultimate_one_for_all")) return false;
-
-        List<Integer> poolIds = poolIdsByEnchant.get(enchantId);
-        if (poolIds == null) return true;
-
-        for (int poolId : poolIds) {
-            // If this non-OFA pool is satisfied, the enchant isn't missing
-            if (satisfiedPools.get(poolId)) return false;
-        }
-
-        return true;
-    }
-
-    private boolean hasUltimateEnchant(Set<String> currentEnchants) {
+    private static boolean hasUltimateEnchant(Set<String> currentEnchants) {
         for (String id : currentEnchants) {
             if (id.startsWith("ultimate_")) return true;
         }
@@ -145,13 +97,15 @@ final class MissingEnchantResolver {
     }
 
     List<String> findNotMaxedEnchantNames(String itemType, Map<String, Integer> currentEnchants) {
-        List<String> possibleEnchants = lookup.getEnchants(itemType, enchantsJsonPath);
+        EnchantCatalog catalog = syncCatalog();
         List<String> notMaxed = new ArrayList<>();
 
         for (Map.Entry<String, Integer> entry : currentEnchants.entrySet()) {
-            String id = entry.getKey();
+            int id = catalog.enchantId(entry.getKey());
+            if (id == EnchantCatalog.UNKNOWN) continue;
+
             int currentLevel = entry.getValue();
-            int maxLevel = lookup.getMaxLevel(id, enchantsJsonPath);
+            int maxLevel = catalog.maxLevel(id);
             if (maxLevel > 0 && currentLevel < maxLevel) {
                 notMaxed.add(toPrettyName(id) + " " + toRoman(currentLevel) + "→" + toRoman(maxLevel));
             }
@@ -165,15 +119,36 @@ final class MissingEnchantResolver {
         return (level >= 1 && level < ROMAN.length) ? ROMAN[level] : String.valueOf(level);
     }
 
-    private String toPrettyName(String enchantId) {
-        String cached = prettyNameCache.get(enchantId);
+    private String toPrettyName(int id) {
+        NeuItemIndex index = NeuItems.index();
+        if (index != prettyNameIndex) {
+            Arrays.fill(prettyNames, null);
+            prettyNameIndex = index;
+        }
+
+        String cached = prettyNames[id];
         if (cached != null) return cached;
 
-        String name = formatEnchantName(enchantId);
-        prettyNameCache.put(enchantId, name);
+        String enchantId = catalog.enchantAt(id);
+        String name = indexedEnchantName(index, enchantId);
+        if (name == null) name = formatEnchantName(enchantId);
+        prettyNames[id] = name;
         return name;
     }
 
+    /**
+     * The enchant's in-game name from its level-1 book in the item index (e.g. {@code SHARPNESS;1}
+     * → "Sharpness"), or {@code null} if the index doesn't have it.
+     */
+    private static String indexedEnchantName(NeuItemIndex index, String enchantId) {
+        int item = index.indexOf(enchantId.toUpperCase(Locale.ROOT) + ";1");
+        if (item == NeuItemIndex.NO_ITEM) return null;
+
+        String name = StringUtil.stripColorCodes(index.displayName(item)).trim();
+        if (name.endsWith(" I")) name = name.substring(0, name.length() - 2).trim();
+        return name.isEmpty() || name.equals("Enchanted Book") ? null : name;
+    }
+
     private static String formatEnchantName(String enchantId) {
         String s = enchantId.toLowerCase(Locale.ROOT)
                 .replace("ultimate_", "")
@@ -1,10 +1,9 @@
 package com.github.kd_gaming1.skyblockenhancements.feature.missingenchants;
 
 import com.github.kd_gaming1.skyblockenhancements.config.SkyblockEnhancementsConfig;
+import com.github.kd_gaming1.skyblockenhancements.repo.enchant.EnchantCatalog;
 import com.github.kd_gaming1.skyblockenhancements.util.HypixelLocationState;
-import com.github.kd_gaming1.skyblockenhancements.util.JsonLookup;
 import net.fabricmc.fabric.api.client.item.v1.ItemTooltipCallback;
-import net.fabricmc.loader.api.FabricLoader;
 import net.minecraft.ChatFormatting;
 import net.minecraft.client.Minecraft;
 import net.minecraft.network.chat.Component;
@@ -12,11 +11,9 @@ import net.minecraft.world.item.Item;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.item.TooltipFlag;
 
-import java.nio.file.Path;
 import java.util.*;
 
 // import static com.github.kd_gaming1.skyblockenhancements.SkyblockEnhancements.LOGGER;
-import static com.github.kd_gaming1.skyblockenhancements.SkyblockEnhancements.MOD_ID;
 
 /**
  * Appends a "Missing enchantments" section to the tooltip of any enchantable Skyblock item.
@@ -24,8 +21,8 @@ import static com.github.kd_gaming1.skyblockenhancements.SkyblockEnhancements.MO
  * <p>For each hovered item is the feature:
  * <ol>
  *   <li>Reads the item type and current enchants from the tooltip / NBT via {@link HoveredEnchantReader}.</li>
- *   <li>Compares the current enchants against the full list for that item type (loaded from
- *       {@code enchants.json}) via {@link MissingEnchantResolver}, respecting mutually exclusive
+ *   <li>Compares the current enchants against the full list for that item type (from the
+ *       preloaded {@link EnchantCatalog}) via {@link MissingEnchantResolver}, respecting mutually exclusive
  *       enchant pools so that only one enchant per pool is ever counted as missing.</li>
  *   <li>Injects the resulting list into the tooltip, either as a compact count (default) or a
  *       full expanded list (while Shift is held), positioned just after the existing enchant lines.</li>
@@ -45,16 +42,11 @@ import static com.github.kd_gaming1.skyblockenhancements.SkyblockEnhancements.MO
  */
 public final class MissingEnchants {
 
-    private static final Path DATA_ROOT = FabricLoader.getInstance().getConfigDir()
-            .resolve(MOD_ID).resolve("data");
-    private static final Path ENCHANTS_JSON_PATH = DATA_ROOT.resolve("constants/enchants.json");
-
     private static final int MAX_LINE_WIDTH = 200;
     private static final String LIST_PREFIX = "› ";
 
     private static final HoveredEnchantReader ENCHANT_READER = new HoveredEnchantReader();
-    private static final MissingEnchantResolver MISSING_RESOLVER =
-            new MissingEnchantResolver(new JsonLookup(), ENCHANTS_JSON_PATH);
+    private static final MissingEnchantResolver MISSING_RESOLVER = new MissingEnchantResolver();
 
     private static final Set<String> ROMAN_NUMERALS = Set.of(
             "I", "II", "III", "IV", "V", "VI", "VII", "VIII", "IX", "X"
@@ -80,6 +72,8 @@ public final class MissingEnchants {
 
     public static void init() {
         ItemTooltipCallback.EVENT.register(MissingEnchants::onTooltip);
+        EnchantCatalog.addReloadListener(catalog ->
+                Minecraft.getInstance().execute(MissingEnchants::invalidateRepoDataCaches));
     }
 
     private static void onTooltip(ItemStack stack, Item.TooltipContext ctx, TooltipFlag flag, List<Component> tooltipLines) {
@@ -289,7 +283,7 @@ public final class MissingEnchants {
                 .toLowerCase(Locale.ROOT);
     }
 
-    /** Clears all caches — called when the repo data is reloaded from disk. */
+    /** Clears all caches — called when a new {@link EnchantCatalog} has been loaded. */
     public static void invalidateRepoDataCaches() {
         MISSING_RESOLVER.clearCaches();
 
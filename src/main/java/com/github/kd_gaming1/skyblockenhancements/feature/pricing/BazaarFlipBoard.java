@@ -0,0 +1,149 @@
+package com.github.kd_gaming1.skyblockenhancements.feature.pricing;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Ranks bazaar products by their buy/sell spread for the {@code /sbe bazaar top} board.
+ *
+ * <p>A ranking is computed at most once per price generation and filter: a single pass
+ * over the bazaar columns feeds a bounded min-heap of {@value #MAX_ENTRIES} entries, so
+ * the cost is {@code O(n log k)} with no boxing or full sort. The result is cached per
+ * {@link Mode} until a new snapshot is published or the filter changes, so paging through
+ * the board only reads the cached arrays.
+ *
+ * <p>Spreads come straight from the API's {@code spread} column. The percentage mode
+ * relates it to the sell price, i.e. the margin of buying by order and selling by offer.
+ */
+public final class BazaarFlipBoard {
+
+    /** Upper bound on ranked entries; the board never shows more than this. */
+    public static final int MAX_ENTRIES = 100;
+
+    public enum Mode {
+        ABSOLUTE,
+        PERCENT
+    }
+
+    /**
+     * One cached ranking, best first. Arrays are never modified after construction.
+     *
+     * @param itemIds dictionary IDs into {@code snapshot}
+     * @param scores  the ranked value: coins for {@link Mode#ABSOLUTE}, a fraction for {@link Mode#PERCENT}
+     */
+    public record Ranking(PriceSnapshot snapshot, Mode mode, double minBuy, int[] itemIds, double[] scores) {
+        public int size() {
+            return itemIds.length;
+        }
+    }
+
+    private final PriceStore store;
+    private final Map<Mode, Ranking> cache = new EnumMap<>(Mode.class);
+
+    public BazaarFlipBoard(PriceStore store) {
+        this.store = store;
+    }
+
+    /**
+     * Returns the top products for {@code mode} among those with a buy price of at least
+     * {@code minBuy}, computing it only if the snapshot or filter changed since last time.
+     */
+    public synchronized Ranking top(Mode mode, double minBuy) {
+        PriceSnapshot snapshot = store.snapshot();
+        Ranking cached = cache.get(mode);
+        if (cached != null && cached.snapshot() == snapshot && cached.minBuy() == minBuy) {
+            return cached;
+        }
+        Ranking ranking = rank(snapshot, mode, minBuy);
+        cache.put(mode, ranking);
+        return ranking;
+    }
+
+    // ── Ranking ─────────────────────────────────────────────────────────────────
+
+    private static Ranking rank(PriceSnapshot snapshot, Mode mode, double minBuy) {
+        TopK top = new TopK(MAX_ENTRIES);
+        int size = snapshot.dictionary().size();
+
+        for (int id = 0; id < size; id++) {
+            if (!snapshot.hasBazaar(id)) continue;
+            double buy = snapshot.bazaarBuy(id);
+            double sell = snapshot.bazaarSell(id);
+            double spread = snapshot.bazaarSpread(id);
+            if (buy < minBuy || buy <= 0 || sell <= 0 || spread <= 0) continue;
+
+            top.offer(id, mode == Mode.ABSOLUTE ? spread : spread / sell);
+        }
+        return top.toRanking(snapshot, mode, minBuy);
+    }
+
+    /** Bounded min-heap over parallel primitive arrays; the root is the weakest kept entry. */
+    private static final class TopK {
+        private final int[] ids;
+        private final double[] scores;
+        private int size;
+
+        TopK(int capacity) {
+            ids = new int[capacity];
+            scores = new double[capacity];
+        }
+
+        void offer(int id, double score) {
+            if (size < ids.length) {
+                ids[size] = id;
+                scores[size] = score;
+                siftUp(size++);
+            } else if (score > scores[0]) {
+                ids[0] = id;
+                scores[0] = score;
+                siftDown(0);
+            }
+        }
+
+        /** Drains the heap into best-first arrays. */
+        Ranking toRanking(PriceSnapshot snapshot, Mode mode, double minBuy) {
+            int n = size;
+            int[] outIds = new int[n];
+            double[] outScores = new double[n];
+            for (int i = n - 1; i >= 0; i--) {
+                outIds[i] = ids[0];
+                outScores[i] = scores[0];
+                size--;
+                ids[0] = ids[size];
+                scores[0] = scores[size];
+                siftDown(0);
+            }
+            return new Ranking(snapshot, mode, minBuy, outIds, outScores);
+        }
+
+        private void siftUp(int i) {
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (scores[parent] <= scores[i]) return;
+                swap(i, parent);
+                i = parent;
+            }
+        }
+
+        private void siftDown(int i) {
+            while (true) {
+                int left = 2 * i + 1;
+                if (left >= size) return;
+                int right = left + 1;
+                int smallest = right < size && scores[right] < scores[left] ? right : left;
+                if (scores[i] <= scores[smallest]) return;
+                swap(i, smallest);
+                i = smallest;
+            }
+        }
+
+        private void swap(int a, int b) {
+            int id = ids[a];
+            ids[a] = ids[b];
+            ids[b] = id;
+            double score = scores[a];
+            scores[a] = scores[b];
+            scores[b] = score;
+        }
+    }
+}
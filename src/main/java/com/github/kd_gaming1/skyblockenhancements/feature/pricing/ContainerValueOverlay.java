@@ -0,0 +1,203 @@
+package com.github.kd_gaming1.skyblockenhancements.feature.pricing;
+
+import com.github.kd_gaming1.skyblockenhancements.config.ModSettings;
+import com.github.kd_gaming1.skyblockenhancements.mixin.access.AbstractContainerMenuStateAccessor;
+import com.github.kd_gaming1.skyblockenhancements.util.HypixelLocationState;
+import com.github.kd_gaming1.skyblockenhancements.util.LogicalStackSize;
+import com.github.kd_gaming1.skyblockenhancements.util.SkyblockItemUtil;
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.List;
+import net.minecraft.ChatFormatting;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.gui.GuiGraphicsExtractor;
+import net.minecraft.client.gui.screens.inventory.AbstractContainerScreen;
+import net.minecraft.client.gui.screens.inventory.InventoryScreen;
+import net.minecraft.network.chat.Component;
+import net.minecraft.world.entity.player.Inventory;
+import net.minecraft.world.inventory.AbstractContainerMenu;
+import net.minecraft.world.inventory.Slot;
+import net.minecraft.world.item.ItemStack;
+
+/**
+ * Shows the total lowest-BIN / bazaar value of the open container's contents in the
+ * screen header, right-aligned on the title row.
+ *
+ * <p>Performance strategy:
+ * <ul>
+ *   <li>Slots are only re-read when the menu's {@code stateId} changes, and then only the
+ *       slots whose stack reference or count differs from the cached one.</li>
+ *   <li>Each slot caches its dictionary ID, logical quantity and value, so the total is
+ *       adjusted by the difference instead of re-summed.</li>
+ *   <li>A newly published {@link PriceSnapshot} re-prices only the slots whose item changed
+ *       since the last pricing ({@link PriceSnapshot#lastChanged}).</li>
+ *   <li>The header text is rebuilt only when the total changes; per-frame cost is two int
+ *       compares, a generation compare and one text draw.</li>
+ * </ul>
+ * Player-inventory slots are ignored so the value reflects the chest, storage page or sack.
+ */
+public final class ContainerValueOverlay {
+
+    private ContainerValueOverlay() {}
+
+    private static final int TEXT_COLOR = 0xFFFFAA00; // gold
+    private static final int TITLE_Y = 6;
+    private static final int RIGHT_PADDING = 8;
+
+    private static ModSettings settings;
+    private static PriceStore store;
+
+    // Cache state — all guarded by single-threaded render thread semantics.
+    private static WeakReference<AbstractContainerScreen<?>> cachedScreenRef = new WeakReference<>(null);
+    private static int cachedStateId = -1;
+    private static long pricedGeneration = -1L;
+
+    private static ItemStack[] slotStacks = new ItemStack[0];
+    private static int[] slotCounts = new int[0];
+    private static String[] slotSkyblockIds = new String[0];
+    private static int[] slotItemIds = new int[0];
+    private static long[] slotQuantities = new long[0];
+    private static double[] slotValues = new double[0];
+    private static double total;
+
+    private static double labelTotal = Double.NaN;
+    private static Component label;
+
+    /** Wires the overlay to the shared price data. Call once during mod init. */
+    public static void init(ModSettings modSettings, PriceStore priceStore) {
+        settings = modSettings;
+        store = priceStore;
+    }
+
+    /**
+     * Called from the mixin at the tail of {@code AbstractContainerScreen.extractContents},
+     * where the pose is in screen space.
+     */
+    public static void render(GuiGraphicsExtractor graphics, AbstractContainerScreen<?> screen,
+                              int leftPos, int topPos, int imageWidth) {
+        if (store == null || !settings.enablePriceTooltips() || !settings.showContainerValue()) return;
+        if (screen instanceof InventoryScreen) return;
+        if (!HypixelLocationState.isOnSkyblock() || !store.hasData()) return;
+
+        ensureCacheFresh(screen);
+        if (total <= 0) return;
+
+        Component text = label();
+        Minecraft mc = Minecraft.getInstance();
+        int x = leftPos + imageWidth - RIGHT_PADDING - mc.font.width(text);
+        graphics.text(mc.font, text, x, topPos + TITLE_Y, TEXT_COLOR, false);
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════
+    //  Cache management
+    // ═══════════════════════════════════════════════════════════════════════════
+
+    private static void ensureCacheFresh(AbstractContainerScreen<?> screen) {
+        AbstractContainerMenu menu = screen.getMenu();
+        int stateId = ((AbstractContainerMenuStateAccessor) menu).skyblockenhancements$getStateId();
+        PriceSnapshot snapshot = store.snapshot();
+
+        if (cachedScreenRef.get() != screen) {
+            cachedScreenRef = new WeakReference<>(screen);
+            resetSlots(menu.slots.size());
+            cachedStateId = -1;
+        }
+
+        if (stateId != cachedStateId) {
+            cachedStateId = stateId;
+            updateChangedSlots(menu.slots, snapshot);
+        }
+
+        if (snapshot.generation() != pricedGeneration) {
+            reprice(snapshot);
+        }
+    }
+
+    private static void resetSlots(int size) {
+        slotStacks = new ItemStack[size];
+        slotCounts = new int[size];
+        slotSkyblockIds = new String[size];
+        slotItemIds = new int[size];
+        Arrays.fill(slotItemIds, ItemIdDictionary.NO_ID);
+        slotQuantities = new long[size];
+        slotValues = new double[size];
+        total = 0;
+        pricedGeneration = -1L;
+    }
+
+    /** Re-reads only the slots whose stack was replaced or resized since the last state. */
+    private static void updateChangedSlots(List<Slot> slots, PriceSnapshot snapshot) {
+        if (slots.size() != slotStacks.length) resetSlots(slots.size());
+
+        for (int i = 0; i < slots.size(); i++) {
+            Slot slot = slots.get(i);
+            if (slot.container instanceof Inventory) continue;
+
+            ItemStack stack = slot.getItem();
+            if (stack == slotStacks[i] && stack.getCount() == slotCounts[i]) continue;
+
+            slotStacks[i] = stack;
+            slotCounts[i] = stack.getCount();
+            readSlot(i, stack, snapshot);
+            setValue(i, priceOf(snapshot, slotItemIds[i], slotQuantities[i]));
+        }
+    }
+
+    private static void readSlot(int i, ItemStack stack, PriceSnapshot snapshot) {
+        String skyblockId = stack.isEmpty() ? null : SkyblockItemUtil.getPriceLookupId(stack);
+        slotSkyblockIds[i] = skyblockId;
+        slotItemIds[i] = snapshot.indexOf(skyblockId);
+        if (skyblockId == null) {
+            slotQuantities[i] = 0;
+            return;
+        }
+        slotQuantities[i] = LogicalStackSize.fromLore(stack);
+    }
+
+    /** Re-prices the slots whose item changed since the generation the total was built from. */
+    private static void reprice(PriceSnapshot snapshot) {
+        for (int i = 0; i < slotItemIds.length; i++) {
+            if (slotSkyblockIds[i] == null) continue;
+
+            int itemId = slotItemIds[i];
+            if (itemId == ItemIdDictionary.NO_ID) {
+                // Items first seen in this generation get their ID now.
+                itemId = snapshot.indexOf(slotSkyblockIds[i]);
+                if (itemId == ItemIdDictionary.NO_ID) continue;
+                slotItemIds[i] = itemId;
+            } else if (snapshot.lastChanged(itemId) <= pricedGeneration) {
+                continue;
+            }
+            setValue(i, priceOf(snapshot, itemId, slotQuantities[i]));
+        }
+        pricedGeneration = snapshot.generation();
+    }
+
+    private static void setValue(int i, double value) {
+        total += value - slotValues[i];
+        slotValues[i] = value;
+    }
+
+    /** Lowest BIN, falling back to the bazaar buy price, times the logical quantity. */
+    private static double priceOf(PriceSnapshot snapshot, int itemId, long quantity) {
+        if (quantity <= 0) return 0;
+        double unit = snapshot.hasLowestBin(itemId) ? snapshot.lowestBin(itemId) : snapshot.bazaarBuy(itemId);
+        return Double.isNaN(unit) ? 0 : unit * quantity;
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════
+    //  Rendering
+    // ═══════════════════════════════════════════════════════════════════════════
+
+    private static Component label() {
+        // Compare the rounded display value so float drift from incremental updates
+        // does not rebuild an identical label.
+        double rounded = Math.rint(total);
+        if (label == null || rounded != labelTotal) {
+            labelTotal = rounded;
+            label = Component.literal("Value: ")
+                    .append(Component.literal(PriceTooltipEnhancement.formatCoins(rounded)).withStyle(ChatFormatting.YELLOW));
+        }
+        return label;
+    }
+}
@@ -0,0 +1,504 @@
+package com.github.kd_gaming1.skyblockenhancements.feature.pricing;
+
+import static com.github.kd_gaming1.skyblockenhancements.SkyblockEnhancements.LOGGER;
+
+import com.github.kd_gaming1.skyblockenhancements.repo.item.NeuItemIndex;
+import com.github.kd_gaming1.skyblockenhancements.repo.item.NeuItems;
+import it.unimi.dsi.fastutil.floats.FloatArrayList;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Cheapest way to get each item: buy it (lowest BIN or bazaar buy) or craft it from its
+ * recipe ingredients, each of which is in turn bought or crafted.
+ *
+ * <p>The recipes of the {@link NeuItems} index form a graph from each item to its
+ * ingredients. Recipe loops (block ↔ ingots and the like) are found as strongly connected
+ * components and every recipe that stays inside one is dropped, which leaves a DAG. Its
+ * nodes are evaluated ingredients-first, so each cost is computed once from already final
+ * ingredient costs instead of by a recursive walk.
+ *
+ * <p>After a price refresh only the items whose prices changed are re-evaluated, and a
+ * new cost is pushed to the items that use it only if it actually moved. Results are
+ * published as columns indexed by {@link ItemIdDictionary} ID, so the tooltip reads one
+ * double per frame. Price-feed IDs are linked to index records through {@link #neuId}, since
+ * the two name bazaar variants and enchanted books differently.
+ *
+ * <p>Evaluation runs on whichever thread published the prices or rebuilt the item index;
+ * readers only touch the volatile {@link Costs}.
+ */
+public final class CraftCostEngine {
+
+    private static final String ENCHANTMENT_PREFIX = "ENCHANTMENT_";
+
+    private final PriceStore store;
+
+    // Evaluation state, guarded by "this".
+    private Graph graph;
+    /** Cheapest of buying and crafting, per graph node; NaN = unobtainable. */
+    private double[] cost = new double[0];
+    /** Cheapest craft alone, per graph node; NaN = no usable recipe. */
+    private double[] craftCost = new double[0];
+    /** Dictionary ID of each node; {@link ItemIdDictionary#NO_ID} until the item shows up in a price feed. */
+    private int[] priceIdByNode = new int[0];
+    private int resolvedDictionarySize;
+
+    private volatile Costs costs = Costs.EMPTY;
+
+    public CraftCostEngine(PriceStore store) {
+        this.store = store;
+        store.addChangeListener((previous, current, changed) -> onPricesChanged(current, changed));
+        NeuItems.addReloadListener(index -> rebuild(index, store.snapshot()));
+    }
+
+    // ── Reads ───────────────────────────────────────────────────────────────────
+
+    /** Craft costs as of the last evaluation. Hold on to it to read several items consistently. */
+    public Costs costs() {
+        return costs;
+    }
+
+    /**
+     * Published craft costs, indexed by dictionary ID. Immutable.
+     *
+     * @param revision per item, bumped whenever its craft cost changes; lets caches keyed on
+     *                 the item's own prices notice that an ingredient moved
+     */
+    public record Costs(double[] craftCost, int[] revision) {
+        static final Costs EMPTY = new Costs(new double[0], new int[0]);
+
+        /** Cheapest craft of {@code itemId} with every ingredient bought or crafted, or {@code NaN}. */
+        public double craftCost(int itemId) {
+            return itemId >= 0 && itemId < craftCost.length ? craftCost[itemId] : Double.NaN;
+        }
+
+        public int revision(int itemId) {
+            return itemId >= 0 && itemId < revision.length ? revision[itemId] : 0;
+        }
+    }
+
+    // ── Evaluation ──────────────────────────────────────────────────────────────
+
+    synchronized void rebuild(NeuItemIndex index, PriceSnapshot snapshot) {
+        long start = System.nanoTime();
+        graph = Graph.build(index);
+        int nodes = graph.nodeCount();
+        cost = new double[nodes];
+        craftCost = new double[nodes];
+        priceIdByNode = new int[nodes];
+        Arrays.fill(priceIdByNode, ItemIdDictionary.NO_ID);
+        resolvedDictionarySize = 0;
+
+        BitSet all = new BitSet(nodes);
+        all.set(0, nodes);
+        resolvePriceIds(snapshot.dictionary());
+        evaluate(snapshot, all, all, true);
+        LOGGER.info("Built craft cost graph: {} items, {} recipes, {} loop recipes dropped, {} ms",
+                nodes, graph.recipeCount(), graph.droppedRecipes, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private synchronized void onPricesChanged(PriceSnapshot current, BitSet changedIds) {
+        if (graph == null) {
+            NeuItemIndex index = NeuItems.index();
+            if (index.size() > 0) rebuild(index, current);
+            return;
+        }
+
+        BitSet linked = resolvePriceIds(current.dictionary());
+        BitSet dirty = (BitSet) linked.clone();
+        for (int id = changedIds.nextSetBit(0); id >= 0; id = changedIds.nextSetBit(id + 1)) {
+            int node = graph.index.indexOf(neuId(current.dictionary().idAt(id)));
+            if (node != NeuItemIndex.NO_ITEM) dirty.set(node);
+        }
+        if (!dirty.isEmpty()) evaluate(current, dirty, linked, false);
+    }
+
+    /**
+     * Links nodes to dictionary IDs that appeared since the last call. The dictionary only
+     * grows, so already linked nodes never change.
+     *
+     * @return the nodes that were linked just now
+     */
+    private BitSet resolvePriceIds(ItemIdDictionary dictionary) {
+        BitSet linked = new BitSet(graph.nodeCount());
+        for (int id = resolvedDictionarySize; id < dictionary.size(); id++) {
+            int node = graph.index.indexOf(neuId(dictionary.idAt(id)));
+            if (node == NeuItemIndex.NO_ITEM) continue;
+            priceIdByNode[node] = id;
+            linked.set(node);
+        }
+        resolvedDictionarySize = dictionary.size();
+        return linked;
+    }
+
+    /**
+     * NEU internal ID of a price-feed ID: the bazaar writes item variants with {@code :}
+     * where NEU uses {@code -} ({@code INK_SACK:3} → {@code INK_SACK-3}), and enchanted books
+     * as {@code ENCHANTMENT_<NAME>_<LEVEL>} where NEU uses {@code <NAME>;<LEVEL>}.
+     */
+    static String neuId(String priceId) {
+        if (priceId.startsWith(ENCHANTMENT_PREFIX)) {
+            int level = priceId.lastIndexOf('_') + 1;
+            if (level > ENCHANTMENT_PREFIX.length() + 1 && isDigits(priceId, level)) {
+                return priceId.substring(ENCHANTMENT_PREFIX.length(), level - 1) + ';' + priceId.substring(level);
+            }
+        }
+        return priceId.replace(':', '-');
+    }
+
+    private static boolean isDigits(String value, int from) {
+        if (from >= value.length()) return false;
+        for (int i = from; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') return false;
+        }
+        return true;
+    }
+
+    /**
+     * Re-evaluates {@code dirty} nodes in topological order. A node whose cost changes marks
+     * the items that use it, which always sit later in the order, so each node is evaluated
+     * at most once per pass.
+     *
+     * @param linked nodes that just got a dictionary ID; published even if their cost is unchanged
+     * @param full   the cost arrays are fresh, so every evaluated node counts as changed
+     */
+    private void evaluate(PriceSnapshot snapshot, BitSet dirty, BitSet linked, boolean full) {
+        Graph g = graph;
+        BitSet pending = new BitSet(g.nodeCount());
+        for (int node = dirty.nextSetBit(0); node >= 0; node = dirty.nextSetBit(node + 1)) {
+            pending.set(g.topoPosition[node]);
+        }
+
+        BitSet craftChanged = (BitSet) linked.clone();
+        for (int pos = pending.nextSetBit(0); pos >= 0; pos = pending.nextSetBit(pos + 1)) {
+            int node = g.topoOrder[pos];
+            double craft = g.cheapestRecipe(node, cost);
+            double best = min(marketPrice(snapshot, priceIdByNode[node]), craft);
+
+            if (full || !same(craft, craftCost[node])) craftChanged.set(node);
+            craftCost[node] = craft;
+            if (full || !same(best, cost[node])) {
+                cost[node] = best;
+                for (int i = g.consumerStart[node]; i < g.consumerStart[node + 1]; i++) {
+                    pending.set(g.topoPosition[g.consumers[i]]);
+                }
+            }
+        }
+
+        if (full || !craftChanged.isEmpty()) publish(snapshot.dictionary().size(), craftChanged, full);
+    }
+
+    /**
+     * Copies the changed craft costs into a new {@link Costs} column set and swaps it in.
+     *
+     * @param reset start from an all-{@code NaN} column, dropping items the graph no longer has
+     */
+    private void publish(int dictionarySize, BitSet craftChanged, boolean reset) {
+        Costs previous = costs;
+        int carried = reset ? 0 : Math.min(previous.craftCost.length, dictionarySize);
+        double[] craft = Arrays.copyOf(previous.craftCost, dictionarySize);
+        int[] revision = Arrays.copyOf(previous.revision, dictionarySize);
+        Arrays.fill(craft, carried, dictionarySize, Double.NaN);
+
+        for (int node = craftChanged.nextSetBit(0); node >= 0; node = craftChanged.nextSetBit(node + 1)) {
+            int id = priceIdByNode[node];
+            if (id == ItemIdDictionary.NO_ID || id >= dictionarySize) continue;
+            if (!same(craft[id], craftCost[node])) revision[id]++;
+            craft[id] = craftCost[node];
+        }
+        costs = new Costs(craft, revision);
+    }
+
+    /** Instant-buy price: the cheaper of lowest BIN and bazaar buy, or {@code NaN}. */
+    private static double marketPrice(PriceSnapshot snapshot, int priceId) {
+        if (priceId == ItemIdDictionary.NO_ID) return Double.NaN;
+        double bin = snapshot.lowestBin(priceId);
+        double buy = snapshot.bazaarBuy(priceId);
+        return min(bin > 0 ? bin : Double.NaN, buy > 0 ? buy : Double.NaN);
+    }
+
+    /** Minimum that treats {@code NaN} as "unavailable" rather than propagating it. */
+    private static double min(double a, double b) {
+        if (Double.isNaN(a)) return b;
+        if (Double.isNaN(b)) return a;
+        return Math.min(a, b);
+    }
+
+    private static boolean same(double a, double b) {
+        return Double.doubleToLongBits(a) == Double.doubleToLongBits(b);
+    }
+
+    // ── Graph ───────────────────────────────────────────────────────────────────
+
+    /**
+     * Recipe graph over the records of one {@link NeuItemIndex}, node {@code n} being record
+     * {@code n}. Recipes, ingredients and reverse edges are stored in flat CSR arrays.
+     */
+    static final class Graph {
+        final NeuItemIndex index;
+
+        // Recipes of node n: recipeStart[n] until recipeStart[n + 1].
+        final int[] recipeStart;
+        final float[] recipeOutput;
+        // Ingredients of recipe r: ingredientStart[r] until ingredientStart[r + 1].
+        final int[] ingredientStart;
+        final int[] ingredientNode;
+        final float[] ingredientCount;
+
+        // Items that use node n as an ingredient: consumerStart[n] until consumerStart[n + 1].
+        final int[] consumerStart;
+        final int[] consumers;
+
+        /** Nodes ingredients-first, and each node's position in that order. */
+        final int[] topoOrder;
+        final int[] topoPosition;
+
+        int droppedRecipes;
+
+        private Graph(NeuItemIndex index, int[] recipeStart, float[] recipeOutput, int[] ingredientStart,
+                      int[] ingredientNode, float[] ingredientCount, int[] consumerStart, int[] consumers,
+                      int[] topoOrder, int[] topoPosition) {
+            this.index = index;
+            this.recipeStart = recipeStart;
+            this.recipeOutput = recipeOutput;
+            this.ingredientStart = ingredientStart;
+            this.ingredientNode = ingredientNode;
+            this.ingredientCount = ingredientCount;
+            this.consumerStart = consumerStart;
+            this.consumers = consumers;
+            this.topoOrder = topoOrder;
+            this.topoPosition = topoPosition;
+        }
+
+        int nodeCount() {
+            return topoOrder.length;
+        }
+
+        int recipeCount() {
+            return recipeOutput.length;
+        }
+
+        /** Cheapest per-item cost over the node's recipes, or {@code NaN} if none is fully priced. */
+        double cheapestRecipe(int node, double[] cost) {
+            double best = Double.NaN;
+            recipes:
+            for (int r = recipeStart[node]; r < recipeStart[node + 1]; r++) {
+                double sum = 0;
+                for (int i = ingredientStart[r]; i < ingredientStart[r + 1]; i++) {
+                    double c = cost[ingredientNode[i]];
+                    if (Double.isNaN(c)) continue recipes;
+                    sum += c * ingredientCount[i];
+                }
+                best = min(best, sum / recipeOutput[r]);
+            }
+            return best;
+        }
+
+        static Graph build(NeuItemIndex index) {
+            int nodes = index.size();
+
+            // Every recipe whose ingredients are all known items, as raw edges.
+            int[] rawRecipeStart = new int[nodes + 1];
+            IntArrayList rawIngredientStart = new IntArrayList(nodes);
+            IntArrayList rawIngredients = new IntArrayList(nodes * 4);
+            FloatArrayList rawCounts = new FloatArrayList(nodes * 4);
+            FloatArrayList rawOutput = new FloatArrayList(nodes);
+
+            for (int node = 0; node < nodes; node++) {
+                rawRecipeStart[node] = rawOutput.size();
+                if (index.recipeCount(node) == 0) continue;
+                List<NeuItemIndex.Recipe> recipes = index.recipes(node);
+                recipes:
+                for (NeuItemIndex.Recipe recipe : recipes) {
+                    if (recipe.outputCount() <= 0 || recipe.ingredientIds().length == 0) continue;
+                    int mark = rawIngredients.size();
+                    for (int i = 0; i < recipe.ingredientIds().length; i++) {
+                        int ingredient = index.indexOf(recipe.ingredientIds()[i]);
+                        if (ingredient == NeuItemIndex.NO_ITEM) {
+                            rawIngredients.size(mark);
+                            rawCounts.size(mark);
+                            continue recipes;
+                        }
+                        rawIngredients.add(ingredient);
+                        rawCounts.add(recipe.ingredientCounts()[i]);
+                    }
+                    rawIngredientStart.add(mark);
+                    rawOutput.add(recipe.outputCount());
+                }
+            }
+            rawRecipeStart[nodes] = rawOutput.size();
+            rawIngredientStart.add(rawIngredients.size());
+
+            int[] component = stronglyConnectedComponents(nodes, rawRecipeStart, rawIngredientStart, rawIngredients);
+
+            // Keep only recipes that leave their component; what remains is acyclic.
+            int[] recipeStart = new int[nodes + 1];
+            IntArrayList ingredientStart = new IntArrayList(rawOutput.size() + 1);
+            IntArrayList ingredientNode = new IntArrayList(rawIngredients.size());
+            FloatArrayList ingredientCount = new FloatArrayList(rawIngredients.size());
+            FloatArrayList recipeOutput = new FloatArrayList(rawOutput.size());
+            int dropped = 0;
+            for (int node = 0; node < nodes; node++) {
+                recipeStart[node] = recipeOutput.size();
+                recipes:
+                for (int r = rawRecipeStart[node]; r < rawRecipeStart[node + 1]; r++) {
+                    int from = rawIngredientStart.getInt(r);
+                    int to = rawIngredientStart.getInt(r + 1);
+                    for (int i = from; i < to; i++) {
+                        if (component[rawIngredients.getInt(i)] == component[node]) {
+                            dropped++;
+                            continue recipes;
+                        }
+                    }
+                    ingredientStart.add(ingredientNode.size());
+                    for (int i = from; i < to; i++) {
+                        ingredientNode.add(rawIngredients.getInt(i));
+                        ingredientCount.add(rawCounts.getFloat(i));
+                    }
+                    recipeOutput.add(rawOutput.getFloat(r));
+                }
+            }
+            recipeStart[nodes] = recipeOutput.size();
+            ingredientStart.add(ingredientNode.size());
+
+            int[] ingredientStarts = ingredientStart.toIntArray();
+            int[] ingredients = ingredientNode.toIntArray();
+            int[][] consumerIndex = consumers(nodes, recipeStart, ingredientStarts, ingredients);
+            int[][] order = topologicalOrder(nodes, consumerIndex[0], consumerIndex[1]);
+
+            Graph graph = new Graph(index, recipeStart, recipeOutput.toFloatArray(), ingredientStarts, ingredients,
+                    ingredientCount.toFloatArray(), consumerIndex[0], consumerIndex[1], order[0], order[1]);
+            graph.droppedRecipes = dropped;
+            return graph;
+        }
+
+        /**
+         * Iterative Tarjan over item → ingredient edges.
+         *
+         * @return the component number of every node
+         */
+        private static int[] stronglyConnectedComponents(int nodes, int[] recipeStart, IntArrayList ingredientStart,
+                                                         IntArrayList ingredients) {
+            int[] component = new int[nodes];
+            int[] order = new int[nodes];
+            int[] low = new int[nodes];
+            Arrays.fill(order, -1);
+            boolean[] onStack = new boolean[nodes];
+            int[] stack = new int[nodes];
+            int stackSize = 0;
+
+            // Call stack: the node and the next edge (flattened over all its recipes) to follow.
+            int[] callNode = new int[nodes];
+            int[] callEdge = new int[nodes];
+            int counter = 0;
+            int components = 0;
+
+            for (int root = 0; root < nodes; root++) {
+                if (order[root] >= 0) continue;
+                int depth = 0;
+                callNode[0] = root;
+                callEdge[0] = ingredientStart.getInt(recipeStart[root]);
+                order[root] = low[root] = counter++;
+                stack[stackSize++] = root;
+                onStack[root] = true;
+
+                while (depth >= 0) {
+                    int node = callNode[depth];
+                    int edgeEnd = ingredientStart.getInt(recipeStart[node + 1]);
+                    if (callEdge[depth] < edgeEnd) {
+                        int next = ingredients.getInt(callEdge[depth]++);
+                        if (order[next] < 0) {
+                            order[next] = low[next] = counter++;
+                            stack[stackSize++] = next;
+                            onStack[next] = true;
+                            depth++;
+                            callNode[depth] = next;
+                            callEdge[depth] = ingredientStart.getInt(recipeStart[next]);
+                        } else if (onStack[next]) {
+                            low[node] = Math.min(low[node], order[next]);
+                        }
+                        continue;
+                    }
+
+                    if (low[node] == order[node]) {
+                        int member;
+                        do {
+                            member = stack[--stackSize];
+                            onStack[member] = false;
+                            component[member] = components;
+                        } while (member != node);
+                        components++;
+                    }
+                    depth--;
+                    if (depth >= 0) {
+                        int parent = callNode[depth];
+                        low[parent] = Math.min(low[parent], low[node]);
+                    }
+                }
+            }
+            return component;
+        }
+
+        /** Reverse edges, deduplicated per item: {@code {start offsets, consumer nodes}}. */
+        private static int[][] consumers(int nodes, int[] recipeStart, int[] ingredientStart, int[] ingredients) {
+            int[] start = new int[nodes + 1];
+            int[] seenBy = new int[nodes];
+            Arrays.fill(seenBy, -1);
+            for (int node = 0; node < nodes; node++) {
+                for (int i = ingredientStart[recipeStart[node]]; i < ingredientStart[recipeStart[node + 1]]; i++) {
+                    int ingredient = ingredients[i];
+                    if (seenBy[ingredient] == node) continue;
+                    seenBy[ingredient] = node;
+                    start[ingredient + 1]++;
+                }
+            }
+            for (int node = 0; node < nodes; node++) start[node + 1] += start[node];
+
+            int[] consumers = new int[start[nodes]];
+            int[] fill = Arrays.copyOf(start, nodes);
+            Arrays.fill(seenBy, -1);
+            for (int node = 0; node < nodes; node++) {
+                for (int i = ingredientStart[recipeStart[node]]; i < ingredientStart[recipeStart[node + 1]]; i++) {
+                    int ingredient = ingredients[i];
+                    if (seenBy[ingredient] == node) continue;
+                    seenBy[ingredient] = node;
+                    consumers[fill[ingredient]++] = node;
+                }
+            }
+            return new int[][] {start, consumers};
+        }
+
+        /**
+         * Kahn's algorithm over the acyclic graph, emitting ingredients before the items made
+         * from them: {@code {order, position of each node}}.
+         */
+        private static int[][] topologicalOrder(int nodes, int[] consumerStart, int[] consumers) {
+            // In-degree = distinct ingredients, matching the deduplicated reverse edges.
+            int[] pending = new int[nodes];
+            for (int node = 0; node < nodes; node++) {
+                for (int i = consumerStart[node]; i < consumerStart[node + 1]; i++) pending[consumers[i]]++;
+            }
+
+            int[] order = new int[nodes];
+            int head = 0;
+            int tail = 0;
+            for (int node = 0; node < nodes; node++) {
+                if (pending[node] == 0) order[tail++] = node;
+            }
+            while (head < tail) {
+                int node = order[head++];
+                for (int i = consumerStart[node]; i < consumerStart[node + 1]; i++) {
+                    if (--pending[consumers[i]] == 0) order[tail++] = consumers[i];
+                }
+            }
+            if (tail != nodes) throw new IllegalStateException("Recipe graph still has a cycle");
+
+            int[] position = new int[nodes];
+            for (int pos = 0; pos < nodes; pos++) position[order[pos]] = pos;
+            return new int[][] {order, position};
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.github.kd_gaming1.skyblockenhancements.feature.pricing;
+
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import java.util.Arrays;
+
+/**
+ * Dense mapping between SkyBlock item IDs and small ints, used to index the primitive
+ * price columns of a {@link PriceSnapshot}.
+ *
+ * <p>The dictionary is append-only across generations: each refresh copies the previous
+ * dictionary and only adds IDs it has not seen before. An ID resolved against an older
+ * snapshot therefore still refers to the same item in every later one, which lets callers
+ * and per-item side tables key on the int instead of re-hashing the string.
+ *
+ * <p>Instances are immutable once built and safe to share between threads.
+ */
+public final class ItemIdDictionary {
+
+    /** Returned by {@link #indexOf} for IDs that have never appeared in a price payload. */
+    public static final int NO_ID = -1;
+
+    static final ItemIdDictionary EMPTY = new ItemIdDictionary(newIndex(0), new String[0], 0);
+
+    private final Object2IntOpenHashMap<String> index;
+    private final String[] ids;
+    private final int size;
+
+    private ItemIdDictionary(Object2IntOpenHashMap<String> index, String[] ids, int size) {
+        this.index = index;
+        this.ids = ids;
+        this.size = size;
+    }
+
+    /** Returns the dense ID of {@code skyblockId}, or {@link #NO_ID} if unknown. */
+    public int indexOf(String skyblockId) {
+        if (skyblockId == null) return NO_ID;
+        return index.getInt(skyblockId);
+    }
+
+    /** Returns the SkyBlock ID for a dense ID previously returned by {@link #indexOf}. */
+    public String idAt(int id) {
+        return ids[id];
+    }
+
+    /** Number of distinct IDs; valid dense IDs are {@code 0 .. size() - 1}. */
+    public int size() {
+        return size;
+    }
+
+    private static Object2IntOpenHashMap<String> newIndex(int expected) {
+        Object2IntOpenHashMap<String> map = new Object2IntOpenHashMap<>(expected);
+        map.defaultReturnValue(NO_ID);
+        return map;
+    }
+
+    // ── Builder ─────────────────────────────────────────────────────────────────
+
+    /** Mutable copy of a dictionary that new IDs can be appended to. Not thread-safe. */
+    static final class Builder {
+        private final Object2IntOpenHashMap<String> index;
+        private String[] ids;
+        private int size;
+
+        Builder(ItemIdDictionary base) {
+            this.index = newIndex(Math.max(base.size, 1024));
+            this.index.putAll(base.index);
+            this.ids = Arrays.copyOf(base.ids, Math.max(base.size, 1024));
+            this.size = base.size;
+        }
+
+        /** Returns the existing ID for {@code skyblockId}, assigning the next free one if absent. */
+        int intern(String skyblockId) {
+            int existing = index.getInt(skyblockId);
+            if (existing != NO_ID) return existing;
+
+            int id = size++;
+            if (id == ids.length) {
+                ids = Arrays.copyOf(ids, ids.length * 2);
+            }
+            ids[id] = skyblockId;
+            index.put(skyblockId, id);
+            return id;
+        }
+
+        int size() {
+            return size;
+        }
+
+        ItemIdDictionary build() {
+            Object2IntOpenHashMap<String> frozen = newIndex(size);
+            frozen.putAll(index);
+            return new ItemIdDictionary(frozen, Arrays.copyOf(ids, size), size);
+        }
+    }
+}
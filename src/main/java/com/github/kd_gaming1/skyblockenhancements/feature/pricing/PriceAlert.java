@@ -0,0 +1,90 @@
+package com.github.kd_gaming1.skyblockenhancements.feature.pricing;
+
+import java.util.Locale;
+
+/**
+ * A single price threshold rule, e.g. "FINE_JADE_GEM bazaar sell above 50k" or
+ * "HYPERION lowest BIN drops 15%".
+ *
+ * <p>Alerts are edge-triggered: one fires when its condition becomes true and re-arms once
+ * the price moves back out of range, so a price sitting past the threshold does not
+ * notify on every refresh.
+ */
+public final class PriceAlert {
+
+    /** Which price column the rule watches. */
+    public enum Field {
+        LOWEST_BIN("lowest BIN"),
+        BAZAAR_BUY("bazaar buy"),
+        BAZAAR_SELL("bazaar sell");
+
+        public final String displayName;
+
+        Field(String displayName) {
+            this.displayName = displayName;
+        }
+
+        double read(PriceSnapshot snapshot, int itemId) {
+            return switch (this) {
+                case LOWEST_BIN -> snapshot.lowestBin(itemId);
+                case BAZAAR_BUY -> snapshot.bazaarBuy(itemId);
+                case BAZAAR_SELL -> snapshot.bazaarSell(itemId);
+            };
+        }
+    }
+
+    public enum Condition {
+        /** Price strictly above {@code threshold} coins. */
+        ABOVE,
+        /** Price strictly below {@code threshold} coins. */
+        BELOW,
+        /** Price at least {@code threshold} percent under the reference price. */
+        DROP
+    }
+
+    final int id;
+    final String skyblockId;
+    final Field field;
+    final Condition condition;
+    final double threshold;
+    /** Price when the rule was created; only used by {@link Condition#DROP}. */
+    final double reference;
+
+    boolean triggered;
+
+    PriceAlert(int id, String skyblockId, Field field, Condition condition, double threshold, double reference) {
+        this.id = id;
+        this.skyblockId = skyblockId;
+        this.field = field;
+        this.condition = condition;
+        this.threshold = threshold;
+        this.reference = reference;
+    }
+
+    public int getId() { return id; }
+    public String getSkyblockId() { return skyblockId; }
+    public Field getField() { return field; }
+    public Condition getCondition() { return condition; }
+    public double getThreshold() { return threshold; }
+    public double getReference() { return reference; }
+    public boolean isTriggered() { return triggered; }
+
+    /** Whether {@code price} satisfies the rule. {@code NaN} never matches. */
+    boolean matches(double price) {
+        return switch (condition) {
+            case ABOVE -> price > threshold;
+            case BELOW -> price < threshold;
+            case DROP -> price <= reference * (1 - threshold / 100);
+        };
+    }
+
+    /** Human-readable rule, e.g. {@code "bazaar sell above 50k"}. */
+    public String describe() {
+        return switch (condition) {
+            case ABOVE -> field.displayName + " above " + PriceTooltipEnhancement.formatCoins(threshold);
+            case BELOW -> field.displayName + " below " + PriceTooltipEnhancement.formatCoins(threshold);
+            case DROP -> field.displayName + " drops " + String.format(Locale.US, "%.1f%%", threshold)
+                    + " from " + PriceTooltipEnhancement.formatCoins(reference);
+        };
+    }
+}
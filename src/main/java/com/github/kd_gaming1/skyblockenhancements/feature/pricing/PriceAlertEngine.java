@@ -0,0 +1,250 @@
+package com.github.kd_gaming1.skyblockenhancements.feature.pricing;
+
+import static com.github.kd_gaming1.skyblockenhancements.SkyblockEnhancements.LOGGER;
+
+import com.github.kd_gaming1.skyblockenhancements.feature.reminder.JsonFileUtil;
+import com.github.kd_gaming1.skyblockenhancements.feature.reminder.OutputType;
+import com.github.kd_gaming1.skyblockenhancements.feature.reminder.ReminderNotifier;
+import com.github.kd_gaming1.skyblockenhancements.repo.io.PersistenceService;
+import com.google.gson.JsonParseException;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import net.minecraft.ChatFormatting;
+import net.minecraft.client.Minecraft;
+import net.minecraft.network.chat.Component;
+import net.minecraft.network.chat.MutableComponent;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Persistent price alert rules, evaluated once per published {@link PriceSnapshot}.
+ *
+ * <p>Evaluation runs from a {@link PriceStore.PriceChangeListener}, never per tick. Rules
+ * are grouped by dense item ID in a sorted array, and each publish walks either that array
+ * or the snapshot's changed-ID set — whichever is smaller — so the cost is bounded by the
+ * rules whose item actually changed, not by rules × items.
+ *
+ * <p>Fired alerts are handed to the client thread and go through
+ * {@link ReminderNotifier#notify}, the same chat / title / sound path reminders use.
+ * Rule edits and trigger-state changes are written in the background by the
+ * {@link PersistenceService}.
+ */
+public final class PriceAlertEngine {
+
+    private static final OutputType OUTPUT = OutputType.CHAT_AND_SOUND;
+
+    private final PriceStore store;
+    private final ReminderNotifier notifier;
+    private final Path filePath;
+    private final PersistenceService.Handle<PriceAlertsFileData> persistence;
+
+    // All state below is guarded by "this": commands mutate it on the client thread,
+    // evaluation runs on whichever thread published the snapshot.
+    private final List<PriceAlert> alerts = new ArrayList<>();
+    private int nextAlertId = 1;
+    private Index index;
+
+    public PriceAlertEngine(PriceStore store, ReminderNotifier notifier, Path filePath) {
+        this.store = store;
+        this.notifier = notifier;
+        this.filePath = filePath;
+        this.persistence = PersistenceService.register(
+                "price alerts", PersistenceService.DEFAULT_DEBOUNCE_MS, data -> JsonFileUtil.writeAtomic(filePath, data));
+        store.addChangeListener((previous, current, changed) -> evaluate(current, changed));
+    }
+
+    // ── Rules ───────────────────────────────────────────────────────────────────
+
+    /**
+     * Adds a rule. {@link PriceAlert.Condition#DROP} rules take the current price as their
+     * reference, so they need one.
+     *
+     * @return the new alert, or {@code null} if a drop rule has no current price
+     */
+    @Nullable
+    public synchronized PriceAlert add(String skyblockId, PriceAlert.Field field,
+                                       PriceAlert.Condition condition, double threshold) {
+        double reference = Double.NaN;
+        if (condition == PriceAlert.Condition.DROP) {
+            PriceSnapshot snapshot = store.snapshot();
+            reference = field.read(snapshot, snapshot.indexOf(skyblockId));
+            if (Double.isNaN(reference)) return null;
+        }
+
+        PriceAlert alert = new PriceAlert(nextAlertId++, skyblockId, field, condition, threshold, reference);
+        // Don't fire for a condition that already holds when the rule is created.
+        PriceSnapshot snapshot = store.snapshot();
+        alert.triggered = alert.matches(field.read(snapshot, snapshot.indexOf(skyblockId)));
+        alerts.add(alert);
+        index = null;
+        save();
+        return alert;
+    }
+
+    public synchronized boolean remove(int alertId) {
+        boolean removed = alerts.removeIf(alert -> alert.id == alertId);
+        if (removed) {
+            index = null;
+            save();
+        }
+        return removed;
+    }
+
+    public synchronized List<PriceAlert> getAlerts() {
+        return List.copyOf(alerts);
+    }
+
+    // ── Evaluation ──────────────────────────────────────────────────────────────
+
+    private void evaluate(PriceSnapshot current, BitSet changedIds) {
+        List<Fired> fired = new ArrayList<>();
+        synchronized (this) {
+            if (alerts.isEmpty()) return;
+
+            Index rules = index(current.dictionary());
+            boolean stateChanged = false;
+            if (rules.itemIds.length <= current.changedCount()) {
+                for (int i = 0; i < rules.itemIds.length; i++) {
+                    int itemId = rules.itemIds[i];
+                    if (current.isChanged(itemId)) {
+                        stateChanged |= evaluate(rules.alerts[i], current, itemId, fired);
+                    }
+                }
+            } else {
+                for (int itemId = changedIds.nextSetBit(0); itemId >= 0; itemId = changedIds.nextSetBit(itemId + 1)) {
+                    int i = Arrays.binarySearch(rules.itemIds, itemId);
+                    if (i >= 0) {
+                        stateChanged |= evaluate(rules.alerts[i], current, itemId, fired);
+                    }
+                }
+            }
+            if (stateChanged) save();
+        }
+
+        if (!fired.isEmpty()) {
+            Minecraft client = Minecraft.getInstance();
+            client.execute(() -> fired.forEach(f -> notify(client, f)));
+        }
+    }
+
+    /** Updates the trigger state of one item's rules; returns whether any state flipped. */
+    private static boolean evaluate(PriceAlert[] itemAlerts, PriceSnapshot current, int itemId, List<Fired> fired) {
+        boolean stateChanged = false;
+        for (PriceAlert alert : itemAlerts) {
+            double price = alert.field.read(current, itemId);
+            if (Double.isNaN(price)) continue; // listing vanished; keep the current state
+
+            boolean matches = alert.matches(price);
+            if (matches == alert.triggered) continue;
+
+            alert.triggered = matches;
+            stateChanged = true;
+            if (matches) fired.add(new Fired(alert, price));
+        }
+        return stateChanged;
+    }
+
+    private void notify(Minecraft client, Fired fired) {
+        PriceAlert alert = fired.alert;
+        String price = PriceTooltipEnhancement.formatCoins(fired.price);
+        MutableComponent msg = Component.literal("⚠ ")
+                .withStyle(ChatFormatting.GOLD)
+                .append(Component.literal(alert.skyblockId + " ").withStyle(ChatFormatting.WHITE))
+                .append(Component.literal(alert.field.displayName + " is " + price).withStyle(ChatFormatting.YELLOW))
+                .append(Component.literal(" (" + alert.describe() + ")").withStyle(ChatFormatting.DARK_GRAY));
+
+        notifier.notify(client, OUTPUT, msg, alert.skyblockId + " " + price, "Price Alert");
+    }
+
+    private record Fired(PriceAlert alert, double price) {}
+
+    // ── Index ───────────────────────────────────────────────────────────────────
+
+    /**
+     * Returns the rule index for {@code dictionary}, rebuilding it after rule edits or when
+     * the dictionary has grown and some rule's item may now have an ID.
+     */
+    private Index index(ItemIdDictionary dictionary) {
+        if (index == null || (index.unresolved > 0 && index.dictionarySize != dictionary.size())) {
+            index = Index.build(alerts, dictionary);
+        }
+        return index;
+    }
+
+    /** Rules grouped by dense item ID; {@code itemIds} is sorted for binary search. */
+    private record Index(int dictionarySize, int unresolved, int[] itemIds, PriceAlert[][] alerts) {
+
+        static Index build(List<PriceAlert> rules, ItemIdDictionary dictionary) {
+            Map<Integer, List<PriceAlert>> byItem = new HashMap<>();
+            int unresolved = 0;
+            for (PriceAlert alert : rules) {
+                int itemId = dictionary.indexOf(alert.skyblockId);
+                if (itemId == ItemIdDictionary.NO_ID) {
+                    unresolved++;
+                    continue;
+                }
+                byItem.computeIfAbsent(itemId, k -> new ArrayList<>(1)).add(alert);
+            }
+
+            int[] itemIds = byItem.keySet().stream().mapToInt(Integer::intValue).sorted().toArray();
+            PriceAlert[][] alerts = new PriceAlert[itemIds.length][];
+            for (int i = 0; i < itemIds.length; i++) {
+                alerts[i] = byItem.get(itemIds[i]).toArray(new PriceAlert[0]);
+            }
+            return new Index(dictionary.size(), unresolved, itemIds, alerts);
+        }
+    }
+
+    // ── Persistence ─────────────────────────────────────────────────────────────
+
+    public synchronized void load() {
+        PriceAlertsFileData data;
+        try {
+            data = JsonFileUtil.readOrCreate(filePath, PriceAlertsFileData.class, new PriceAlertsFileData());
+        } catch (JsonParseException | IOException e) {
+            LOGGER.error("Failed to load price alerts, starting fresh", e);
+            data = null;
+        }
+
+        alerts.clear();
+        nextAlertId = 1;
+        index = null;
+        if (data == null || data.alerts == null) return;
+
+        for (PriceAlertsFileData.AlertData entry : data.alerts) {
+            try {
+                PriceAlert alert = new PriceAlert(entry.id, entry.skyblockId,
+                        PriceAlert.Field.valueOf(entry.field), PriceAlert.Condition.valueOf(entry.condition),
+                        entry.threshold, entry.reference != null ? entry.reference : Double.NaN);
+                alert.triggered = entry.triggered;
+                alerts.add(alert);
+            } catch (IllegalArgumentException | NullPointerException e) {
+                LOGGER.warn("Skipping malformed price alert {}", entry.id);
+            }
+        }
+        nextAlertId = Math.max(data.nextAlertId, alerts.stream().mapToInt(a -> a.id + 1).max().orElse(1));
+    }
+
+    /** Queues a snapshot of the rules to be written atomically. */
+    private void save() {
+        PriceAlertsFileData data = new PriceAlertsFileData();
+        data.nextAlertId = nextAlertId;
+        for (PriceAlert alert : alerts) {
+            PriceAlertsFileData.AlertData entry = new PriceAlertsFileData.AlertData();
+            entry.id = alert.id;
+            entry.skyblockId = alert.skyblockId;
+            entry.field = alert.field.name();
+            entry.condition = alert.condition.name();
+            entry.threshold = alert.threshold;
+            entry.reference = Double.isNaN(alert.reference) ? null : alert.reference;
+            entry.triggered = alert.triggered;
+            data.alerts.add(entry);
+        }
+        persistence.submit(data);
+    }
+}
@@ -0,0 +1,22 @@
+package com.github.kd_gaming1.skyblockenhancements.feature.pricing;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Data structure for serializing price alerts to/from JSON storage.
+ */
+public class PriceAlertsFileData {
+    public int nextAlertId = 1;
+    public List<AlertData> alerts = new ArrayList<>();
+
+    public static class AlertData {
+        public int id;
+        public String skyblockId;
+        public String field;
+        public String condition;
+        public double threshold;
+        public Double reference;
+        public boolean triggered;
+    }
+}
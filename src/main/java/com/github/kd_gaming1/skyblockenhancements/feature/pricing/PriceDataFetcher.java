@@ -3,88 +3,84 @@ package com.github.kd_gaming1.skyblockenhancements.feature.pricing;
 import static com.github.kd_gaming1.skyblockenhancements.SkyblockEnhancements.LOGGER;
 
 import com.github.kd_gaming1.skyblockenhancements.config.ModSettings;
-import com.google.gson.Gson;
-import com.google.gson.JsonElement;
-import com.google.gson.JsonObject;
+import com.github.kd_gaming1.skyblockenhancements.repo.network.HostRateLimiter;
+import com.github.kd_gaming1.skyblockenhancements.repo.network.NetworkService;
+import com.google.gson.stream.JsonReader;
 import java.io.IOException;
-import java.net.URI;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
-import java.nio.charset.StandardCharsets;
-import java.time.Duration;
-import java.util.Map;
-import java.util.Optional;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 
 /**
- * Fetches Auction House lowest-BIN and Bazaar prices from the ScamScreener API.
- * Data is refreshed on a configurable interval and stored in {@link PriceStore}.
+ * Fetches Auction House lowest-BIN and Bazaar prices from the configured
+ * {@link PriceProvider}s (the ScamScreener API first, then any extra providers from the
+ * config as failover and hedging targets; see {@link PriceFeedClient}). Data is refreshed on a configurable interval and published to {@link PriceStore}
+ * as a single {@link PriceSnapshot} once both endpoints have been read.
  *
- * <p>All network I/O runs on a dedicated single-thread executor so the common
- * ForkJoinPool is never blocked by {@code Thread.sleep} or long HTTP calls.
+ * <p>Response bodies are streamed through {@link PriceFeedParser} directly into the
+ * next snapshot's columns instead of being buffered as a string and a JSON tree.
+ *
+ * <p>Both endpoints are requested concurrently on the shared {@link NetworkService#executor()}
+ * so the common ForkJoinPool is never blocked by long HTTP calls. Request pacing is left to
+ * the shared {@link HostRateLimiter}, which also absorbs {@code 429} responses.
  */
 public final class PriceDataFetcher {
 
-    private static final String LOWEST_BIN_URL =
-            "https://scamscreener.creepans.net/api/v2/lowestbin";
-    private static final String BAZAAR_URL =
-            "https://scamscreener.creepans.net/api/v1/bazaar";
-
-    private static final Gson GSON = new Gson();
-    private static final HttpClient HTTP =
-            HttpClient.newBuilder()
-                    .connectTimeout(Duration.ofSeconds(10))
-                    .followRedirects(HttpClient.Redirect.NORMAL)
-                    .build();
-
-    /** Delay between the two endpoint calls to avoid burst-rate limiting. */
-    private static final long INTER_REQUEST_DELAY_MS = 1_000L;
     /** First retry after 15 s, then doubles. */
     private static final long RETRY_BASE_MS = 15_000L;
     /** Hard cap at 15 minutes. */
     private static final long MAX_RETRY_MS = 900_000L;
 
-    /** Dedicated executor for price fetches. */
-    private static final java.util.concurrent.ExecutorService FETCH_EXECUTOR =
-            Executors.newSingleThreadExecutor(r -> {
-                Thread t = new Thread(r, "sbe-price-fetcher");
-                t.setDaemon(true);
-                return t;
-            });
-    /** Scheduled executor for clean async delays without blocking a worker. */
-    private static final ScheduledExecutorService DELAY_EXECUTOR =
-            Executors.newSingleThreadScheduledExecutor(r -> {
-                Thread t = new Thread(r, "sbe-price-delay");
-                t.setDaemon(true);
-                return t;
-            });
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
 
     private final ModSettings settings;
     private final PriceStore store;
+    private final PriceSnapshotFile snapshotFile;
+    private final PriceHistoryStore history;
     private final AtomicBoolean fetching = new AtomicBoolean(false);
     private final AtomicLong nextRetryAt = new AtomicLong(0);
 
     private final AtomicInteger lowestBinFailures = new AtomicInteger(0);
     private final AtomicInteger bazaarFailures = new AtomicInteger(0);
 
-    public PriceDataFetcher(ModSettings settings, PriceStore store) {
+    private final PriceFeedClient feedClient = new PriceFeedClient();
+    private volatile RefreshStats lastRefreshStats;
+    // Only touched from refreshAsync, which runs on the client thread.
+    private List<String> providerEntries = List.of();
+    private final PriceProvider defaultProvider;
+    private List<PriceProvider> resolvedProviders;
+
+    public PriceDataFetcher(ModSettings settings, PriceStore store, PriceSnapshotFile snapshotFile,
+                            PriceHistoryStore history) {
+        this(settings, store, snapshotFile, history, UrlPriceProvider.SCAMSCREENER);
+    }
+
+    /** @param defaultProvider provider tried before the configured extras; tests point it at a stand-in */
+    PriceDataFetcher(ModSettings settings, PriceStore store, PriceSnapshotFile snapshotFile,
+                     PriceHistoryStore history, PriceProvider defaultProvider) {
         this.settings = settings;
         this.store = store;
+        this.snapshotFile = snapshotFile;
+        this.history = history;
+        this.defaultProvider = defaultProvider;
+        this.resolvedProviders = List.of(defaultProvider);
     }
 
     // ── Public API ──────────────────────────────────────────────────────────────
 
-    /** Kicks off the initial background fetch if the feature is enabled. */
+    /**
+     * Restores the last session's prices and price history from disk, then kicks off the
+     * initial background fetch if the feature is enabled.
+     */
     public void start() {
         if (settings.enablePriceTooltips()) {
+            restoreFromDisk();
             refreshAsync();
         }
     }
@@ -115,27 +111,58 @@ public final class PriceDataFetcher {
         }
     }
 
+    /** Timing of the last completed refresh, or {@code null} before the first one. */
+    public RefreshStats getLastRefreshStats() {
+        return lastRefreshStats;
+    }
+
+    /**
+     * Cost of one refresh, so regressions in refresh time or allocation show up in the log
+     * and in {@code /sbe debug prices}.
+     *
+     * @param feedMs         time to fetch and parse each feed, indexed by {@link PriceProvider.Feed#ordinal()}
+     * @param allocatedBytes bytes allocated by the fetch threads while streaming, or {@code -1} if the JVM can't tell
+     * @param heapUsedBytes  heap in use right after publishing
+     */
+    public record RefreshStats(long finishedAt, boolean success, long totalMs, long[] feedMs,
+                               long allocatedBytes, long heapUsedBytes, int lowestBinCount, int bazaarCount) {}
+
     // ── Fetch logic ─────────────────────────────────────────────────────────────
 
     private void refreshAsync() {
         if (!fetching.compareAndSet(false, true)) return;
 
-        CompletableFuture.runAsync(this::fetchLowestBin, FETCH_EXECUTOR)
-                .thenCompose(v -> {
-                    CompletableFuture<Void> delay = new CompletableFuture<>();
-                    DELAY_EXECUTOR.schedule(
-                            () -> delay.complete(null),
-                            INTER_REQUEST_DELAY_MS,
-                            TimeUnit.MILLISECONDS);
-                    return delay;
-                })
-                .thenRunAsync(this::fetchBazaar, FETCH_EXECUTOR)
+        PriceSnapshot.Builder next = PriceSnapshot.builder(store.snapshot());
+        List<PriceProvider> providers = resolveProviders();
+        boolean hedge = settings.hedgePriceRequests();
+        long startNanos = System.nanoTime();
+        long[] feedMs = new long[PriceProvider.Feed.values().length];
+        long[] allocated = new long[feedMs.length];
+
+        // The builder is synchronized, so both feeds can stream into it at once.
+        CompletableFuture<Void> lowestBin = CompletableFuture.runAsync(
+                () -> timed(PriceProvider.Feed.LOWEST_BIN, feedMs, allocated, () -> fetchLowestBin(next, providers, hedge)),
+                NetworkService.executor());
+        CompletableFuture<Void> bazaar = CompletableFuture.runAsync(
+                () -> timed(PriceProvider.Feed.BAZAAR, feedMs, allocated, () -> fetchBazaar(next, providers, hedge)),
+                NetworkService.executor());
+
+        CompletableFuture.allOf(lowestBin, bazaar)
                 .whenComplete((v, ex) -> {
-                    fetching.set(false);
-                    if (ex != null) {
-                        handleFailure(ex);
-                    } else {
-                        handleSuccess();
+                    try {
+                        // Publish whatever was fetched, even if the other endpoint failed.
+                        if (next.isDirty()) {
+                            persist(store.publish(next));
+                        }
+                        recordStats(ex == null, startNanos, feedMs, allocated);
+                        if (ex != null) {
+                            handleFailure(ex);
+                        } else {
+                            handleSuccess();
+                        }
+                    } finally {
+                        // Cleared last, and always: a stuck flag would stop refreshes for the session.
+                        fetching.set(false);
                     }
                 });
     }
@@ -146,7 +173,11 @@ public final class PriceDataFetcher {
         lowestBinFailures.set(0);
         bazaarFailures.set(0);
         nextRetryAt.set(0);
-        LOGGER.info("Price data refreshed");
+
+        RefreshStats stats = lastRefreshStats;
+        LOGGER.info("Price data refreshed in {} ms (lowest BIN {} ms, bazaar {} ms, {} KB allocated)",
+                stats.totalMs(), stats.feedMs()[PriceProvider.Feed.LOWEST_BIN.ordinal()],
+                stats.feedMs()[PriceProvider.Feed.BAZAAR.ordinal()], stats.allocatedBytes() / 1024);
     }
 
     private void handleFailure(Throwable ex) {
@@ -156,7 +187,8 @@ public final class PriceDataFetcher {
         nextRetryAt.set(System.currentTimeMillis() + backoff);
         store.setFetchFailed();
 
-        if (cause instanceof HttpException he && he.status == 429) {
+        if (cause instanceof PriceFeedClient.HttpException he && he.status == 429
+                || cause instanceof HostRateLimiter.RateLimitedException) {
             LOGGER.warn("Rate limited by price API (429), backing off for {}s (failure #{})",
                     backoff / 1_000, failures);
         } else {
@@ -165,7 +197,7 @@ public final class PriceDataFetcher {
     }
 
     /** Exponential backoff with ±1 s jitter, capped at 15 min. */
-    private long calculateBackoff(int failureCount) {
+    static long calculateBackoff(int failureCount) {
         if (failureCount <= 0) return RETRY_BASE_MS;
         int exponent = Math.min(failureCount - 1, 6);
         long exponential = RETRY_BASE_MS * (1L << exponent);
@@ -173,19 +205,9 @@ public final class PriceDataFetcher {
         return Math.min(exponential + jitter, MAX_RETRY_MS);
     }
 
-    private void fetchLowestBin() {
-        try {
-            String body = httpGet(LOWEST_BIN_URL);
-            JsonObject root = GSON.fromJson(body, JsonObject.class);
-            JsonObject products = root.has("products") ? root.getAsJsonObject("products") : root;
-
-            Map<String, Double> temp = new ConcurrentHashMap<>(products.size());
-            for (Map.Entry<String, JsonElement> entry : products.entrySet()) {
-                JsonObject product = entry.getValue().getAsJsonObject();
-                readDouble(product, "price").ifPresent(price -> temp.put(entry.getKey(), price));
-            }
-
-            store.updateLowestBin(temp);
+    private void fetchLowestBin(PriceSnapshot.Builder next, List<PriceProvider> providers, boolean hedge) {
+        try (JsonReader reader = feedClient.open(providers, PriceProvider.Feed.LOWEST_BIN, hedge)) {
+            PriceFeedParser.readLowestBin(reader, next);
             lowestBinFailures.set(0);
         } catch (Exception e) {
             lowestBinFailures.incrementAndGet();
@@ -193,58 +215,122 @@ public final class PriceDataFetcher {
         }
     }
 
-    private void fetchBazaar() {
+    private void fetchBazaar(PriceSnapshot.Builder next, List<PriceProvider> providers, boolean hedge) {
+        try (JsonReader reader = feedClient.open(providers, PriceProvider.Feed.BAZAAR, hedge)) {
+            PriceFeedParser.readBazaar(reader, next);
+            bazaarFailures.set(0);
+        } catch (Exception e) {
+            bazaarFailures.incrementAndGet();
+            throw new RuntimeException(e);
+        }
+    }
+
+    /** Runs {@code fetch} on the current fetch thread, recording its wall time and allocation. */
+    private static void timed(PriceProvider.Feed feed, long[] feedMs, long[] allocated, Runnable fetch) {
+        long start = System.nanoTime();
+        long allocatedBefore = currentThreadAllocatedBytes();
         try {
-            String body = httpGet(BAZAAR_URL);
-            JsonObject root = GSON.fromJson(body, JsonObject.class);
-            JsonObject products = root.has("products") ? root.getAsJsonObject("products") : root;
+            fetch.run();
+        } finally {
+            feedMs[feed.ordinal()] = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            long allocatedAfter = currentThreadAllocatedBytes();
+            allocated[feed.ordinal()] = allocatedBefore < 0 ? -1L : allocatedAfter - allocatedBefore;
+        }
+    }
 
-            Map<String, Double> tempBuy = new ConcurrentHashMap<>(products.size());
-            Map<String, Double> tempSell = new ConcurrentHashMap<>(products.size());
-            Map<String, Double> tempSpread = new ConcurrentHashMap<>(products.size());
+    /** Called after both feeds completed; {@code allOf} makes their array writes visible here. */
+    private void recordStats(boolean success, long startNanos, long[] feedMs, long[] allocated) {
+        long allocatedBytes = 0;
+        for (long bytes : allocated) {
+            if (bytes < 0) {
+                allocatedBytes = -1L;
+                break;
+            }
+            allocatedBytes += bytes;
+        }
+        Runtime runtime = Runtime.getRuntime();
+        PriceSnapshot current = store.snapshot();
+        lastRefreshStats = new RefreshStats(
+                System.currentTimeMillis(),
+                success,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos),
+                feedMs,
+                allocatedBytes,
+                runtime.totalMemory() - runtime.freeMemory(),
+                current.lowestBinCount(),
+                current.bazaarCount());
+    }
 
-            for (Map.Entry<String, JsonElement> entry : products.entrySet()) {
-                if (!entry.getValue().isJsonObject()) continue;
-                JsonObject product = entry.getValue().getAsJsonObject();
+    private static long currentThreadAllocatedBytes() {
+        return THREADS instanceof com.sun.management.ThreadMXBean hotspot
+                ? hotspot.getCurrentThreadAllocatedBytes()
+                : -1L;
+    }
 
-                readDouble(product, "buy").ifPresent(p -> tempBuy.put(entry.getKey(), p));
-                readDouble(product, "sell").ifPresent(p -> tempSell.put(entry.getKey(), p));
-                readDouble(product, "spread").ifPresent(p -> tempSpread.put(entry.getKey(), p));
-            }
+    // ── Persistence ─────────────────────────────────────────────────────────────
 
-            store.updateBazaar(tempBuy, tempSell, tempSpread);
-            bazaarFailures.set(0);
+    private void restoreFromDisk() {
+        try {
+            history.load();
         } catch (Exception e) {
-            bazaarFailures.incrementAndGet();
-            throw new RuntimeException(e);
+            LOGGER.warn("Failed to read price history, starting fresh", e);
+        }
+
+        try {
+            PriceSnapshotFile.Loaded loaded = snapshotFile.read();
+            if (loaded != null) {
+                store.restore(loaded.snapshot(), loaded.fetchedAt());
+                // Already sampled last session; this only fills in the trend column.
+                history.record(store.snapshot(), loaded.fetchedAt());
+                LOGGER.info("Restored cached price data from last session");
+            }
+        } catch (Exception e) {
+            LOGGER.warn("Failed to read cached price data, waiting for live refresh", e);
         }
     }
 
-    // ── Helpers ──────────────────────────────────────────────────────────────────
+    /** Runs on the fetch thread, so the writes never touch the render thread. */
+    private void persist(PriceSnapshot published) {
+        long now = System.currentTimeMillis();
+        try {
+            snapshotFile.write(published, now);
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warn("Failed to cache price data to disk", e);
+        }
 
-    private static String httpGet(String url) throws Exception {
-        HttpRequest req = HttpRequest.newBuilder()
-                .uri(URI.create(url))
-                .header("User-Agent", "SkyblockEnhancements/1.0 (+https://github.com/kd-gaming1/SkyblockEnhancements)")
-                .header("Accept", "application/json")
-                .timeout(Duration.ofSeconds(15))
-                .GET()
-                .build();
-
-        HttpResponse<String> resp = HTTP.send(req, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
-        int status = resp.statusCode();
-        if (status < 200 || status >= 300) {
-            throw new HttpException(status, "HTTP " + status + " for " + url);
+        try {
+            if (history.record(published, now)) {
+                history.save();
+            }
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warn("Failed to save price history", e);
         }
-        return resp.body();
     }
 
-    private static Optional<Double> readDouble(JsonObject obj, String key) {
-        JsonElement el = obj.get(key);
-        if (el != null && el.isJsonPrimitive() && el.getAsJsonPrimitive().isNumber()) {
-            return Optional.of(el.getAsDouble());
+    // ── Helpers ──────────────────────────────────────────────────────────────────
+
+    /**
+     * Returns the default provider followed by the valid extra providers from the config.
+     * Re-parsed only when the configured entries change.
+     */
+    private List<PriceProvider> resolveProviders() {
+        List<String> entries = settings.extraPriceProviders();
+        if (entries.equals(providerEntries)) return resolvedProviders;
+
+        List<PriceProvider> resolved = new ArrayList<>(1 + entries.size());
+        resolved.add(defaultProvider);
+        for (String entry : entries) {
+            if (entry.isBlank()) continue;
+            UrlPriceProvider provider = UrlPriceProvider.parse(entry);
+            if (provider != null) {
+                resolved.add(provider);
+            } else {
+                LOGGER.warn("Ignoring malformed price provider entry '{}'", entry);
+            }
         }
-        return Optional.empty();
+        providerEntries = List.copyOf(entries);
+        resolvedProviders = List.copyOf(resolved);
+        return resolvedProviders;
     }
 
     /** Walks the cause chain to the bottom. */
@@ -254,15 +340,4 @@ public final class PriceDataFetcher {
         }
         return t;
     }
-
-    // ── HttpException ───────────────────────────────────────────────────────────
-
-    private static final class HttpException extends IOException {
-        final int status;
-
-        HttpException(int status, String message) {
-            super(message);
-            this.status = status;
-        }
-    }
-}
\ No newline at end of file
+}
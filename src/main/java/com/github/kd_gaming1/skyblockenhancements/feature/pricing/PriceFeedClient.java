@@ -0,0 +1,328 @@
+package com.github.kd_gaming1.skyblockenhancements.feature.pricing;
+
+import static com.github.kd_gaming1.skyblockenhancements.SkyblockEnhancements.LOGGER;
+
+import com.github.kd_gaming1.skyblockenhancements.repo.network.HostRateLimiter;
+import com.github.kd_gaming1.skyblockenhancements.repo.network.NetworkService;
+import com.google.gson.stream.JsonReader;
+import java.io.BufferedReader;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Opens price feeds from an ordered list of {@link PriceProvider}s.
+ *
+ * <p><b>Failover:</b> providers are tried in order; an error or non-2xx status from one
+ * immediately sends the request to the next.
+ *
+ * <p><b>Hedging:</b> when enabled, a provider that has not answered within its p95
+ * time-to-headers (tracked per endpoint over the last {@value LatencyWindow#SIZE}
+ * successful requests) gets the next provider raced against it. The first 2xx response
+ * wins and the others are cancelled, so only one body is ever parsed.
+ *
+ * <p>Every request goes through {@link NetworkService} and so the target host's
+ * {@link HostRateLimiter}, and every body must be read within {@value #BODY_TIMEOUT_MS} ms.
+ * Blocks the calling thread; only call it from the price-fetch executor.
+ */
+final class PriceFeedClient {
+
+    private static final String USER_AGENT =
+            "SkyblockEnhancements/1.0 (+https://github.com/kd-gaming1/SkyblockEnhancements)";
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(15);
+    /**
+     * Budget for reading a whole body once headers arrived. {@link #REQUEST_TIMEOUT} only
+     * covers the headers, so without this a stalled or slow-dripping body would block the
+     * fetch thread (and every later refresh) indefinitely.
+     */
+    private static final long BODY_TIMEOUT_MS = 30_000L;
+    private static final ScheduledExecutorService BODY_WATCHDOG =
+            Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "sbe-price-body-watchdog");
+                t.setDaemon(true);
+                return t;
+            });
+    /** Hedge delay used until an endpoint has enough latency samples. */
+    private static final long DEFAULT_HEDGE_DELAY_MS = 2_000L;
+    private static final long MIN_HEDGE_DELAY_MS = 250L;
+
+    private final Map<URI, LatencyWindow> latencies = new ConcurrentHashMap<>();
+    private final long bodyTimeoutMs;
+
+    PriceFeedClient() {
+        this(BODY_TIMEOUT_MS);
+    }
+
+    /** @param bodyTimeoutMs budget for reading each body; tests shorten it */
+    PriceFeedClient(long bodyTimeoutMs) {
+        this.bodyTimeoutMs = bodyTimeoutMs;
+    }
+
+    /**
+     * Returns a streaming reader over {@code feed} from the first provider that answers
+     * with a 2xx status. The caller owns the reader and must close it.
+     *
+     * @throws IOException the first provider's failure (later ones suppressed) if all fail
+     */
+    JsonReader open(List<PriceProvider> providers, PriceProvider.Feed feed, boolean hedge)
+            throws IOException, InterruptedException {
+        Race race = new Race();
+        int launched = 0;
+        int outstanding = 0;
+        IOException failure = null;
+
+        try {
+            launch(race, providers.get(launched++), feed);
+            outstanding++;
+
+            while (true) {
+                Outcome outcome;
+                if (hedge && launched < providers.size()) {
+                    PriceProvider last = providers.get(launched - 1);
+                    outcome = race.queue.poll(hedgeDelayMs(last.uri(feed)), TimeUnit.MILLISECONDS);
+                    if (outcome == null) {
+                        LOGGER.debug("Price provider {} is slow, hedging {} request to {}",
+                                last.name(), feed, providers.get(launched).name());
+                        launch(race, providers.get(launched++), feed);
+                        outstanding++;
+                        continue;
+                    }
+                } else {
+                    outcome = race.queue.take();
+                }
+                outstanding--;
+
+                if (outcome.error == null) {
+                    return reader(outcome.response);
+                }
+
+                if (failure == null) failure = outcome.error;
+                else failure.addSuppressed(outcome.error);
+
+                if (launched < providers.size()) {
+                    LOGGER.warn("Price provider {} failed for {} ({}), trying {}", outcome.provider.name(),
+                            feed, outcome.error.getMessage(), providers.get(launched).name());
+                    launch(race, providers.get(launched++), feed);
+                    outstanding++;
+                } else if (outstanding == 0) {
+                    throw failure;
+                }
+            }
+        } finally {
+            race.finish();
+        }
+    }
+
+    // ── Requests ────────────────────────────────────────────────────────────────
+
+    private void launch(Race race, PriceProvider provider, PriceProvider.Feed feed) throws InterruptedException {
+        URI uri = provider.uri(feed);
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(uri)
+                .header("User-Agent", USER_AGENT)
+                .header("Accept", "application/json")
+                .timeout(REQUEST_TIMEOUT)
+                .GET()
+                .build();
+
+        // Blocks only for the host's rate limit, so the clock starts once the request is out.
+        CompletableFuture<HttpResponse<InputStream>> future =
+                NetworkService.sendAsync(request, HttpResponse.BodyHandlers.ofInputStream());
+        long start = System.nanoTime();
+        race.inFlight.add(future);
+
+        future.whenComplete((response, ex) -> {
+            if (ex != null) {
+                race.offer(new Outcome(provider, null, asIOException(ex)));
+                return;
+            }
+            int status = response.statusCode();
+            if (status < 200 || status >= 300) {
+                closeQuietly(response.body());
+                race.offer(new Outcome(provider, null, new HttpException(status, "HTTP " + status + " for " + uri)));
+                return;
+            }
+            latencies.computeIfAbsent(uri, u -> new LatencyWindow())
+                    .record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            race.offer(new Outcome(provider, response, null));
+        });
+    }
+
+    private long hedgeDelayMs(URI uri) {
+        LatencyWindow window = latencies.get(uri);
+        long p95 = window != null ? window.p95() : -1L;
+        return p95 < 0 ? DEFAULT_HEDGE_DELAY_MS : Math.max(p95, MIN_HEDGE_DELAY_MS);
+    }
+
+    private JsonReader reader(HttpResponse<InputStream> response) {
+        InputStream body = new DeadlineInputStream(response.body(), bodyTimeoutMs);
+        return new JsonReader(new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8)));
+    }
+
+    private static IOException asIOException(Throwable ex) {
+        Throwable cause = ex.getCause() != null ? ex.getCause() : ex;
+        return cause instanceof IOException io ? io : new IOException(cause);
+    }
+
+    private static void closeQuietly(InputStream body) {
+        try {
+            body.close();
+        } catch (IOException ignored) {
+            // Nothing useful to do; the connection is discarded either way.
+        }
+    }
+
+    // ── Race bookkeeping ────────────────────────────────────────────────────────
+
+    private record Outcome(PriceProvider provider, HttpResponse<InputStream> response, IOException error) {}
+
+    /** In-flight requests of one {@link #open} call and the queue their outcomes land in. */
+    private static final class Race {
+        final BlockingQueue<Outcome> queue = new LinkedBlockingQueue<>();
+        final List<CompletableFuture<HttpResponse<InputStream>>> inFlight = new ArrayList<>(2);
+        private boolean finished;
+
+        /** Queues an outcome, or releases its body straight away once a winner was picked. */
+        synchronized void offer(Outcome outcome) {
+            if (finished) {
+                if (outcome.response != null) closeQuietly(outcome.response.body());
+                return;
+            }
+            queue.add(outcome);
+        }
+
+        /** Cancels the losers and closes any bodies that were queued but never read. */
+        synchronized void finish() {
+            finished = true;
+            for (CompletableFuture<HttpResponse<InputStream>> future : inFlight) {
+                future.cancel(true);
+            }
+            for (Outcome outcome : queue) {
+                if (outcome.response != null) closeQuietly(outcome.response.body());
+            }
+            queue.clear();
+        }
+    }
+
+    /** Ring of recent time-to-headers samples for one endpoint. */
+    private static final class LatencyWindow {
+        static final int SIZE = 32;
+        private static final int MIN_SAMPLES = 8;
+
+        private final long[] samples = new long[SIZE];
+        private int count;
+        private int next;
+
+        synchronized void record(long millis) {
+            samples[next] = millis;
+            next = (next + 1) % SIZE;
+            if (count < SIZE) count++;
+        }
+
+        /** 95th percentile in millis, or {@code -1} until enough samples exist. */
+        synchronized long p95() {
+            if (count < MIN_SAMPLES) return -1L;
+            long[] sorted = Arrays.copyOf(samples, count);
+            Arrays.sort(sorted);
+            return sorted[(int) Math.ceil(count * 0.95) - 1];
+        }
+    }
+
+    // ── Body deadline ───────────────────────────────────────────────────────────
+
+    /**
+     * Fails reads once the deadline has passed. A read that keeps returning bytes slowly is
+     * caught by the check after each read; one that blocks outright is released by the
+     * watchdog closing the underlying stream.
+     */
+    private static final class DeadlineInputStream extends FilterInputStream {
+        private final long timeoutMs;
+        private final long deadlineNanos;
+        private final ScheduledFuture<?> watchdog;
+        private volatile boolean expired;
+
+        DeadlineInputStream(InputStream in, long timeoutMs) {
+            super(in);
+            this.timeoutMs = timeoutMs;
+            this.deadlineNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+            this.watchdog = BODY_WATCHDOG.schedule(() -> {
+                expired = true;
+                closeQuietly(in);
+            }, timeoutMs, TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int read() throws IOException {
+            checkDeadline();
+            int b = readOrTimeout(() -> super.read());
+            checkDeadline();
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            checkDeadline();
+            int n = readOrTimeout(() -> super.read(b, off, len));
+            checkDeadline();
+            return n;
+        }
+
+        @Override
+        public void close() throws IOException {
+            watchdog.cancel(false);
+            super.close();
+        }
+
+        private int readOrTimeout(IoRead read) throws IOException {
+            try {
+                return read.run();
+            } catch (IOException e) {
+                if (expired) throw timeout();
+                throw e;
+            }
+        }
+
+        private void checkDeadline() throws IOException {
+            if (expired || System.nanoTime() - deadlineNanos > 0) throw timeout();
+        }
+
+        private IOException timeout() {
+            return new HttpTimeoutException("Response body not received within " + timeoutMs + " ms");
+        }
+
+        @FunctionalInterface
+        private interface IoRead {
+            int run() throws IOException;
+        }
+    }
+
+    // ── HttpException ───────────────────────────────────────────────────────────
+
+    static final class HttpException extends IOException {
+        final int status;
+
+        HttpException(int status, String message) {
+            super(message);
+            this.status = status;
+        }
+    }
+}
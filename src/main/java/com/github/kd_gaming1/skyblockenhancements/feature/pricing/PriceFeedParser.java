@@ -0,0 +1,121 @@
+package com.github.kd_gaming1.skyblockenhancements.feature.pricing;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import java.io.IOException;
+
+/**
+ * Streaming parsers for the lowest-BIN and bazaar feeds.
+ *
+ * <p>Both feeds are either {@code {"products": {"<ID>": {...}, ...}, ...}} or the bare
+ * product map. Products are read token by token and written straight into the staged
+ * columns of a {@link PriceSnapshot.Builder}, so a refresh never holds the response body
+ * as a {@code String}, a Gson tree, or intermediate maps.
+ */
+final class PriceFeedParser {
+
+    private static final String PRODUCTS = "products";
+
+    private PriceFeedParser() {}
+
+    /** Reads {@code {"<ID>": {"price": n}}} entries into the lowest-BIN section. */
+    static void readLowestBin(JsonReader reader, PriceSnapshot.Builder next) throws IOException {
+        next.beginLowestBin();
+        readRoot(reader, next::beginLowestBin, (id, r) -> {
+            double price = Double.NaN;
+            r.beginObject();
+            while (r.hasNext()) {
+                if ("price".equals(r.nextName())) {
+                    price = readNumber(r);
+                } else {
+                    r.skipValue();
+                }
+            }
+            r.endObject();
+            if (!Double.isNaN(price)) next.putLowestBin(id, price);
+        });
+        next.commitLowestBin();
+    }
+
+    /** Reads {@code {"<ID>": {"buy": n, "sell": n, "spread": n}}} entries into the bazaar section. */
+    static void readBazaar(JsonReader reader, PriceSnapshot.Builder next) throws IOException {
+        next.beginBazaar();
+        readRoot(reader, next::beginBazaar, (id, r) -> {
+            double buy = Double.NaN;
+            double sell = Double.NaN;
+            double spread = Double.NaN;
+            r.beginObject();
+            while (r.hasNext()) {
+                switch (r.nextName()) {
+                    case "buy" -> buy = readNumber(r);
+                    case "sell" -> sell = readNumber(r);
+                    case "spread" -> spread = readNumber(r);
+                    default -> r.skipValue();
+                }
+            }
+            r.endObject();
+            if (Double.isNaN(buy) && Double.isNaN(sell) && Double.isNaN(spread)) return;
+            next.putBazaar(id, orZero(buy), orZero(sell), orZero(spread));
+        });
+        next.commitBazaar();
+    }
+
+    // ── Helpers ──────────────────────────────────────────────────────────────────
+
+    /**
+     * Walks the root object. Object-valued entries are treated as products until a
+     * {@code "products"} object turns up, at which point anything staged so far is
+     * discarded ({@code restart}) and only the nested map is read.
+     */
+    private static void readRoot(JsonReader reader, Runnable restart, ProductReader product) throws IOException {
+        boolean nested = false;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+                reader.skipValue();
+            } else if (PRODUCTS.equals(name) && !nested) {
+                nested = true;
+                restart.run();
+                readProducts(reader, product);
+            } else if (!nested) {
+                product.read(name, reader);
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+    }
+
+    private static void readProducts(JsonReader reader, ProductReader product) throws IOException {
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String id = reader.nextName();
+            if (reader.peek() == JsonToken.BEGIN_OBJECT) {
+                product.read(id, reader);
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+    }
+
+    /** Returns the next value if it is a JSON number, otherwise skips it and returns {@code NaN}. */
+    private static double readNumber(JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.NUMBER) {
+            return reader.nextDouble();
+        }
+        reader.skipValue();
+        return Double.NaN;
+    }
+
+    private static double orZero(double value) {
+        return Double.isNaN(value) ? 0.0 : value;
+    }
+
+    @FunctionalInterface
+    private interface ProductReader {
+        /** Consumes exactly one product object, positioned at its {@code BEGIN_OBJECT}. */
+        void read(String id, JsonReader reader) throws IOException;
+    }
+}
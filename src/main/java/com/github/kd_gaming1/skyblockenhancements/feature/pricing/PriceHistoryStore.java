@@ -0,0 +1,223 @@
+package com.github.kd_gaming1.skyblockenhancements.feature.pricing;
+
+import com.github.kd_gaming1.skyblockenhancements.repo.io.AtomicFileWriter;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Per-item price history used for the tooltip trend line.
+ *
+ * <p>Each item owns a fixed-size ring of {@value #SLOTS} samples stored in flat primitive
+ * arrays: the price as a {@code float} and the time as an unsigned 16-bit delta in minutes
+ * since the previous sample, anchored by the item's most recent sample time. At most one
+ * sample is taken per {@value #MIN_SAMPLE_INTERVAL_MINUTES} minutes, which covers a few days.
+ *
+ * <p>The series tracks the lowest BIN, or the bazaar buy price for items that are only
+ * sold on the bazaar. Trends are computed once per {@link #record} into a column indexed by
+ * the {@link ItemIdDictionary} ID, so the tooltip reads a single float per frame.
+ *
+ * <p>{@link #record} and {@link #save} run on the price-fetch thread; readers only touch
+ * the volatile trend column.
+ */
+public final class PriceHistoryStore {
+
+    private static final int MAGIC = 0x53424548; // "SBEH"
+    private static final int VERSION = 1;
+
+    static final int SLOTS = 96;
+    static final int MIN_SAMPLE_INTERVAL_MINUTES = 45;
+    private static final int TREND_WINDOW_MINUTES = 24 * 60;
+    /** A trend needs a baseline at least this old to be shown as "24h". */
+    private static final int MIN_TREND_SPAN_MINUTES = 20 * 60;
+
+    private final Path path;
+
+    // Series are keyed by SkyBlock ID so history survives dictionary changes between sessions.
+    private final Object2IntOpenHashMap<String> seriesIndex = new Object2IntOpenHashMap<>();
+    private String[] seriesIds = new String[0];
+    private int seriesCount;
+
+    private float[] prices = new float[0];       // [series * SLOTS + slot]
+    private char[] deltaMinutes = new char[0];   // minutes since the previous sample in the ring
+    private int[] lastMinute = new int[0];       // absolute time of the newest sample
+    private byte[] head = new byte[0];           // index of the newest sample
+    private byte[] count = new byte[0];
+
+    /** Trend over {@link #TREND_WINDOW_MINUTES} as a fraction, indexed by dictionary ID. NaN = unknown. */
+    private volatile float[] trendByItemId = new float[0];
+
+    public PriceHistoryStore(Path path) {
+        this.path = path;
+        seriesIndex.defaultReturnValue(-1);
+    }
+
+    // ── Reads ───────────────────────────────────────────────────────────────────
+
+    /**
+     * Returns the relative price change over the last 24 hours for a dictionary ID,
+     * e.g. {@code 0.042} for +4.2%, or {@code NaN} if there is not enough history.
+     */
+    public float trend24h(int itemId) {
+        float[] trends = trendByItemId;
+        return itemId >= 0 && itemId < trends.length ? trends[itemId] : Float.NaN;
+    }
+
+    // ── Recording ───────────────────────────────────────────────────────────────
+
+    /**
+     * Appends a sample for every priced item in {@code snapshot} (rate-limited per item)
+     * and recomputes the trend column.
+     *
+     * @return {@code true} if any sample was appended and the history should be saved
+     */
+    public boolean record(PriceSnapshot snapshot, long nowMs) {
+        int now = toMinutes(nowMs);
+        ItemIdDictionary dictionary = snapshot.dictionary();
+        float[] trends = new float[dictionary.size()];
+        boolean appended = false;
+
+        for (int id = 0; id < dictionary.size(); id++) {
+            double price = snapshot.hasLowestBin(id) ? snapshot.lowestBin(id) : snapshot.bazaarBuy(id);
+            int series = seriesIndex.getInt(dictionary.idAt(id));
+
+            if (!Double.isNaN(price) && price > 0) {
+                if (series < 0) series = addSeries(dictionary.idAt(id));
+                appended |= append(series, now, (float) price);
+            }
+            trends[id] = series < 0 ? Float.NaN : computeTrend(series, now);
+        }
+
+        trendByItemId = trends;
+        return appended;
+    }
+
+    private boolean append(int series, int now, float price) {
+        int n = count[series];
+        if (n > 0) {
+            int elapsed = now - lastMinute[series];
+            if (elapsed < MIN_SAMPLE_INTERVAL_MINUTES) return false;
+            int slot = (head[series] + 1) % SLOTS;
+            deltaMinutes[series * SLOTS + slot] = (char) Math.min(elapsed, Character.MAX_VALUE);
+            head[series] = (byte) slot;
+        } else {
+            head[series] = 0;
+            deltaMinutes[series * SLOTS] = 0;
+        }
+        prices[series * SLOTS + head[series]] = price;
+        lastMinute[series] = now;
+        if (n < SLOTS) count[series] = (byte) (n + 1);
+        return true;
+    }
+
+    /**
+     * Walks back from the newest sample to the newest one that is at least
+     * {@link #TREND_WINDOW_MINUTES} old (or the oldest retained one) and compares prices.
+     */
+    private float computeTrend(int series, int now) {
+        int n = count[series];
+        if (n < 2) return Float.NaN;
+
+        int base = series * SLOTS;
+        int slot = head[series];
+        float latest = prices[base + slot];
+        int age = now - lastMinute[series];
+
+        for (int i = 1; i < n && age < TREND_WINDOW_MINUTES; i++) {
+            age += deltaMinutes[base + slot];
+            slot = (slot + SLOTS - 1) % SLOTS;
+        }
+        if (age < MIN_TREND_SPAN_MINUTES) return Float.NaN;
+
+        float baseline = prices[base + slot];
+        return baseline > 0 ? (latest - baseline) / baseline : Float.NaN;
+    }
+
+    private int addSeries(String skyblockId) {
+        int series = seriesCount++;
+        if (series == seriesIds.length) {
+            int capacity = Math.max(1024, seriesIds.length * 2);
+            seriesIds = Arrays.copyOf(seriesIds, capacity);
+            prices = Arrays.copyOf(prices, capacity * SLOTS);
+            deltaMinutes = Arrays.copyOf(deltaMinutes, capacity * SLOTS);
+            lastMinute = Arrays.copyOf(lastMinute, capacity);
+            head = Arrays.copyOf(head, capacity);
+            count = Arrays.copyOf(count, capacity);
+        }
+        seriesIds[series] = skyblockId;
+        seriesIndex.put(skyblockId, series);
+        return series;
+    }
+
+    private static int toMinutes(long epochMs) {
+        return (int) (epochMs / 60_000L);
+    }
+
+    // ── Persistence ─────────────────────────────────────────────────────────────
+
+    /**
+     * Layout (big-endian): magic, version, series count, then per series the ID
+     * ({@code short} length + UTF-8), newest sample time, sample count and the samples
+     * oldest-first as ({@code char} delta minutes, {@code float} price).
+     */
+    public void save() throws IOException {
+        byte[][] ids = new byte[seriesCount][];
+        int bytes = 12;
+        for (int s = 0; s < seriesCount; s++) {
+            ids[s] = seriesIds[s].getBytes(StandardCharsets.UTF_8);
+            bytes += 2 + ids[s].length + 4 + 1 + count[s] * (Character.BYTES + Float.BYTES);
+        }
+
+        ByteBuffer buf = ByteBuffer.allocate(bytes);
+        buf.putInt(MAGIC).putInt(VERSION).putInt(seriesCount);
+        for (int s = 0; s < seriesCount; s++) {
+            int n = count[s];
+            buf.putShort((short) ids[s].length).put(ids[s]).putInt(lastMinute[s]).put((byte) n);
+            int slot = (head[s] + SLOTS - n + 1) % SLOTS;
+            for (int i = 0; i < n; i++) {
+                buf.putChar(deltaMinutes[s * SLOTS + slot]).putFloat(prices[s * SLOTS + slot]);
+                slot = (slot + 1) % SLOTS;
+            }
+        }
+
+        AtomicFileWriter.writeBytes(path, buf.array());
+    }
+
+    /** Loads persisted history. A missing or incompatible file leaves the store empty. */
+    public void load() throws IOException {
+        if (!Files.isRegularFile(path)) return;
+
+        ByteBuffer buf = ByteBuffer.wrap(Files.readAllBytes(path));
+        if (buf.remaining() < 12 || buf.getInt() != MAGIC || buf.getInt() != VERSION) return;
+
+        try {
+            readSeries(buf);
+        } catch (BufferUnderflowException e) {
+            seriesIndex.clear();
+            seriesCount = 0;
+            throw new IOException("Truncated price history file " + path, e);
+        }
+    }
+
+    private void readSeries(ByteBuffer buf) {
+        int series = buf.getInt();
+        for (int i = 0; i < series; i++) {
+            byte[] id = new byte[Short.toUnsignedInt(buf.getShort())];
+            buf.get(id);
+            int s = addSeries(new String(id, StandardCharsets.UTF_8));
+            lastMinute[s] = buf.getInt();
+            int n = Math.min(buf.get(), SLOTS);
+            for (int slot = 0; slot < n; slot++) {
+                deltaMinutes[s * SLOTS + slot] = buf.getChar();
+                prices[s * SLOTS + slot] = buf.getFloat();
+            }
+            count[s] = (byte) n;
+            head[s] = (byte) Math.max(n - 1, 0);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.github.kd_gaming1.skyblockenhancements.feature.pricing;
+
+import java.net.URI;
+
+/**
+ * A source of the two price feeds read by {@link PriceFeedParser}.
+ *
+ * <p>Providers only describe where each feed lives; fetching, failover and hedging are
+ * handled by {@link PriceFeedClient}. Any endpoint that serves the same JSON shape as the
+ * default ScamScreener API can be plugged in, including a local stand-in server.
+ */
+public interface PriceProvider {
+
+    /** The feeds a provider serves. */
+    enum Feed {
+        LOWEST_BIN,
+        BAZAAR
+    }
+
+    /** Short name used in logs. */
+    String name();
+
+    /** Endpoint for {@code feed}. */
+    URI uri(Feed feed);
+}
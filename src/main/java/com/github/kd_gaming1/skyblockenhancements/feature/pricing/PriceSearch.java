@@ -0,0 +1,163 @@
+package com.github.kd_gaming1.skyblockenhancements.feature.pricing;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Prefix and token search over every item ID that has ever had a price, used for
+ * {@code /sbe price} suggestions.
+ *
+ * <p>The index is a flattened trie: all IDs sorted once, so the IDs sharing a prefix form
+ * one contiguous range found by two binary searches. A second sorted array holds the
+ * {@code _}-separated tokens of every ID ({@code ENCHANTED}, {@code DIAMOND},
+ * {@code BLOCK}, ...) with a posting list of dictionary IDs each, so {@code "BLOCK"} or
+ * {@code "ench_dia"} also find {@code ENCHANTED_DIAMOND_BLOCK}.
+ *
+ * <p>The dictionary is append-only, so the index is only rebuilt when it grows. That
+ * happens on the publishing thread via a {@link PriceStore.PriceChangeListener}, keeping
+ * each keystroke to a few binary searches.
+ */
+public final class PriceSearch {
+
+    private static final Pattern SEPARATOR = Pattern.compile("[_:;\\-]");
+
+    private final PriceStore store;
+    private volatile Index index = Index.build(ItemIdDictionary.EMPTY);
+
+    public PriceSearch(PriceStore store) {
+        this.store = store;
+        store.addChangeListener((previous, current, changed) -> refresh(current.dictionary()));
+    }
+
+    /**
+     * Returns up to {@code limit} matching IDs: full-ID prefix matches first (alphabetical),
+     * then IDs with a token starting with the query, then IDs whose tokens match each
+     * {@code _}-separated part of the query in order.
+     */
+    public List<String> suggest(String query, int limit) {
+        Index current = refresh(store.snapshot().dictionary());
+        return current.suggest(query.trim().toUpperCase(Locale.ROOT), limit);
+    }
+
+    private Index refresh(ItemIdDictionary dictionary) {
+        Index current = index;
+        if (current.size == dictionary.size()) return current;
+        synchronized (this) {
+            if (index.size != dictionary.size()) {
+                index = Index.build(dictionary);
+            }
+            return index;
+        }
+    }
+
+    // ── Index ───────────────────────────────────────────────────────────────────
+
+    private static final class Index {
+        final int size;
+        final String[] sortedIds;
+        final String[] tokens;
+        final int[][] postings; // dictionary IDs per token, ascending
+        final ItemIdDictionary dictionary;
+
+        private Index(ItemIdDictionary dictionary, String[] sortedIds, String[] tokens, int[][] postings) {
+            this.size = dictionary.size();
+            this.dictionary = dictionary;
+            this.sortedIds = sortedIds;
+            this.tokens = tokens;
+            this.postings = postings;
+        }
+
+        static Index build(ItemIdDictionary dictionary) {
+            int size = dictionary.size();
+            String[] ids = new String[size];
+            Map<String, IntArrayList> byToken = new HashMap<>();
+            for (int id = 0; id < size; id++) {
+                String skyblockId = dictionary.idAt(id);
+                ids[id] = skyblockId;
+                for (String token : SEPARATOR.split(skyblockId)) {
+                    if (token.isEmpty()) continue;
+                    IntArrayList posting = byToken.computeIfAbsent(token, k -> new IntArrayList(4));
+                    // IDs are visited in order, so a repeated token only needs a tail check.
+                    if (posting.isEmpty() || posting.getInt(posting.size() - 1) != id) posting.add(id);
+                }
+            }
+            Arrays.sort(ids);
+
+            String[] tokens = byToken.keySet().toArray(new String[0]);
+            Arrays.sort(tokens);
+            int[][] postings = new int[tokens.length][];
+            for (int t = 0; t < tokens.length; t++) {
+                postings[t] = byToken.get(tokens[t]).toIntArray();
+            }
+            return new Index(dictionary, ids, tokens, postings);
+        }
+
+        List<String> suggest(String query, int limit) {
+            List<String> out = new ArrayList<>(Math.min(limit, 16));
+            if (limit <= 0) return out;
+
+            // 1. Full-ID prefix range.
+            int from = lowerBound(sortedIds, query);
+            for (int i = from; i < sortedIds.length && out.size() < limit && sortedIds[i].startsWith(query); i++) {
+                out.add(sortedIds[i]);
+            }
+            if (out.size() >= limit || query.isEmpty()) return out;
+
+            BitSet seen = new BitSet(size);
+            for (String id : out) seen.set(dictionary.indexOf(id));
+
+            String[] parts = SEPARATOR.split(query);
+            if (parts.length <= 1) {
+                // 2. Any token starting with the query.
+                for (int t = lowerBound(tokens, query); t < tokens.length && tokens[t].startsWith(query); t++) {
+                    for (int id : postings[t]) {
+                        if (seen.get(id)) continue;
+                        seen.set(id);
+                        out.add(dictionary.idAt(id));
+                        if (out.size() >= limit) return out;
+                    }
+                }
+                return out;
+            }
+
+            // 3. Every query part prefixes a token of the ID, in order.
+            String first = parts[0];
+            for (int t = lowerBound(tokens, first); t < tokens.length && tokens[t].startsWith(first); t++) {
+                for (int id : postings[t]) {
+                    if (seen.get(id) || !matchesParts(dictionary.idAt(id), parts)) continue;
+                    seen.set(id);
+                    out.add(dictionary.idAt(id));
+                    if (out.size() >= limit) return out;
+                }
+            }
+            return out;
+        }
+
+        private static boolean matchesParts(String skyblockId, String[] parts) {
+            String[] idTokens = SEPARATOR.split(skyblockId);
+            int p = 0;
+            for (int i = 0; i < idTokens.length && p < parts.length; i++) {
+                if (parts[p].isEmpty() || idTokens[i].startsWith(parts[p])) p++;
+            }
+            return p == parts.length;
+        }
+
+        private static int lowerBound(String[] sorted, String key) {
+            int lo = 0;
+            int hi = sorted.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (sorted[mid].compareTo(key) < 0) lo = mid + 1;
+                else hi = mid;
+            }
+            return lo;
+        }
+    }
+}
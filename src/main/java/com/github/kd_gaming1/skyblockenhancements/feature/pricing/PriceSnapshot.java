@@ -0,0 +1,316 @@
+package com.github.kd_gaming1.skyblockenhancements.feature.pricing;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * One immutable generation of price data: lowest-BIN and bazaar buy/sell/spread together.
+ *
+ * <p>Snapshots are assembled off-thread by {@link PriceDataFetcher} through a {@link Builder}
+ * and handed to {@link PriceStore#publish}, which swaps them in with a single reference write.
+ * Readers grab the current snapshot once and see one consistent generation without locking.
+ *
+ * <p>Prices are stored as parallel {@code double[]} columns indexed by the dense IDs of an
+ * {@link ItemIdDictionary}. Callers resolve the SkyBlock ID once with {@link #indexOf} and then
+ * read any column without hashing or boxing. Missing values are {@link Double#NaN}.
+ *
+ * <p>Every snapshot also records which IDs differ from the generation it replaced, plus the
+ * generation in which each ID last changed, so caches can invalidate per item instead of
+ * dropping everything on each refresh.
+ */
+public final class PriceSnapshot {
+
+    /** Generation 0: no price data has been published yet. */
+    public static final PriceSnapshot EMPTY = new PriceSnapshot(
+            0L, ItemIdDictionary.EMPTY, new double[0], new double[0], new double[0], new double[0], 0, 0,
+            new long[0], new BitSet());
+
+    private final long generation;
+    private final ItemIdDictionary dictionary;
+
+    private final double[] lowestBin;
+    // A product that is listed on the bazaar always has a buy value (0 if the API omitted it),
+    // so a NaN buy price doubles as "not a bazaar product".
+    private final double[] bazaarBuy;
+    private final double[] bazaarSell;
+    private final double[] bazaarSpread;
+
+    private final int lowestBinCount;
+    private final int bazaarCount;
+
+    /** Generation in which each ID's prices last changed. */
+    private final long[] changedAt;
+    /** IDs whose prices differ from the previous generation. Never mutated after construction. */
+    private final BitSet changedIds;
+
+    private PriceSnapshot(long generation, ItemIdDictionary dictionary,
+                          double[] lowestBin, double[] bazaarBuy, double[] bazaarSell, double[] bazaarSpread,
+                          int lowestBinCount, int bazaarCount, long[] changedAt, BitSet changedIds) {
+        this.generation = generation;
+        this.dictionary = dictionary;
+        this.lowestBin = lowestBin;
+        this.bazaarBuy = bazaarBuy;
+        this.bazaarSell = bazaarSell;
+        this.bazaarSpread = bazaarSpread;
+        this.lowestBinCount = lowestBinCount;
+        this.bazaarCount = bazaarCount;
+        this.changedAt = changedAt;
+        this.changedIds = changedIds;
+    }
+
+    /** Monotonically increasing version, bumped on every publish. */
+    public long generation() {
+        return generation;
+    }
+
+    public ItemIdDictionary dictionary() {
+        return dictionary;
+    }
+
+    /** Resolves a SkyBlock ID to its dense ID, or {@link ItemIdDictionary#NO_ID}. */
+    public int indexOf(String skyblockId) {
+        return dictionary.indexOf(skyblockId);
+    }
+
+    // ── Column reads ────────────────────────────────────────────────────────────
+
+    /** Lowest BIN for {@code id}, or {@code NaN} if the item has no auction listing. */
+    public double lowestBin(int id) {
+        return inRange(id) ? lowestBin[id] : Double.NaN;
+    }
+
+    public boolean hasLowestBin(int id) {
+        return !Double.isNaN(lowestBin(id));
+    }
+
+    public boolean hasBazaar(int id) {
+        return !Double.isNaN(bazaarBuy(id));
+    }
+
+    /** Bazaar buy price for {@code id}, or {@code NaN} if the item is not a bazaar product. */
+    public double bazaarBuy(int id) {
+        return inRange(id) ? bazaarBuy[id] : Double.NaN;
+    }
+
+    public double bazaarSell(int id) {
+        return inRange(id) ? bazaarSell[id] : Double.NaN;
+    }
+
+    public double bazaarSpread(int id) {
+        return inRange(id) ? bazaarSpread[id] : Double.NaN;
+    }
+
+    /** Boxed convenience view of the three bazaar columns, or {@code null} if not a product. */
+    public BazaarPrice bazaar(int id) {
+        if (!hasBazaar(id)) return null;
+        return new BazaarPrice(bazaarBuy[id], bazaarSell[id], bazaarSpread[id]);
+    }
+
+    public int lowestBinCount() {
+        return lowestBinCount;
+    }
+
+    public int bazaarCount() {
+        return bazaarCount;
+    }
+
+    public boolean isEmpty() {
+        return lowestBinCount == 0 && bazaarCount == 0;
+    }
+
+    // ── Change tracking ─────────────────────────────────────────────────────────
+
+    /**
+     * Generation in which any price of {@code id} last changed, or {@code 0} if it never had one.
+     * Something derived from {@code id} at generation {@code g} is still current while
+     * {@code lastChanged(id) <= g}.
+     */
+    public long lastChanged(int id) {
+        return inRange(id) ? changedAt[id] : 0L;
+    }
+
+    /** {@code true} if {@code id}'s prices differ from the previous generation. */
+    public boolean isChanged(int id) {
+        return id >= 0 && changedIds.get(id);
+    }
+
+    /** Number of IDs whose prices differ from the previous generation. */
+    public int changedCount() {
+        return changedIds.cardinality();
+    }
+
+    /** Returns a copy of the IDs whose prices differ from the previous generation. */
+    public BitSet changedIds() {
+        return (BitSet) changedIds.clone();
+    }
+
+    private boolean inRange(int id) {
+        return id >= 0 && id < dictionary.size();
+    }
+
+    /**
+     * Starts a new generation that carries over {@code previous}'s sections until they are
+     * replaced, so a failed bazaar fetch does not wipe out freshly fetched lowest-BIN data.
+     */
+    public static Builder builder(PriceSnapshot previous) {
+        return new Builder(previous);
+    }
+
+    // ── Builder ─────────────────────────────────────────────────────────────────
+
+    /**
+     * Collects the sections of the next snapshot. The fetcher streams both feeds into the
+     * same builder concurrently, so every method is synchronized; only the finished
+     * snapshot is shared with readers.
+     *
+     * <p>Each section is staged into a fresh column between {@code begin…} and {@code commit…}.
+     * A fetch that fails half-way simply never commits, leaving the previous values in place.
+     */
+    public static final class Builder {
+        private static final int INITIAL_CAPACITY = 1024;
+
+        private final ItemIdDictionary.Builder dictionary;
+
+        private double[] lowestBin;
+        private double[] bazaarBuy;
+        private double[] bazaarSell;
+        private double[] bazaarSpread;
+        private int lowestBinCount;
+        private int bazaarCount;
+
+        // Staging columns; non-null only while a section is being written.
+        private double[] stagedLowestBin;
+        private double[] stagedBuy;
+        private double[] stagedSell;
+        private double[] stagedSpread;
+        private int stagedLowestBinCount;
+        private int stagedBazaarCount;
+
+        private boolean dirty;
+
+        private Builder(PriceSnapshot previous) {
+            this.dictionary = new ItemIdDictionary.Builder(previous.dictionary);
+            int capacity = Math.max(previous.dictionary.size(), INITIAL_CAPACITY);
+            this.lowestBin = grow(previous.lowestBin, capacity);
+            this.bazaarBuy = grow(previous.bazaarBuy, capacity);
+            this.bazaarSell = grow(previous.bazaarSell, capacity);
+            this.bazaarSpread = grow(previous.bazaarSpread, capacity);
+            this.lowestBinCount = previous.lowestBinCount;
+            this.bazaarCount = previous.bazaarCount;
+        }
+
+        // ── Lowest BIN ──
+
+        public synchronized void beginLowestBin() {
+            stagedLowestBin = grow(new double[0], lowestBin.length);
+            stagedLowestBinCount = 0;
+        }
+
+        public synchronized void putLowestBin(String skyblockId, double price) {
+            int id = intern(skyblockId);
+            if (Double.isNaN(stagedLowestBin[id])) stagedLowestBinCount++;
+            stagedLowestBin[id] = price;
+        }
+
+        /** Replaces the lowest-BIN section with everything put since {@link #beginLowestBin}. */
+        public synchronized void commitLowestBin() {
+            lowestBin = stagedLowestBin;
+            lowestBinCount = stagedLowestBinCount;
+            stagedLowestBin = null;
+            dirty = true;
+        }
+
+        // ── Bazaar ──
+
+        public synchronized void beginBazaar() {
+            stagedBuy = grow(new double[0], bazaarBuy.length);
+            stagedSell = grow(new double[0], bazaarBuy.length);
+            stagedSpread = grow(new double[0], bazaarBuy.length);
+            stagedBazaarCount = 0;
+        }
+
+        /** Records one bazaar product. Components the API omitted should be passed as {@code 0}. */
+        public synchronized void putBazaar(String skyblockId, double buy, double sell, double spread) {
+            int id = intern(skyblockId);
+            if (Double.isNaN(stagedBuy[id])) stagedBazaarCount++;
+            stagedBuy[id] = buy;
+            stagedSell[id] = sell;
+            stagedSpread[id] = spread;
+        }
+
+        /** Replaces the bazaar section with everything put since {@link #beginBazaar}. */
+        public synchronized void commitBazaar() {
+            bazaarBuy = stagedBuy;
+            bazaarSell = stagedSell;
+            bazaarSpread = stagedSpread;
+            bazaarCount = stagedBazaarCount;
+            stagedBuy = stagedSell = stagedSpread = null;
+            dirty = true;
+        }
+
+        /** {@code true} once at least one section has been committed. */
+        public synchronized boolean isDirty() {
+            return dirty;
+        }
+
+        /**
+         * Freezes the builder into generation {@code generation}, diffing every column
+         * against {@code previous} (the snapshot being replaced) to find the changed IDs.
+         */
+        synchronized PriceSnapshot build(long generation, PriceSnapshot previous) {
+            int size = dictionary.size();
+            double[] lowestBin = Arrays.copyOf(this.lowestBin, size);
+            double[] buy = Arrays.copyOf(bazaarBuy, size);
+            double[] sell = Arrays.copyOf(bazaarSell, size);
+            double[] spread = Arrays.copyOf(bazaarSpread, size);
+
+            long[] changedAt = Arrays.copyOf(previous.changedAt, size);
+            BitSet changed = new BitSet(size);
+            for (int id = 0; id < size; id++) {
+                if (!same(lowestBin[id], previous.lowestBin(id))
+                        || !same(buy[id], previous.bazaarBuy(id))
+                        || !same(sell[id], previous.bazaarSell(id))
+                        || !same(spread[id], previous.bazaarSpread(id))) {
+                    changed.set(id);
+                    changedAt[id] = generation;
+                }
+            }
+
+            return new PriceSnapshot(generation, dictionary.build(), lowestBin, buy, sell, spread,
+                    lowestBinCount, bazaarCount, changedAt, changed);
+        }
+
+        // ── Internals ──
+
+        /** Assigns (or returns) the dense ID of {@code skyblockId} without writing any price. */
+        synchronized int intern(String skyblockId) {
+            int id = dictionary.intern(skyblockId);
+            if (id >= lowestBin.length) {
+                int capacity = lowestBin.length * 2;
+                lowestBin = grow(lowestBin, capacity);
+                bazaarBuy = grow(bazaarBuy, capacity);
+                bazaarSell = grow(bazaarSell, capacity);
+                bazaarSpread = grow(bazaarSpread, capacity);
+                if (stagedLowestBin != null) stagedLowestBin = grow(stagedLowestBin, capacity);
+                if (stagedBuy != null) {
+                    stagedBuy = grow(stagedBuy, capacity);
+                    stagedSell = grow(stagedSell, capacity);
+                    stagedSpread = grow(stagedSpread, capacity);
+                }
+            }
+            return id;
+        }
+
+        /** Bitwise comparison so that {@code NaN} (missing) equals {@code NaN}. */
+        private static boolean same(double a, double b) {
+            return Double.doubleToLongBits(a) == Double.doubleToLongBits(b);
+        }
+
+        /** Copies {@code column} into a new array of {@code capacity}, padding with {@code NaN}. */
+        private static double[] grow(double[] column, int capacity) {
+            double[] out = Arrays.copyOf(column, capacity);
+            Arrays.fill(out, column.length, capacity, Double.NaN);
+            return out;
+        }
+    }
+}
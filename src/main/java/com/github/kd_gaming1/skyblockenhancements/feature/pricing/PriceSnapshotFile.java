@@ -0,0 +1,128 @@
+package com.github.kd_gaming1.skyblockenhancements.feature.pricing;
+
+import com.github.kd_gaming1.skyblockenhancements.repo.io.AtomicFileWriter;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.CRC32;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Persists the last successfully fetched {@link PriceSnapshot} so prices are available
+ * immediately on the next launch, before the first live refresh completes.
+ *
+ * <p>Layout (big-endian):
+ * <pre>
+ *   int    magic "SBEP"
+ *   int    format version
+ *   long   fetchedAt (epoch millis)
+ *   int    item count N
+ *   N ×    (short length, UTF-8 bytes)      item IDs in dictionary order
+ *   4 × N  double                           lowestBin, bazaarBuy, bazaarSell, bazaarSpread
+ *   int    CRC32 of everything above
+ * </pre>
+ * Writes go through {@link AtomicFileWriter}; reads load the file into a heap buffer and
+ * bulk-copy the columns. The file is never memory-mapped: a live mapping would stop the next
+ * write from replacing it on Windows. A wrong magic, version or checksum is treated as
+ * "no snapshot".
+ */
+public final class PriceSnapshotFile {
+
+    private static final int MAGIC = 0x53424550; // "SBEP"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 4 + 4 + 8 + 4;
+
+    private final Path path;
+
+    public PriceSnapshotFile(Path path) {
+        this.path = path;
+    }
+
+    /** A snapshot read back from disk, ready to be published. */
+    public record Loaded(PriceSnapshot.Builder snapshot, long fetchedAt) {}
+
+    // ── Write ───────────────────────────────────────────────────────────────────
+
+    public void write(PriceSnapshot snapshot, long fetchedAt) throws IOException {
+        ItemIdDictionary dictionary = snapshot.dictionary();
+        int size = dictionary.size();
+
+        byte[][] ids = new byte[size][];
+        int idBytes = 0;
+        for (int i = 0; i < size; i++) {
+            ids[i] = dictionary.idAt(i).getBytes(StandardCharsets.UTF_8);
+            idBytes += 2 + ids[i].length;
+        }
+
+        ByteBuffer buf = ByteBuffer.allocate(HEADER_BYTES + idBytes + 4 * size * Double.BYTES + 4);
+        buf.putInt(MAGIC).putInt(VERSION).putLong(fetchedAt).putInt(size);
+        for (byte[] id : ids) {
+            buf.putShort((short) id.length).put(id);
+        }
+        for (int i = 0; i < size; i++) buf.putDouble(snapshot.lowestBin(i));
+        for (int i = 0; i < size; i++) buf.putDouble(snapshot.bazaarBuy(i));
+        for (int i = 0; i < size; i++) buf.putDouble(snapshot.bazaarSell(i));
+        for (int i = 0; i < size; i++) buf.putDouble(snapshot.bazaarSpread(i));
+
+        CRC32 crc = new CRC32();
+        crc.update(buf.array(), 0, buf.position());
+        buf.putInt((int) crc.getValue());
+
+        AtomicFileWriter.writeBytes(path, buf.array());
+    }
+
+    // ── Read ────────────────────────────────────────────────────────────────────
+
+    /**
+     * Reads the snapshot file and rebuilds it into a fresh builder.
+     *
+     * @return the loaded snapshot, or {@code null} if the file is missing or unusable
+     */
+    @Nullable
+    public Loaded read() throws IOException {
+        if (!Files.isRegularFile(path)) return null;
+
+        ByteBuffer buf = ByteBuffer.wrap(Files.readAllBytes(path));
+        int length = buf.capacity();
+        if (length < HEADER_BYTES + 4) return null;
+        if (buf.getInt() != MAGIC || buf.getInt() != VERSION) return null;
+
+        CRC32 crc = new CRC32();
+        crc.update(buf.array(), 0, length - 4);
+        if (buf.getInt(length - 4) != (int) crc.getValue()) return null;
+
+        long fetchedAt = buf.getLong();
+        int size = buf.getInt();
+
+        String[] ids = new String[size];
+        for (int i = 0; i < size; i++) {
+            byte[] id = new byte[Short.toUnsignedInt(buf.getShort())];
+            buf.get(id);
+            ids[i] = new String(id, StandardCharsets.UTF_8);
+        }
+
+        double[] lowestBin = new double[size];
+        double[] buy = new double[size];
+        double[] sell = new double[size];
+        double[] spread = new double[size];
+        buf.asDoubleBuffer().get(lowestBin).get(buy).get(sell).get(spread);
+
+        // Re-interning in file order reproduces the original dense IDs.
+        PriceSnapshot.Builder next = PriceSnapshot.builder(PriceSnapshot.EMPTY);
+        for (String id : ids) next.intern(id);
+        next.beginLowestBin();
+        for (int i = 0; i < size; i++) {
+            if (!Double.isNaN(lowestBin[i])) next.putLowestBin(ids[i], lowestBin[i]);
+        }
+        next.commitLowestBin();
+        next.beginBazaar();
+        for (int i = 0; i < size; i++) {
+            if (!Double.isNaN(buy[i])) next.putBazaar(ids[i], buy[i], sell[i], spread[i]);
+        }
+        next.commitBazaar();
+
+        return new Loaded(next, fetchedAt);
+    }
+}
@@ -1,9 +1,12 @@
 package com.github.kd_gaming1.skyblockenhancements.feature.pricing;
 
+import static com.github.kd_gaming1.skyblockenhancements.SkyblockEnhancements.LOGGER;
+import it.unimi.dsi.fastutil.longs.Long2ObjectLinkedOpenHashMap;
+import java.util.BitSet;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
 import net.minecraft.network.chat.Component;
 
 /**
@@ -11,39 +14,48 @@ import net.minecraft.network.chat.Component;
  *
  * <p>Separated from {@link PriceDataFetcher} so the fetcher can be replaced
  * with a mock in tests while the store (and its caches) remain inspectable.
+ *
+ * <p>Prices live in a single immutable {@link PriceSnapshot}. A refresh builds the next
+ * snapshot off-thread and {@link #publish}es it with one reference swap, so readers never
+ * observe half-filled maps and need no locking. Each publish diffs against the previous
+ * generation and tells {@link PriceChangeListener}s which item IDs actually changed.
  */
 public final class PriceStore {
 
-    private final Map<String, Double> lowestBinPrices = new ConcurrentHashMap<>(4096);
-    private final Map<String, Double> bazaarBuyPrices = new ConcurrentHashMap<>(1024);
-    private final Map<String, Double> bazaarSellPrices = new ConcurrentHashMap<>(1024);
-    private final Map<String, Double> bazaarSpreadPrices = new ConcurrentHashMap<>(1024);
+    private final AtomicReference<PriceSnapshot> snapshot = new AtomicReference<>(PriceSnapshot.EMPTY);
 
     private volatile long lastFetchTimestamp;
     private volatile boolean lastFetchFailed;
+    /** {@code true} while the visible prices were restored from disk rather than fetched live. */
+    private volatile boolean restoredFromDisk;
+
+    private final List<PriceChangeListener> changeListeners = new CopyOnWriteArrayList<>();
 
-    /** Tooltip-line cache keyed by SkyBlock internal item ID. */
-    private final Map<String, PriceCacheEntry> tooltipCache = new ConcurrentHashMap<>(128);
-    private static final long CACHE_TTL_MS = 30_000L;
+    /** LRU tooltip-line cache keyed by dictionary ID and multiplier. Render thread only. */
+    private static final int TOOLTIP_CACHE_MAX_ENTRIES = 256;
+    private final Long2ObjectLinkedOpenHashMap<PriceCacheEntry> tooltipCache =
+            new Long2ObjectLinkedOpenHashMap<>(TOOLTIP_CACHE_MAX_ENTRIES + 1);
 
     // ── Price lookups ──────────────────────────────────────────────────────────
 
+    /** Returns the current price generation. Hold on to it to read several prices consistently. */
+    public PriceSnapshot snapshot() {
+        return snapshot.get();
+    }
+
+    /**
+     * Boxed convenience lookup. Hot paths should resolve the dense ID once via
+     * {@link PriceSnapshot#indexOf} and read the primitive columns instead.
+     */
     public Optional<Double> getLowestBin(String skyblockId) {
-        if (skyblockId == null) return Optional.empty();
-        Double price = lowestBinPrices.get(skyblockId);
-        return price != null ? Optional.of(price) : Optional.empty();
+        PriceSnapshot current = snapshot.get();
+        int id = current.indexOf(skyblockId);
+        return current.hasLowestBin(id) ? Optional.of(current.lowestBin(id)) : Optional.empty();
     }
 
     public Optional<BazaarPrice> getBazaarPrice(String skyblockId) {
-        if (skyblockId == null) return Optional.empty();
-        Double buy = bazaarBuyPrices.get(skyblockId);
-        Double sell = bazaarSellPrices.get(skyblockId);
-        Double spread = bazaarSpreadPrices.get(skyblockId);
-        if (buy == null && sell == null && spread == null) return Optional.empty();
-        return Optional.of(new BazaarPrice(
-                buy != null ? buy : 0.0,
-                sell != null ? sell : 0.0,
-                spread != null ? spread : 0.0));
+        PriceSnapshot current = snapshot.get();
+        return Optional.ofNullable(current.bazaar(current.indexOf(skyblockId)));
     }
 
     public boolean hasData() {
@@ -55,6 +67,14 @@ public final class PriceStore {
         return lastFetchFailed;
     }
 
+    /**
+     * Returns true while prices come from the on-disk snapshot of a previous session
+     * and no live refresh has landed yet.
+     */
+    public boolean isRestoredFromDisk() {
+        return restoredFromDisk;
+    }
+
     /** Clears the failure flag before a new fetch attempt. */
     public void clearFetchFailed() {
         this.lastFetchFailed = false;
@@ -65,24 +85,80 @@ public final class PriceStore {
         this.lastFetchFailed = true;
     }
 
-    // ── Bulk updates (called by fetcher) ───────────────────────────────────────
+    // ── Publishing (called by fetcher) ─────────────────────────────────────────
+
+    /**
+     * Atomically replaces the current snapshot with the one assembled in {@code next},
+     * stamping it with the following generation number.
+     *
+     * @return the snapshot that is now visible to readers
+     */
+    public PriceSnapshot publish(PriceSnapshot.Builder next) {
+        PriceSnapshot previous;
+        PriceSnapshot current;
+        do {
+            previous = snapshot.get();
+            current = next.build(previous.generation() + 1, previous);
+        } while (!snapshot.compareAndSet(previous, current));
+
+        notifyChanged(previous, current);
+        return current;
+    }
+
+    // ── Change listeners ───────────────────────────────────────────────────────
+
+    /**
+     * Receives the item IDs whose prices changed in a newly published generation.
+     * Called on the publishing thread (usually the price-fetch thread), so listeners
+     * that touch render state should only record what changed and apply it later.
+     */
+    @FunctionalInterface
+    public interface PriceChangeListener {
+        /**
+         * @param changedIds dictionary IDs that differ between {@code previous} and
+         *                   {@code current}; shared between listeners and must not be modified
+         */
+        void onPricesChanged(PriceSnapshot previous, PriceSnapshot current, BitSet changedIds);
+    }
+
+    /** Registers a listener fired after every publish that changed at least one price. */
+    public void addChangeListener(PriceChangeListener listener) {
+        changeListeners.add(listener);
+    }
 
-    public void updateLowestBin(Map<String, Double> prices) {
-        lowestBinPrices.clear();
-        lowestBinPrices.putAll(prices);
+    public void removeChangeListener(PriceChangeListener listener) {
+        changeListeners.remove(listener);
+    }
+
+    private void notifyChanged(PriceSnapshot previous, PriceSnapshot current) {
+        if (current.changedCount() == 0 || changeListeners.isEmpty()) return;
+
+        BitSet changed = current.changedIds();
+        for (PriceChangeListener listener : changeListeners) {
+            try {
+                listener.onPricesChanged(previous, current, changed);
+            } catch (Exception e) {
+                // Never let a listener break publishing.
+                LOGGER.warn("Price change listener failed", e);
+            }
+        }
     }
 
-    public void updateBazaar(Map<String, Double> buyPrices, Map<String, Double> sellPrices, Map<String, Double> spreadPrices) {
-        bazaarBuyPrices.clear();
-        bazaarBuyPrices.putAll(buyPrices);
-        bazaarSellPrices.clear();
-        bazaarSellPrices.putAll(sellPrices);
-        bazaarSpreadPrices.clear();
-        bazaarSpreadPrices.putAll(spreadPrices);
+    /**
+     * Publishes a snapshot loaded from disk, unless live data has already arrived.
+     * The store reports {@link #hasData()} immediately but stays marked as restored
+     * until the next {@link #setLastFetchTimestamp} from a live refresh.
+     */
+    public void restore(PriceSnapshot.Builder loaded, long fetchedAt) {
+        if (hasData()) return;
+        publish(loaded);
+        this.restoredFromDisk = true;
+        this.lastFetchTimestamp = fetchedAt;
     }
 
     public void setLastFetchTimestamp(long timestamp) {
         this.lastFetchTimestamp = timestamp;
+        this.restoredFromDisk = false;
     }
 
     public long getLastFetchTimestamp() {
@@ -91,26 +167,42 @@ public final class PriceStore {
 
     // ── Tooltip cache ──────────────────────────────────────────────────────────
 
-    public Optional<PriceCacheEntry> getTooltipCache(String skyblockId) {
-        PriceCacheEntry entry = tooltipCache.get(skyblockId);
-        if (entry == null) return Optional.empty();
-        if (System.currentTimeMillis() - entry.timestamp() > CACHE_TTL_MS) {
-            tooltipCache.remove(skyblockId);
-            return Optional.empty();
-        }
-        return Optional.of(entry);
+    /**
+     * Returns cached tooltip lines for an item/multiplier pair, or {@code null} on a miss.
+     *
+     * <p>Entries are stamped with the price generation they were built from and the caller's
+     * {@code variant} (settings and other non-price inputs). An entry stays valid across
+     * refreshes until that item's prices actually change ({@link PriceSnapshot#lastChanged})
+     * or the variant differs, so no wall-clock TTL is needed. A hit moves the entry to the
+     * most-recently-used end without allocating.
+     *
+     * <p>Only called from the render thread.
+     */
+    public List<Component> getTooltipLines(int itemId, int multiplier, long variant) {
+        PriceCacheEntry entry = tooltipCache.getAndMoveToLast(cacheKey(itemId, multiplier));
+        if (entry == null) return null;
+        if (snapshot.get().lastChanged(itemId) > entry.generation() || entry.variant() != variant) return null;
+        return entry.lines();
     }
 
-    public void putTooltipCache(String skyblockId, PriceCacheEntry entry) {
-        tooltipCache.put(skyblockId, entry);
+    /** Caches lines built against {@code generation}, evicting the least recently used entry when full. */
+    public void putTooltipLines(int itemId, int multiplier, long variant, long generation, List<Component> lines) {
+        tooltipCache.putAndMoveToLast(cacheKey(itemId, multiplier), new PriceCacheEntry(lines, generation, variant));
+        if (tooltipCache.size() > TOOLTIP_CACHE_MAX_ENTRIES) {
+            tooltipCache.removeFirst();
+        }
     }
 
     public void clearTooltipCache() {
         tooltipCache.clear();
     }
 
+    private static long cacheKey(int itemId, int multiplier) {
+        return ((long) itemId << 32) | (multiplier & 0xFFFFFFFFL);
+    }
+
     // ── Cache entry ────────────────────────────────────────────────────────────
 
-    public record PriceCacheEntry(List<Component> lines, long timestamp) {
+    private record PriceCacheEntry(List<Component> lines, long generation, long variant) {
     }
 }
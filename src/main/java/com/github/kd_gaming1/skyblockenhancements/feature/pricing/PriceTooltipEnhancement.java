@@ -1,15 +1,10 @@
 package com.github.kd_gaming1.skyblockenhancements.feature.pricing;
 
 import com.github.kd_gaming1.skyblockenhancements.config.ModSettings;
-import java.math.BigDecimal;
-import java.math.RoundingMode;
-import java.text.DecimalFormat;
-import java.text.DecimalFormatSymbols;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Locale;
-import java.util.Optional;
 
+import com.github.kd_gaming1.skyblockenhancements.util.CoinFormat;
 import com.github.kd_gaming1.skyblockenhancements.util.HypixelLocationState;
 import com.github.kd_gaming1.skyblockenhancements.util.LogicalStackSize;
 import com.github.kd_gaming1.skyblockenhancements.util.SkyblockItemUtil;
@@ -29,30 +24,38 @@ import net.minecraft.world.item.TooltipFlag;
  * small gray hint lines display the currently-bound keys so the feature is discoverable.
  * A ticker-text option makes the coin value bold for better visibility, and an
  * optional formatting toggle can show the raw full number instead of rounded shorthand.
+ * A trend line shows how the price moved over the last 24 hours, read from the
+ * precomputed column in {@link PriceHistoryStore}, and a craft cost line shows what
+ * the item costs to craft from its cheapest ingredients, precomputed by {@link CraftCostEngine}.
  *
  * <p>When the API is down or data hasn't loaded yet, shows "Can't load data"
- * instead of hiding the price section entirely.
+ * instead of hiding the price section entirely. Prices restored from the previous
+ * session are shown with a stale-data banner until the first live refresh lands.
  *
  * <p>Instance-based: created once during mod init and wired with {@link ModSettings}
  * and {@link PriceStore}.
  */
 public final class PriceTooltipEnhancement {
 
-    private static final DecimalFormat COIN_FORMAT;
     private static final int FULL_STACK_SIZE = 64;
 
-    static {
-        DecimalFormatSymbols symbols = new DecimalFormatSymbols(Locale.US);
-        symbols.setGroupingSeparator(',');
-        COIN_FORMAT = new DecimalFormat("#,##0.#", symbols);
-    }
-
     private final ModSettings settings;
     private final PriceStore store;
+    private final PriceHistoryStore history;
+    private final CraftCostEngine craftCosts;
+
+    // Last hint line and the inputs it was built from. Render thread only.
+    private Component hintLine;
+    private String hintCtrlKey;
+    private String hintShiftKey;
+    private long hintStack = -1;
 
-    public PriceTooltipEnhancement(ModSettings settings, PriceStore store) {
+    public PriceTooltipEnhancement(ModSettings settings, PriceStore store, PriceHistoryStore history,
+                                   CraftCostEngine craftCosts) {
         this.settings = settings;
         this.store = store;
+        this.history = history;
+        this.craftCosts = craftCosts;
     }
 
     /** Registers the tooltip callback. Call once during mod init. */
@@ -70,15 +73,19 @@ public final class PriceTooltipEnhancement {
         String skyblockId = SkyblockItemUtil.getPriceLookupId(stack);
         if (skyblockId == null) return;
 
+        // Resolve the dense ID once; every price read below is a primitive array access.
+        PriceSnapshot snapshot = store.snapshot();
+        int itemId = snapshot.indexOf(skyblockId);
+
         // Pass existing tooltip lines so Bazaar order amounts can be parsed
         long logicalSize = LogicalStackSize.getLogicalStackSize(stack, lines);
         int multiplier = computeMultiplier(stack, logicalSize);
         boolean tickerText = settings.enablePriceTickerText();
 
-        List<Component> priceLines = resolvePriceLines(skyblockId, multiplier, tickerText);
+        List<Component> priceLines = resolvePriceLines(snapshot, itemId, multiplier, tickerText);
         if (!priceLines.isEmpty()) {
             lines.addAll(priceLines);
-            if (!store.isLastFetchFailed() && store.hasData() && store.getBazaarPrice(skyblockId).isPresent()) {
+            if (!store.isLastFetchFailed() && store.hasData() && snapshot.hasBazaar(itemId)) {
                 appendHintLines(lines, logicalSize);
             }
         }
@@ -118,103 +125,160 @@ public final class PriceTooltipEnhancement {
     /**
      * Appends subtle gray hint lines when a modifier is available but not held.
      * Uses the player's actual bound key names so hints remain accurate after rebinding.
-     * Each hint is on its own line.
+     * The hint only changes with the held keys, bindings and stack size, so the last
+     * built line is reused while those stay the same.
      */
-    private static void appendHintLines(List<Component> lines, long stack) {
-        boolean ctrlHeld = PriceTooltipKeybinds.isFullStackHeld();
-        boolean shiftHeld = PriceTooltipKeybinds.isCurrentAmountHeld();
-
-        String ctrlKey = PriceTooltipKeybinds.getFullStackKeyName();
-        String shiftKey = PriceTooltipKeybinds.getCurrentAmountKeyName();
+    private void appendHintLines(List<Component> lines, long stack) {
+        String ctrlKey = PriceTooltipKeybinds.isFullStackHeld() ? "" : PriceTooltipKeybinds.getFullStackKeyName();
+        String shiftKey = PriceTooltipKeybinds.isCurrentAmountHeld() ? "" : PriceTooltipKeybinds.getCurrentAmountKeyName();
+
+        // Key names are cached strings, so identity comparison is enough here.
+        if (ctrlKey != hintCtrlKey || shiftKey != hintShiftKey || stack != hintStack) {
+            hintLine = buildHintLine(ctrlKey, shiftKey, stack);
+            hintCtrlKey = ctrlKey;
+            hintShiftKey = shiftKey;
+            hintStack = stack;
+        }
+        if (hintLine != null) lines.add(hintLine);
+    }
 
-        boolean showCtrlHint = !ctrlHeld && !ctrlKey.isEmpty();
-        boolean showShiftHint = !shiftHeld && !shiftKey.isEmpty();
+    /** Builds the hint for the keys that are not held; an empty name means "no hint". */
+    private static Component buildHintLine(String ctrlKey, String shiftKey, long stack) {
+        boolean showCtrlHint = !ctrlKey.isEmpty();
+        boolean showShiftHint = !shiftKey.isEmpty();
 
         String shiftHintText = (stack == 1) ? " for x" + FULL_STACK_SIZE : " for x" + stack;
 
         if (showCtrlHint && showShiftHint) {
-            lines.add(Component.literal("Hold ").withStyle(ChatFormatting.DARK_GRAY)
+            return Component.literal("Hold ").withStyle(ChatFormatting.DARK_GRAY)
                     .append(Component.literal(ctrlKey).withStyle(ChatFormatting.GRAY))
                     .append(Component.literal(" for x" + FULL_STACK_SIZE + ", ").withStyle(ChatFormatting.DARK_GRAY))
                     .append(Component.literal(shiftKey).withStyle(ChatFormatting.GRAY))
-                    .append(Component.literal(shiftHintText).withStyle(ChatFormatting.DARK_GRAY)));
+                    .append(Component.literal(shiftHintText).withStyle(ChatFormatting.DARK_GRAY));
         } else if (showCtrlHint) {
-            lines.add(Component.literal("Hold ").withStyle(ChatFormatting.DARK_GRAY)
+            return Component.literal("Hold ").withStyle(ChatFormatting.DARK_GRAY)
                     .append(Component.literal(ctrlKey).withStyle(ChatFormatting.GRAY))
-                    .append(Component.literal(" for x" + FULL_STACK_SIZE).withStyle(ChatFormatting.DARK_GRAY)));
+                    .append(Component.literal(" for x" + FULL_STACK_SIZE).withStyle(ChatFormatting.DARK_GRAY));
         } else if (showShiftHint) {
-            lines.add(Component.literal("Hold ").withStyle(ChatFormatting.DARK_GRAY)
+            return Component.literal("Hold ").withStyle(ChatFormatting.DARK_GRAY)
                     .append(Component.literal(shiftKey).withStyle(ChatFormatting.GRAY))
-                    .append(Component.literal(shiftHintText).withStyle(ChatFormatting.DARK_GRAY)));
+                    .append(Component.literal(shiftHintText).withStyle(ChatFormatting.DARK_GRAY));
         }
+        return null;
     }
 
     // ── Cache resolution ──────────────────────────────────────────────────────
 
     /**
      * Returns cached price lines when available, otherwise builds and caches them.
-     * A composite cache key is used so that different multipliers or ticker-text
-     * states do not pollute the default cache entry.
+     * Entries are keyed by dictionary ID and multiplier and only rebuilt when that item's
+     * prices change or {@link #cacheVariant} differs, so a refresh that leaves an item's
+     * price untouched keeps its lines.
      */
-    private List<Component> resolvePriceLines(String skyblockId, int multiplier, boolean tickerText) {
-        String cacheKey = buildCacheKey(skyblockId, multiplier, tickerText);
+    private List<Component> resolvePriceLines(PriceSnapshot snapshot, int itemId, int multiplier, boolean tickerText) {
+        long variant = cacheVariant(itemId, tickerText);
 
-        Optional<PriceStore.PriceCacheEntry> cached = store.getTooltipCache(cacheKey);
-        if (cached.isPresent()) {
-            return cached.get().lines();
+        List<Component> cached = store.getTooltipLines(itemId, multiplier, variant);
+        if (cached != null) {
+            return cached;
         }
 
-        List<Component> lines = buildPriceLines(skyblockId, multiplier, tickerText);
-        if (!lines.isEmpty()) {
-            store.putTooltipCache(cacheKey, new PriceStore.PriceCacheEntry(lines, System.currentTimeMillis()));
-        }
+        List<Component> lines = buildPriceLines(snapshot, itemId, multiplier, tickerText);
+        store.putTooltipLines(itemId, multiplier, variant, snapshot.generation(), lines);
         return lines;
     }
 
-    private String buildCacheKey(String skyblockId, int multiplier, boolean tickerText) {
-        return skyblockId + "|m=" + multiplier + "|t=" + tickerText + "|round=" + settings.roundPriceNumbers() + "|bzBS=" + settings.showBazaarBuySell() + "|bzS=" + settings.showBazaarSpread() + "|failed=" + store.isLastFetchFailed();
+    /**
+     * Packs every non-price input of the built lines into one long: setting and store
+     * flags in the low 9 bits, the item's craft cost revision above them, and the displayed
+     * trend (in 0.1% steps) in the high 32 bits. Trends and craft costs move with the history
+     * and the ingredients rather than the item's own prices, so they are part of the variant
+     * instead of the generation check.
+     */
+    private long cacheVariant(int itemId, boolean tickerText) {
+        int flags = 0;
+        if (tickerText) flags |= 1;
+        if (settings.roundPriceNumbers()) flags |= 1 << 1;
+        if (settings.showBazaarBuySell()) flags |= 1 << 2;
+        if (settings.showBazaarSpread()) flags |= 1 << 3;
+        if (settings.showPriceTrend()) flags |= 1 << 4;
+        if (store.isLastFetchFailed()) flags |= 1 << 5;
+        if (store.isRestoredFromDisk()) flags |= 1 << 6;
+        if (store.hasData()) flags |= 1 << 7;
+        if (settings.showCraftCost()) {
+            flags |= 1 << 8;
+            flags |= craftCosts.costs().revision(itemId) << 9;
+        }
+
+        int trendKey = 0;
+        if (settings.showPriceTrend()) {
+            float trend = history.trend24h(itemId);
+            trendKey = Float.isNaN(trend) ? Integer.MIN_VALUE : Math.round(trend * 1000f);
+        }
+        return ((long) trendKey << 32) | (flags & 0xFFFFFFFFL);
     }
 
     // ── Line building ───────────────────────────────────────────────────────────
 
-    private List<Component> buildPriceLines(String skyblockId, int multiplier, boolean tickerText) {
+    private List<Component> buildPriceLines(PriceSnapshot snapshot, int itemId, int multiplier, boolean tickerText) {
         if (!store.hasData()) {
             return buildErrorLines();
         }
 
-        Optional<Double> lowestBin = store.getLowestBin(skyblockId);
-        Optional<BazaarPrice> bazaar = store.getBazaarPrice(skyblockId);
+        // Both sections come from the same generation so lines never mix two refreshes.
+        boolean hasLowestBin = snapshot.hasLowestBin(itemId);
+        boolean hasBazaar = snapshot.hasBazaar(itemId);
         boolean roundNumbers = settings.roundPriceNumbers();
 
-        if (lowestBin.isEmpty() && bazaar.isEmpty()) return List.of();
+        if (!hasLowestBin && !hasBazaar) return List.of();
 
-        List<Component> builder = new ArrayList<>(5);
+        List<Component> builder = new ArrayList<>(6);
         builder.add(Component.empty());
 
-        // Stale-data banner when the last fetch failed
+        // Stale-data banner when the last fetch failed or prices are still from the last session
         if (store.isLastFetchFailed()) {
             builder.add(Component.literal("⚠ Prices may be outdated").withStyle(ChatFormatting.GRAY, ChatFormatting.ITALIC));
+        } else if (store.isRestoredFromDisk()) {
+            builder.add(Component.literal("⚠ Prices from last session, updating…").withStyle(ChatFormatting.GRAY, ChatFormatting.ITALIC));
         }
 
-        lowestBin.ifPresent(price -> builder.add(priceLine("AH Lowest BIN", price, 1, tickerText, roundNumbers)));
+        if (hasLowestBin) {
+            builder.add(priceLine("AH Lowest BIN", snapshot.lowestBin(itemId), 1, tickerText, roundNumbers));
+        }
 
-        if (bazaar.isPresent()) {
-            BazaarPrice bz = bazaar.get();
+        if (hasBazaar) {
+            double buy = snapshot.bazaarBuy(itemId);
+            double sell = snapshot.bazaarSell(itemId);
+            double spread = snapshot.bazaarSpread(itemId);
             if (settings.showBazaarBuySell()) {
-                if (bz.buyPrice() > 0) {
-                    builder.add(priceLine("BZ Buy Price", bz.buyPrice(), multiplier, tickerText, roundNumbers));
+                if (buy > 0) {
+                    builder.add(priceLine("BZ Buy Price", buy, multiplier, tickerText, roundNumbers));
                 }
-                if (bz.sellPrice() > 0) {
-                    builder.add(priceLine("BZ Sell Price", bz.sellPrice(), multiplier, tickerText, roundNumbers));
+                if (sell > 0) {
+                    builder.add(priceLine("BZ Sell Price", sell, multiplier, tickerText, roundNumbers));
                 }
             }
             if (settings.showBazaarSpread()) {
-                if (bz.spread() > 0) {
-                    builder.add(priceLine("BZ Spread", bz.spread(), multiplier, tickerText, roundNumbers));
+                if (spread > 0) {
+                    builder.add(priceLine("BZ Spread", spread, multiplier, tickerText, roundNumbers));
                 }
             }
         }
 
+        if (settings.showCraftCost()) {
+            double craftCost = craftCosts.costs().craftCost(itemId);
+            if (!Double.isNaN(craftCost)) {
+                builder.add(priceLine("Craft Cost", craftCost, multiplier, tickerText, roundNumbers));
+            }
+        }
+
+        if (settings.showPriceTrend()) {
+            float trend = history.trend24h(itemId);
+            if (!Float.isNaN(trend)) {
+                builder.add(trendLine(trend));
+            }
+        }
+
         return List.copyOf(builder);
     }
 
@@ -236,9 +300,9 @@ public final class PriceTooltipEnhancement {
      */
     private static MutableComponent priceLine(String label, double price, int multiplier, boolean tickerText, boolean roundNumbers) {
         double displayPrice = price * multiplier;
-        String formatted = formatCoins(displayPrice, roundNumbers);
+        String formatted = appendCoins(new StringBuilder(32), displayPrice, roundNumbers).append(" coins").toString();
 
-        MutableComponent coins = Component.literal(formatted + " coins");
+        MutableComponent coins = Component.literal(formatted);
         if (tickerText) {
             coins.withStyle(ChatFormatting.YELLOW, ChatFormatting.BOLD);
         } else {
@@ -256,51 +320,34 @@ public final class PriceTooltipEnhancement {
         return line;
     }
 
+    /**
+     * Formats the 24h trend line, e.g. {@code §6Price Trend: §a+4.2% / 24h}. Rises are green,
+     * drops red, and changes that round to zero gray.
+     */
+    private static MutableComponent trendLine(float trend) {
+        String percent = CoinFormat.US.appendSignedPercent(new StringBuilder(16), trend * 100).toString();
+        ChatFormatting color = percent.equals("+0.0%") || percent.equals("-0.0%")
+                ? ChatFormatting.GRAY
+                : trend > 0 ? ChatFormatting.GREEN : ChatFormatting.RED;
+
+        return Component.literal("Price Trend: ")
+                .withStyle(ChatFormatting.GOLD)
+                .append(Component.literal(percent + " / 24h").withStyle(color));
+    }
+
     /**
      * Formats a coin value for display. Uses suffixed notation for large values
      * (e.g. 1.2M, 3.5B) and comma-separated notation for smaller ones.
      */
-    static String formatCoins(double value) {
+    public static String formatCoins(double value) {
         return formatCoins(value, true);
     }
 
     static String formatCoins(double value, boolean roundNumbers) {
-        if (!roundNumbers) {
-            return formatRawCoins(value);
-        }
-        if (value >= 1_000_000_000) {
-            return String.format(Locale.US, "%.1fB", value / 1_000_000_000);
-        }
-        if (value >= 1_000_000) {
-            return String.format(Locale.US, "%.1fM", value / 1_000_000);
-        }
-        return COIN_FORMAT.format(value);
+        return appendCoins(new StringBuilder(24), value, roundNumbers).toString();
     }
 
-    private static String formatRawCoins(double value) {
-        String plain = BigDecimal.valueOf(value)
-                .setScale(2, RoundingMode.HALF_UP)
-                .stripTrailingZeros()
-                .toPlainString();
-
-        int decimalIndex = plain.indexOf('.');
-        String integerPart = decimalIndex >= 0 ? plain.substring(0, decimalIndex) : plain;
-        String fractionPart = decimalIndex >= 0 ? plain.substring(decimalIndex) : "";
-
-        String sign = "";
-        if (integerPart.startsWith("-") || integerPart.startsWith("+")) {
-            sign = integerPart.substring(0, 1);
-            integerPart = integerPart.substring(1);
-        }
-
-        StringBuilder grouped = new StringBuilder(integerPart.length() + integerPart.length() / 3);
-        for (int i = 0; i < integerPart.length(); i++) {
-            if (i > 0 && (integerPart.length() - i) % 3 == 0) {
-                grouped.append(',');
-            }
-            grouped.append(integerPart.charAt(i));
-        }
-
-        return sign + grouped + fractionPart;
+    private static StringBuilder appendCoins(StringBuilder sb, double value, boolean roundNumbers) {
+        return roundNumbers ? CoinFormat.US.appendCompact(sb, value) : CoinFormat.US.appendFull(sb, value);
     }
 }
@@ -24,6 +24,9 @@ public final class PriceTooltipKeybinds {
 
     private static final KeyMapping.Category CATEGORY = KeybindCategories.GENERAL;
 
+    private static final KeyNameCache FULL_STACK_NAME = new KeyNameCache();
+    private static final KeyNameCache CURRENT_AMOUNT_NAME = new KeyNameCache();
+
     private PriceTooltipKeybinds() {}
 
     /** Registers the two modifier keybinds. Call once during mod init. */
@@ -56,8 +59,7 @@ public final class PriceTooltipKeybinds {
      * Useful for hint lines in tooltips.
      */
     public static String getFullStackKeyName() {
-        if (fullStackKey == null) return "";
-        return fullStackKey.getTranslatedKeyMessage().getString();
+        return FULL_STACK_NAME.get(fullStackKey);
     }
 
     /**
@@ -65,8 +67,7 @@ public final class PriceTooltipKeybinds {
      * Useful for hint lines in tooltips.
      */
     public static String getCurrentAmountKeyName() {
-        if (currentAmountKey == null) return "";
-        return currentAmountKey.getTranslatedKeyMessage().getString();
+        return CURRENT_AMOUNT_NAME.get(currentAmountKey);
     }
 
     // ── GLFW polling ───────────────────────────────────────────────────────────
@@ -98,4 +99,26 @@ public final class PriceTooltipKeybinds {
     private static InputConstants.Key getBoundKey(KeyMapping mapping) {
         return KeyMappingHelper.getBoundKeyOf(mapping);
     }
+
+    // ── Key name cache ─────────────────────────────────────────────────────────
+
+    /**
+     * Remembers the display name of the last bound key so tooltips do not re-translate it
+     * every frame. The name is only rebuilt when the binding changes, and the same
+     * {@code String} instance is returned until then.
+     */
+    private static final class KeyNameCache {
+        private InputConstants.Key key;
+        private String name = "";
+
+        String get(KeyMapping mapping) {
+            if (mapping == null) return "";
+            InputConstants.Key bound = getBoundKey(mapping);
+            if (bound != key) {
+                key = bound;
+                name = mapping.getTranslatedKeyMessage().getString();
+            }
+            return name;
+        }
+    }
 }
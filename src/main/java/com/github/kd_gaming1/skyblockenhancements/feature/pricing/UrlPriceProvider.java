@@ -0,0 +1,57 @@
+package com.github.kd_gaming1.skyblockenhancements.feature.pricing;
+
+import com.github.kd_gaming1.skyblockenhancements.repo.network.HostRateLimiter;
+import java.net.URI;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * {@link PriceProvider} backed by two fixed URLs.
+ *
+ * @param lowestBin endpoint of the lowest-BIN feed
+ * @param bazaar    endpoint of the bazaar feed
+ */
+public record UrlPriceProvider(String name, URI lowestBin, URI bazaar) implements PriceProvider {
+
+    /** The default provider: the ScamScreener price API. */
+    public static final UrlPriceProvider SCAMSCREENER = new UrlPriceProvider(
+            "scamscreener",
+            URI.create("https://scamscreener.creepans.net/api/v2/lowestbin"),
+            URI.create("https://scamscreener.creepans.net/api/v1/bazaar"));
+
+    static {
+        // A refresh sends both feeds at once, plus a hedge or retry for each.
+        HostRateLimiter.configure(SCAMSCREENER.lowestBin().getHost(), new HostRateLimiter.Policy(4, 1_000L));
+    }
+
+    @Override
+    public URI uri(Feed feed) {
+        return switch (feed) {
+            case LOWEST_BIN -> lowestBin;
+            case BAZAAR -> bazaar;
+        };
+    }
+
+    /**
+     * Parses a config entry of the form {@code "<lowest-BIN URL> <bazaar URL>"}.
+     * The provider is named after the host of the lowest-BIN URL.
+     *
+     * @return the provider, or {@code null} if the entry is malformed
+     */
+    @Nullable
+    public static UrlPriceProvider parse(String entry) {
+        String[] parts = entry.trim().split("\\s+");
+        if (parts.length != 2) return null;
+        try {
+            URI lowestBin = URI.create(parts[0]);
+            URI bazaar = URI.create(parts[1]);
+            if (!isHttp(lowestBin) || !isHttp(bazaar)) return null;
+            return new UrlPriceProvider(lowestBin.getHost(), lowestBin, bazaar);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static boolean isHttp(URI uri) {
+        return uri.getHost() != null && ("http".equals(uri.getScheme()) || "https".equals(uri.getScheme()));
+    }
+}
@@ -30,23 +30,34 @@ public final class ReminderNotifier {
             return;
         }
 
-        long lateMs = reminder.getLateMs(now);
+        notify(client, reminder.outputType, chatMessage(reminder, reminder.getLateMs(now)),
+                reminder.message, "Reminder");
+    }
 
-        switch (reminder.outputType) {
-            case CHAT, CHAT_AND_TITLE, CHAT_AND_SOUND, ALL -> sendChatMessage(client, reminder, lateMs);
-            default -> {}
+    /**
+     * Sends a notification through the same chat / title / sound path reminders use, so
+     * other features (e.g. price alerts) honour the player's reminder sound settings.
+     * Must be called on the client thread.
+     */
+    public void notify(Minecraft client, OutputType outputType, Component chatMessage,
+                       String title, String subtitle) {
+        if (client.player == null) {
+            return;
         }
-        switch (reminder.outputType) {
-            case TITLE_BOX, CHAT_AND_TITLE, TITLE_AND_SOUND, ALL -> sendTitle(client, reminder);
-            default -> {}
+
+        if (outputType.hasChat) {
+            client.gui.getChat().addClientSystemMessage(chatMessage);
         }
-        switch (reminder.outputType) {
-            case SOUND_ONLY, CHAT_AND_SOUND, TITLE_AND_SOUND, ALL -> playReminderSound(client);
-            default -> {}
+        if (outputType.hasTitle) {
+            client.gui.setTitle(Component.literal(title).withStyle(ChatFormatting.YELLOW));
+            client.gui.setSubtitle(Component.literal(subtitle).withStyle(ChatFormatting.GOLD));
+        }
+        if (outputType.hasSound) {
+            playReminderSound(client);
         }
     }
 
-    private void sendChatMessage(Minecraft client, Reminder reminder, long lateMs) {
+    private static Component chatMessage(Reminder reminder, long lateMs) {
         MutableComponent msg =
                 Component.literal("⏰ ")
                         .withStyle(ChatFormatting.GOLD)
@@ -58,12 +69,7 @@ public final class ReminderNotifier {
                             .withStyle(ChatFormatting.DARK_GRAY));
         }
 
-        client.gui.getChat().addClientSystemMessage(msg);
-    }
-
-    private void sendTitle(Minecraft client, Reminder reminder) {
-        client.gui.setTitle(Component.literal(reminder.message).withStyle(ChatFormatting.YELLOW));
-        client.gui.setSubtitle(Component.literal("Reminder").withStyle(ChatFormatting.GOLD));
+        return msg;
     }
 
     private void playReminderSound(Minecraft client) {
@@ -1,38 +1,84 @@
 package com.github.kd_gaming1.skyblockenhancements.feature.reminder;
 
 import com.github.kd_gaming1.skyblockenhancements.SkyblockEnhancements;
+import com.github.kd_gaming1.skyblockenhancements.repo.io.Journal;
+import com.google.gson.Gson;
 import com.google.gson.JsonParseException;
 
+import java.io.DataInput;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Handles loading and saving reminder data to disk.
  * Thread-safe via {@link AtomicReference}.
+ *
+ * <p>Saves append only the reminders that changed since the last save to a {@link Journal}
+ * next to the file, one record per reminder; the JSON file is rewritten when the journal is
+ * compacted. Loading reads the file and replays the journal on top.
  */
 public class ReminderStorage {
+    // Journal record types
+    private static final int PUT = 1;
+    private static final int REMOVE = 2;
+    private static final int NEXT_ID = 3;
+
+    private static final Gson RECORD_GSON = new Gson();
+
     private final Path filePath;
     private final AtomicReference<RemindersFileData> dataRef = new AtomicReference<>(new RemindersFileData());
+    private final Journal<RemindersFileData> journal;
+
+    // What the file plus journal hold, guarded by "this": reminder ID -> compact JSON.
+    private final Map<Integer, String> persisted = new LinkedHashMap<>();
+    private int persistedNextId = 1;
 
     public ReminderStorage(Path filePath) {
         this.filePath = filePath;
+        this.journal = new Journal<>("reminders", filePath.resolveSibling(filePath.getFileName() + ".journal"),
+                snapshot -> JsonFileUtil.writeAtomic(filePath, snapshot), Journal.DEFAULT_COMPACT_BYTES);
     }
 
-    public void load() {
+    public synchronized void load() {
+        RemindersFileData loaded;
         try {
-            RemindersFileData loaded = JsonFileUtil.readOrCreate(filePath, RemindersFileData.class, new RemindersFileData());
-            dataRef.set(loaded != null ? loaded : new RemindersFileData());
+            loaded = JsonFileUtil.readOrCreate(filePath, RemindersFileData.class, new RemindersFileData());
         } catch (JsonParseException e) {
-            dataRef.set(new RemindersFileData());
+            loaded = null;
             backupBrokenFile();
             SkyblockEnhancements.LOGGER.error("Reminders file is invalid JSON and was reset. A backup was created.", e);
         } catch (IOException e) {
-            dataRef.set(new RemindersFileData());
+            loaded = null;
             SkyblockEnhancements.LOGGER.error("Failed to load reminders, starting fresh", e);
         }
+
+        persisted.clear();
+        persistedNextId = loaded != null ? loaded.nextReminderId : 1;
+        if (loaded != null && loaded.reminders != null) {
+            for (RemindersFileData.ReminderData rd : loaded.reminders) {
+                if (rd != null) persisted.put(rd.id, RECORD_GSON.toJson(rd));
+            }
+        }
+
+        int replayed = 0;
+        try {
+            replayed = journal.replay(this::applyRecord).records();
+        } catch (IOException e) {
+            SkyblockEnhancements.LOGGER.error("Failed to replay reminders journal", e);
+        }
+
+        RemindersFileData data = fromPersisted();
+        dataRef.set(data);
+        if (replayed > 0) {
+            journal.compact(data);
+        }
     }
 
     private void backupBrokenFile() {
@@ -44,12 +90,75 @@ public class ReminderStorage {
         }
     }
 
-    public void save() {
-        try {
-            JsonFileUtil.writeAtomic(filePath, dataRef.get());
-        } catch (IOException e) {
-            SkyblockEnhancements.LOGGER.error("Failed to save reminders", e);
+    /**
+     * Journals the difference between the current data and what was last saved. The data
+     * object may be written as-is on compaction, so callers replace it through
+     * {@link #setRemindersData} rather than mutating it.
+     *
+     * <p>A reminder keeps the creation time it was first saved with, so re-saving an
+     * unchanged reminder produces no record.
+     */
+    public synchronized void save() {
+        RemindersFileData data = dataRef.get();
+
+        Set<Integer> present = new HashSet<>();
+        for (RemindersFileData.ReminderData rd : data.reminders) {
+            present.add(rd.id);
+            String previous = persisted.get(rd.id);
+            if (previous != null) {
+                rd.createdAtMs = RECORD_GSON.fromJson(previous, RemindersFileData.ReminderData.class).createdAtMs;
+            }
+            String json = RECORD_GSON.toJson(rd);
+            if (json.equals(previous)) continue;
+
+            persisted.put(rd.id, json);
+            journal.append(PUT, out -> {
+                out.writeInt(rd.id);
+                out.writeUTF(json);
+            });
+        }
+
+        for (var it = persisted.keySet().iterator(); it.hasNext(); ) {
+            int id = it.next();
+            if (present.contains(id)) continue;
+            it.remove();
+            journal.append(REMOVE, out -> out.writeInt(id));
+        }
+
+        if (data.nextReminderId != persistedNextId) {
+            persistedNextId = data.nextReminderId;
+            journal.append(NEXT_ID, out -> out.writeInt(data.nextReminderId));
+        }
+
+        if (journal.needsCompaction()) {
+            journal.compact(data);
+        }
+    }
+
+    private void applyRecord(int type, DataInput in) throws IOException {
+        switch (type) {
+            case PUT -> {
+                int id = in.readInt();
+                persisted.put(id, in.readUTF());
+            }
+            case REMOVE -> persisted.remove(in.readInt());
+            case NEXT_ID -> persistedNextId = in.readInt();
+            default -> throw new IOException("Unknown reminders record " + type);
+        }
+    }
+
+    private RemindersFileData fromPersisted() {
+        RemindersFileData data = new RemindersFileData();
+        data.nextReminderId = persistedNextId;
+        for (var it = persisted.values().iterator(); it.hasNext(); ) {
+            try {
+                data.reminders.add(RECORD_GSON.fromJson(it.next(), RemindersFileData.ReminderData.class));
+            } catch (JsonParseException e) {
+                SkyblockEnhancements.LOGGER.warn("Dropping unreadable saved reminder: {}", e.getMessage());
+                it.remove();
+            }
         }
+        return data;
     }
 
     public RemindersFileData getRemindersData() {
@@ -59,4 +168,4 @@ public class ReminderStorage {
     public void setRemindersData(RemindersFileData data) {
         dataRef.set(data != null ? data : new RemindersFileData());
     }
-}
\ No newline at end of file
+}
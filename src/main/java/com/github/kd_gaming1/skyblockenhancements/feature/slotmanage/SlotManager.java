@@ -152,11 +152,7 @@ public final class SlotManager {
     public static void toggleLock(int containerSlot) {
         Bucket bucket = activeBucket(true);
         if (bucket == null) return;
-        boolean nowLocked = bucket.locked.add(containerSlot);
-        if (!nowLocked) {
-            bucket.locked.remove(containerSlot);
-        }
-        pruneAndSave(bucket);
+        boolean nowLocked = storage.toggleLock(bucketKey, containerSlot);
         playSound(nowLocked);
         overlay(nowLocked
                 ? "skyblock_enhancements.slotlock.locked"
@@ -176,14 +172,13 @@ public final class SlotManager {
         boolean isHotbar = containerSlot >= 0 && containerSlot <= 8;
 
         if (!isHotbar && bucket.binds.containsKey(containerSlot)) {
-            removeBind(bucket, containerSlot);
+            removeBind(containerSlot);
             return;
         }
         if (isHotbar) {
             if (pendingBindSlot != null) {
-                bucket.binds.put(pendingBindSlot, containerSlot);
+                storage.putBind(bucketKey, pendingBindSlot, containerSlot);
                 pendingBindSlot = null;
-                pruneAndSave(bucket);
                 playSound(true);
                 overlay("skyblock_enhancements.slotbind.created");
             }
@@ -219,9 +214,8 @@ public final class SlotManager {
 
         Bucket bucket = activeBucket(true);
         if (bucket == null) return;
-        bucket.binds.put(source, hotbar);
+        storage.putBind(bucketKey, source, hotbar);
         pendingBindSlot = null;
-        pruneAndSave(bucket);
         playSound(true);
         overlay("skyblock_enhancements.slotbind.created");
     }
@@ -233,16 +227,15 @@ public final class SlotManager {
         if (bucket == null) return false;
         int containerSlot = slot.getContainerSlot();
         if (!bucket.binds.containsKey(containerSlot)) return false;
-        removeBind(bucket, containerSlot);
+        removeBind(containerSlot);
         return true;
     }
 
-    private static void removeBind(Bucket bucket, int containerSlot) {
-        bucket.binds.remove(containerSlot);
+    private static void removeBind(int containerSlot) {
+        storage.removeBind(bucketKey, containerSlot);
         if (Objects.equals(pendingBindSlot, containerSlot)) {
             pendingBindSlot = null;
         }
-        pruneAndSave(bucket);
         playSound(false);
         overlay("skyblock_enhancements.slotbind.removed");
     }
@@ -295,13 +288,6 @@ public final class SlotManager {
         return storage.data().buckets.get(bucketKey);
     }
 
-    private static void pruneAndSave(Bucket bucket) {
-        if (bucket.locked.isEmpty() && bucket.binds.isEmpty()) {
-            storage.data().buckets.remove(bucketKey);
-        }
-        storage.save();
-    }
-
     private static int boundEditKeyCode() {
         if (editKey == null) return InputConstants.UNKNOWN.getValue();
         InputConstants.Key key = KeyMappingHelper.getBoundKeyOf(editKey);
@@ -2,11 +2,13 @@ package com.github.kd_gaming1.skyblockenhancements.feature.slotmanage;
 
 import com.github.kd_gaming1.skyblockenhancements.SkyblockEnhancements;
 import com.github.kd_gaming1.skyblockenhancements.feature.reminder.JsonFileUtil;
+import com.github.kd_gaming1.skyblockenhancements.repo.io.Journal;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
 
 import java.io.BufferedReader;
+import java.io.DataInput;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
@@ -21,7 +23,9 @@ import java.util.Set;
  * Loads and saves per-bucket slot state (locks + hotbar binds) to a single JSON file.
  *
  * <p>The whole map is read into memory once on startup; every lookup afterwards hits the in-memory
- * copy, so the only runtime disk I/O is an atomic rewrite on each toggle/bind change.
+ * copy. Each lock or bind change is appended to a {@link Journal} next to the file as one small
+ * record, written off the client thread; the JSON file is only rewritten when the journal is
+ * compacted.
  *
  * <p>Buckets are keyed by {@code "<accountUuid>"} (off-SkyBlock / unknown profile) or
  * {@code "<accountUuid>|<profileUuid>"} (a specific SkyBlock profile). Both lock indices and bind
@@ -41,11 +45,20 @@ public final class SlotStorage {
         public Map<String, Bucket> buckets = new HashMap<>();
     }
 
+    // Journal record types
+    private static final int LOCK = 1;
+    private static final int UNLOCK = 2;
+    private static final int BIND = 3;
+    private static final int UNBIND = 4;
+
     private final Path filePath;
+    private final Journal<Data> journal;
     private Data data = new Data();
 
     public SlotStorage(Path filePath) {
         this.filePath = filePath;
+        this.journal = new Journal<>("slot state", filePath.resolveSibling(filePath.getFileName() + ".journal"),
+                snapshot -> JsonFileUtil.writeAtomic(filePath, snapshot), Journal.DEFAULT_COMPACT_BYTES);
     }
 
     public Data data() {
@@ -53,30 +66,115 @@ public final class SlotStorage {
     }
 
     /**
-     * Reads the file into memory. Recovers gracefully from corruption, and transparently upgrades the
-     * legacy slot-lock format ({@code "<key>": [12, 21]}) to the current nested shape, rewriting the
-     * file once so existing locks survive the feature merge.
+     * Reads the file into memory and replays the journal on top. Recovers gracefully from corruption,
+     * and transparently upgrades the legacy slot-lock format ({@code "<key>": [12, 21]}) to the current
+     * nested shape, rewriting the file once so existing locks survive the feature merge.
      */
     public void load() {
-        if (!Files.exists(filePath)) {
-            data = new Data();
-            return;
+        boolean rewrite = false;
+        data = new Data();
+        if (Files.exists(filePath)) {
+            try {
+                JsonObject root;
+                try (BufferedReader reader = Files.newBufferedReader(filePath, StandardCharsets.UTF_8)) {
+                    root = JsonParser.parseReader(reader).getAsJsonObject();
+                }
+                boolean[] migrated = {false};
+                data = fromJson(root, migrated);
+                rewrite = migrated[0]; // persist the upgraded shape
+            } catch (Exception e) {
+                data = new Data();
+                backupBrokenFile();
+                SkyblockEnhancements.LOGGER.error(
+                        "Slot-state file is invalid and was reset. A backup was created.", e);
+            }
         }
+
         try {
-            JsonObject root;
-            try (BufferedReader reader = Files.newBufferedReader(filePath, StandardCharsets.UTF_8)) {
-                root = JsonParser.parseReader(reader).getAsJsonObject();
-            }
-            boolean[] migrated = {false};
-            data = fromJson(root, migrated);
-            if (migrated[0]) {
-                save(); // persist the upgraded shape
-            }
-        } catch (Exception e) {
-            data = new Data();
-            backupBrokenFile();
-            SkyblockEnhancements.LOGGER.error(
-                    "Slot-state file is invalid and was reset. A backup was created.", e);
+            rewrite |= journal.replay(this::applyRecord).records() > 0;
+        } catch (IOException e) {
+            SkyblockEnhancements.LOGGER.error("Failed to replay slot-state journal", e);
+        }
+        if (rewrite) {
+            journal.compact(copy(data));
+        }
+    }
+
+    // ── Mutations ───────────────────────────────────────────────────────────────
+
+    /** Flips the lock on {@code slot}; returns whether it is locked now. */
+    public boolean toggleLock(String bucketKey, int slot) {
+        boolean locked = !isLocked(bucketKey, slot);
+        applyLock(bucketKey, slot, locked);
+        journal.append(locked ? LOCK : UNLOCK, out -> {
+            out.writeUTF(bucketKey);
+            out.writeByte(slot);
+        });
+        afterAppend();
+        return locked;
+    }
+
+    /** Binds inventory slot {@code source} to hotbar slot {@code hotbar}, replacing any previous bind. */
+    public void putBind(String bucketKey, int source, int hotbar) {
+        applyBind(bucketKey, source, hotbar);
+        journal.append(BIND, out -> {
+            out.writeUTF(bucketKey);
+            out.writeByte(source);
+            out.writeByte(hotbar);
+        });
+        afterAppend();
+    }
+
+    public void removeBind(String bucketKey, int source) {
+        applyBind(bucketKey, source, -1);
+        journal.append(UNBIND, out -> {
+            out.writeUTF(bucketKey);
+            out.writeByte(source);
+        });
+        afterAppend();
+    }
+
+    private boolean isLocked(String bucketKey, int slot) {
+        Bucket bucket = data.buckets.get(bucketKey);
+        return bucket != null && bucket.locked.contains(slot);
+    }
+
+    private void afterAppend() {
+        if (journal.needsCompaction()) {
+            journal.compact(copy(data));
+        }
+    }
+
+    private void applyRecord(int type, DataInput in) throws IOException {
+        String bucketKey = in.readUTF();
+        int slot = in.readUnsignedByte();
+        switch (type) {
+            case LOCK -> applyLock(bucketKey, slot, true);
+            case UNLOCK -> applyLock(bucketKey, slot, false);
+            case BIND -> applyBind(bucketKey, slot, in.readUnsignedByte());
+            case UNBIND -> applyBind(bucketKey, slot, -1);
+            default -> throw new IOException("Unknown slot-state record " + type);
+        }
+    }
+
+    private void applyLock(String bucketKey, int slot, boolean locked) {
+        Bucket bucket = data.buckets.computeIfAbsent(bucketKey, k -> new Bucket());
+        if (locked) bucket.locked.add(slot);
+        else bucket.locked.remove(slot);
+        prune(bucketKey, bucket);
+    }
+
+    /** Sets or, for a negative {@code hotbar}, removes the bind of {@code source}. */
+    private void applyBind(String bucketKey, int source, int hotbar) {
+        Bucket bucket = data.buckets.computeIfAbsent(bucketKey, k -> new Bucket());
+        if (hotbar >= 0) bucket.binds.put(source, hotbar);
+        else bucket.binds.remove(source);
+        prune(bucketKey, bucket);
+    }
+
+    private void prune(String bucketKey, Bucket bucket) {
+        if (bucket.locked.isEmpty() && bucket.binds.isEmpty()) {
+            data.buckets.remove(bucketKey);
         }
     }
 
@@ -110,13 +208,17 @@ public final class SlotStorage {
         return result;
     }
 
-    /** Atomically rewrites the whole file. Cheap — the data set is tiny. */
-    public void save() {
-        try {
-            JsonFileUtil.writeAtomic(filePath, data);
-        } catch (IOException e) {
-            SkyblockEnhancements.LOGGER.error("Failed to save slot state", e);
+    /** Deep copy handed to the journal as a snapshot. Cheap — the data set is tiny. */
+    private static Data copy(Data source) {
+        Data copy = new Data();
+        for (Map.Entry<String, Bucket> entry : source.buckets.entrySet()) {
+            if (entry.getValue().locked.isEmpty() && entry.getValue().binds.isEmpty()) continue;
+            Bucket bucket = new Bucket();
+            bucket.locked = new HashSet<>(entry.getValue().locked);
+            bucket.binds = new HashMap<>(entry.getValue().binds);
+            copy.buckets.put(entry.getKey(), bucket);
         }
+        return copy;
     }
 
     private void backupBrokenFile() {
@@ -0,0 +1,29 @@
+package com.github.kd_gaming1.skyblockenhancements.mixin.pricing;
+
+import com.github.kd_gaming1.skyblockenhancements.feature.pricing.ContainerValueOverlay;
+import net.minecraft.client.gui.GuiGraphicsExtractor;
+import net.minecraft.client.gui.screens.inventory.AbstractContainerScreen;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+/**
+ * Draws the container total value on the title row of container screens.
+ *
+ * <p>The injection runs at {@code TAIL} of {@code extractContents}, where the pose is back
+ * in screen space, so the overlay positions itself from {@code leftPos}/{@code topPos}.
+ */
+@Mixin(AbstractContainerScreen.class)
+public abstract class ContainerValueMixin {
+
+    @Shadow protected int leftPos;
+    @Shadow protected int topPos;
+    @Shadow protected int imageWidth;
+
+    @Inject(method = "extractContents", at = @At("TAIL"))
+    private void sbe$renderContainerValue(GuiGraphicsExtractor graphics, int mouseX, int mouseY, float a, CallbackInfo ci) {
+        ContainerValueOverlay.render(graphics, (AbstractContainerScreen<?>) (Object) this, leftPos, topPos, imageWidth);
+    }
+}
@@ -0,0 +1,365 @@
+package com.github.kd_gaming1.skyblockenhancements.repo.enchant;
+
+import static com.github.kd_gaming1.skyblockenhancements.SkyblockEnhancements.LOGGER;
+
+import com.github.kd_gaming1.skyblockenhancements.repo.sync.RepoSync;
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Immutable, pre-indexed view of the NEU {@code enchants.json}: which enchants apply to each
+ * item type, which mutually exclusive pools each enchant belongs to, and max levels.
+ *
+ * <p>The static side is the service holding the current catalog. {@link #init} parses the file
+ * on a background thread at startup, so the first tooltip never waits on disk or Gson. The same
+ * thread then watches the file, and a repo sync that changes it triggers a reload too; either
+ * way a new catalog is built off-thread and swapped in with a single volatile write. Readers
+ * call {@link #current()} once per lookup and see one consistent catalog.
+ *
+ * <p>Each catalog also numbers its enchants densely ({@link #enchantId}, alphabetical) and keeps
+ * per item type and per enchant {@code long[]} bitsets over those numbers, so
+ * {@link #missing} finds an item's missing enchants with a few word-wise operations and no
+ * allocation. The numbers are only valid for the catalog that assigned them.
+ */
+public final class EnchantCatalog {
+
+    /** Repo-relative path of the enchant data, kept in sync by {@link RepoSync}. */
+    public static final String ENCHANTS_REPO_PATH = "constants/enchants.json";
+
+    /** Returned by {@link #enchantId} and {@link #itemTypeId} for unknown names. */
+    public static final int UNKNOWN = -1;
+
+    /** Catalog used until the file has been parsed; knows no enchants. */
+    public static final EnchantCatalog EMPTY = new EnchantCatalog(new RawEnchants());
+
+    private static final Gson GSON = new Gson();
+    /** Wait after a file event so a sync's write-then-rename settles before reparsing. */
+    private static final long WATCH_SETTLE_MS = 250L;
+
+    private static volatile EnchantCatalog current = EMPTY;
+    private static final List<Consumer<EnchantCatalog>> RELOAD_LISTENERS = new CopyOnWriteArrayList<>();
+
+    private static Path file;
+    /** Size and modification time of the file behind {@link #current}; guarded by the class. */
+    private static FileStamp loadedStamp;
+
+    private final int poolCount;
+
+    // Dense numbering: enchant ID <-> bit index, item type -> row of the per-type tables.
+    private final String[] enchants;
+    private final Object2IntOpenHashMap<String> enchantIds;
+    private final Object2IntOpenHashMap<String> itemTypeIds;
+    /** Words in every bitset of this catalog. */
+    private final int words;
+    private final int[] maxLevels;
+    /** Per item type: the enchants that apply to it. */
+    private final long[][] applicable;
+    private final boolean[] supportsUltimate;
+    /** Per enchant: every enchant sharing a pool with it (itself included), or {@code null}. */
+    private final long[][] poolMates;
+    private final long[] ultimates;
+
+    // ── Service ─────────────────────────────────────────────────────────────────
+
+    /**
+     * Starts the background load and file watch, and reloads whenever {@code repoSync} has
+     * synced the file.
+     */
+    public static void init(RepoSync repoSync) {
+        file = repoSync.resolve(ENCHANTS_REPO_PATH);
+
+        Thread loader = new Thread(() -> {
+            reloadIfChanged();
+            watch();
+        }, "sbe-enchant-catalog");
+        loader.setDaemon(true);
+        loader.start();
+
+        repoSync.addReadyListener(event -> {
+            if (event.changed(ENCHANTS_REPO_PATH) || current == EMPTY) reloadIfChanged();
+        });
+    }
+
+    /** The current catalog; {@link #EMPTY} until {@code enchants.json} has been parsed. */
+    public static EnchantCatalog current() {
+        return current;
+    }
+
+    /**
+     * Registers a listener called with each newly loaded catalog, on the thread that loaded it
+     * (the catalog thread, or the repo sync thread after a sync).
+     */
+    public static void addReloadListener(Consumer<EnchantCatalog> listener) {
+        RELOAD_LISTENERS.add(listener);
+    }
+
+    /** Parses the file into a new catalog unless it is the one already loaded. */
+    private static synchronized void reloadIfChanged() {
+        FileStamp stamp;
+        try {
+            stamp = FileStamp.of(file);
+        } catch (NoSuchFileException e) {
+            return; // not downloaded yet; the repo sync reloads once it is
+        } catch (IOException e) {
+            LOGGER.warn("Failed to read {}: {}", file.getFileName(), e.getMessage());
+            return;
+        }
+        if (stamp.equals(loadedStamp)) return;
+        loadedStamp = stamp;
+
+        long start = System.nanoTime();
+        EnchantCatalog next;
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            next = parse(reader);
+        } catch (IOException | JsonParseException e) {
+            LOGGER.error("Failed to load enchants json from {}", file, e);
+            return;
+        }
+
+        current = next;
+        LOGGER.info("Loaded enchant catalog: {} item types, {} pools in {} ms", next.itemTypeIds.size(),
+                next.poolCount, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+
+        for (Consumer<EnchantCatalog> listener : RELOAD_LISTENERS) {
+            try {
+                listener.accept(next);
+            } catch (Exception e) {
+                LOGGER.warn("Enchant catalog listener failed", e);
+            }
+        }
+    }
+
+    /**
+     * Builds a catalog from {@code enchants.json} content without publishing it.
+     *
+     * @throws JsonParseException if the content isn't valid enchant data
+     */
+    public static EnchantCatalog parse(Reader reader) {
+        RawEnchants raw = GSON.fromJson(reader, RawEnchants.class);
+        return new EnchantCatalog(raw != null ? raw : new RawEnchants());
+    }
+
+    /** Reloads whenever the file is created or rewritten in place; runs until the JVM exits. */
+    private static void watch() {
+        Path dir = file.getParent();
+        Path name = file.getFileName();
+        try (WatchService watcher = dir.getFileSystem().newWatchService()) {
+            Files.createDirectories(dir);
+            dir.register(watcher, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+
+            while (true) {
+                WatchKey key = watcher.take();
+                boolean touched = false;
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    touched |= event.kind() == StandardWatchEventKinds.OVERFLOW || name.equals(event.context());
+                }
+                if (touched) {
+                    Thread.sleep(WATCH_SETTLE_MS);
+                    key.pollEvents(); // the rest of the same write
+                    reloadIfChanged();
+                }
+                if (!key.reset()) {
+                    LOGGER.warn("Stopped watching {}: directory is gone", dir);
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException | UnsupportedOperationException e) {
+            LOGGER.warn("Can't watch {}, relying on repo sync for reloads: {}", file.getFileName(), e.getMessage());
+        }
+    }
+
+    private record FileStamp(long size, long modifiedMs) {
+        static FileStamp of(Path path) throws IOException {
+            return new FileStamp(Files.size(path), Files.getLastModifiedTime(path).toMillis());
+        }
+    }
+
+    // ── Catalog ─────────────────────────────────────────────────────────────────
+
+    private EnchantCatalog(RawEnchants raw) {
+        List<List<String>> pools = raw.enchant_pools != null ? raw.enchant_pools : List.of();
+        this.poolCount = pools.size();
+
+        Map<String, IntArrayList> poolsByEnchant = new HashMap<>();
+        for (int poolId = 0; poolId < pools.size(); poolId++) {
+            List<String> pool = pools.get(poolId);
+            if (pool == null) continue;
+            for (String enchantId : pool) {
+                if (enchantId != null) poolsByEnchant.computeIfAbsent(enchantId, k -> new IntArrayList(2)).add(poolId);
+            }
+        }
+
+        Map<String, List<String>> enchantsByType = new HashMap<>();
+        if (raw.enchants != null) {
+            raw.enchants.forEach((type, enchants) -> {
+                if (type == null || enchants == null) return;
+                List<String> ids = new ArrayList<>(enchants.size());
+                for (String enchantId : enchants) {
+                    if (enchantId != null) ids.add(enchantId);
+                }
+                enchantsByType.put(type.toUpperCase(Locale.ROOT), ids);
+            });
+        }
+
+        Map<String, Integer> levels = new HashMap<>();
+        if (raw.enchants_xp_cost != null) {
+            raw.enchants_xp_cost.forEach((enchantId, costs) -> {
+                if (enchantId != null && costs != null && !costs.isEmpty()) levels.put(enchantId, costs.size());
+            });
+        }
+
+        SortedSet<String> allEnchants = new TreeSet<>(poolsByEnchant.keySet());
+        enchantsByType.values().forEach(allEnchants::addAll);
+        allEnchants.addAll(levels.keySet());
+
+        this.enchants = allEnchants.toArray(String[]::new);
+        this.words = (enchants.length + 63) >>> 6;
+        this.enchantIds = new Object2IntOpenHashMap<>(enchants.length);
+        enchantIds.defaultReturnValue(UNKNOWN);
+        this.maxLevels = new int[enchants.length];
+        this.ultimates = new long[words];
+        for (int id = 0; id < enchants.length; id++) {
+            enchantIds.put(enchants[id], id);
+            maxLevels[id] = levels.getOrDefault(enchants[id], -1);
+            if (enchants[id].startsWith("ultimate_")) set(ultimates, id);
+        }
+
+        this.poolMates = new long[enchants.length][];
+        poolsByEnchant.forEach((enchantId, ids) -> {
+            long[] mates = new long[words];
+            for (int i = 0; i < ids.size(); i++) {
+                for (String other : pools.get(ids.getInt(i))) {
+                    if (other != null) set(mates, enchantIds.getInt(other));
+                }
+            }
+            poolMates[enchantIds.getInt(enchantId)] = mates;
+        });
+
+        this.itemTypeIds = new Object2IntOpenHashMap<>(enchantsByType.size());
+        itemTypeIds.defaultReturnValue(UNKNOWN);
+        this.applicable = new long[enchantsByType.size()][];
+        this.supportsUltimate = new boolean[enchantsByType.size()];
+        enchantsByType.forEach((type, ids) -> {
+            int row = itemTypeIds.size();
+            itemTypeIds.put(type, row);
+            long[] mask = new long[words];
+            for (String enchantId : ids) set(mask, enchantIds.getInt(enchantId));
+            applicable[row] = mask;
+            supportsUltimate[row] = intersects(mask, ultimates);
+        });
+    }
+
+    private static void set(long[] bits, int index) {
+        bits[index >>> 6] |= 1L << index;
+    }
+
+    private static boolean intersects(long[] a, long[] b) {
+        for (int w = 0; w < a.length; w++) {
+            if ((a[w] & b[w]) != 0) return true;
+        }
+        return false;
+    }
+
+    // ── Dense IDs and bitsets ───────────────────────────────────────────────────
+
+    /** Number of enchants; dense IDs run from 0 to this, exclusive. */
+    public int enchantCount() {
+        return enchants.length;
+    }
+
+    /** Length of the {@code long[]} bitsets {@link #missing} works on. */
+    public int words() {
+        return words;
+    }
+
+    /** Dense ID of {@code enchantId}, or {@link #UNKNOWN}. */
+    public int enchantId(String enchantId) {
+        return enchantIds.getInt(enchantId);
+    }
+
+    /** The enchant ID string behind a dense ID. */
+    public String enchantAt(int id) {
+        return enchants[id];
+    }
+
+    /** Highest level of the enchant with dense ID {@code id}, or {@code -1} if unknown. */
+    public int maxLevel(int id) {
+        return maxLevels[id];
+    }
+
+    /** Row of {@code itemType} for {@link #missing}, or {@link #UNKNOWN}; case-insensitive. */
+    public int itemTypeId(String itemType) {
+        int row = itemTypeIds.getInt(itemType);
+        return row != UNKNOWN ? row : itemTypeIds.getInt(itemType.toUpperCase(Locale.ROOT));
+    }
+
+    /** {@code true} if any ultimate enchant applies to the item type. */
+    public boolean supportsUltimate(int itemTypeId) {
+        return supportsUltimate[itemTypeId];
+    }
+
+    /**
+     * Writes the set of {@code enchantIds} into {@code out} ({@link #words()} long), ignoring IDs
+     * this catalog doesn't know.
+     */
+    public void toBits(Iterable<String> enchantIds, long[] out) {
+        Arrays.fill(out, 0, words, 0L);
+        for (String enchantId : enchantIds) {
+            int id = this.enchantIds.getInt(enchantId);
+            if (id != UNKNOWN) set(out, id);
+        }
+    }
+
+    /**
+     * Writes into {@code out} the non-ultimate enchants of the item type that are neither in
+     * {@code present} nor share a pool with anything in it. Both arrays hold {@link #words()}
+     * longs; nothing is allocated.
+     */
+    public void missing(int itemTypeId, long[] present, long[] out) {
+        Arrays.fill(out, 0, words, 0L);
+        for (int w = 0; w < words; w++) {
+            for (long bits = present[w]; bits != 0; bits &= bits - 1) {
+                long[] mates = poolMates[(w << 6) | Long.numberOfTrailingZeros(bits)];
+                if (mates == null) continue;
+                for (int v = 0; v < words; v++) out[v] |= mates[v];
+            }
+        }
+
+        long[] candidates = applicable[itemTypeId];
+        for (int w = 0; w < words; w++) {
+            out[w] = candidates[w] & ~present[w] & ~out[w] & ~ultimates[w];
+        }
+    }
+
+    /** Shape of {@code enchants.json}; only the sections the catalog uses. */
+    private static final class RawEnchants {
+        Map<String, List<String>> enchants;
+        List<List<String>> enchant_pools;
+        Map<String, List<Integer>> enchants_xp_cost;
+    }
+}
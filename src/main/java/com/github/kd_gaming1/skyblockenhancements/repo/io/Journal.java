@@ -0,0 +1,254 @@
+package com.github.kd_gaming1.skyblockenhancements.repo.io;
+
+import static com.github.kd_gaming1.skyblockenhancements.SkyblockEnhancements.LOGGER;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only log of typed mutations for a small state store, folded into a snapshot file
+ * once it grows past a threshold.
+ *
+ * <p>A store keeps its last snapshot in its usual file and {@link #append}s one record per
+ * edit, so an edit costs a few bytes instead of a full rewrite. On load the store reads the
+ * snapshot and {@link #replay}s the journal on top of it. Once the journal passes
+ * {@code compactAfterBytes} the store hands over a copy of its state through {@link #compact};
+ * the snapshot is rewritten atomically and the journal emptied.
+ *
+ * <p>File layout (big-endian): magic and version, then per record an unsigned short payload
+ * length, a type byte, the payload and a CRC32 over type and payload. A crash mid-append
+ * leaves a torn last record, which replay detects and cuts off. Records must be idempotent
+ * (set or remove one key), because a crash between writing the snapshot and emptying the
+ * journal replays records the snapshot already contains.
+ *
+ * <p>All disk I/O runs on the {@link PersistenceService} writer thread, except the replay
+ * on load. Journals skip the writer's usual debounce: an appended record is written and
+ * forced as soon as the writer thread is free, so a crash loses only the edits still queued
+ * behind the write in progress, not the {@value PersistenceService#DEFAULT_DEBOUNCE_MS} ms
+ * window other stores wait.
+ */
+public final class Journal<S> {
+
+    /** Journal size at which the mod's stores compact. */
+    public static final int DEFAULT_COMPACT_BYTES = 64 * 1024;
+
+    private static final int MAGIC = 0x53424A4C; // "SBJL"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 8;
+    /** Length, type and checksum around each payload. */
+    private static final int RECORD_OVERHEAD = 2 + 1 + 4;
+    private static final int MAX_PAYLOAD = 0xFFFF;
+    /** Records are a few bytes each, so they are written right away instead of batched. */
+    private static final long WRITE_DEBOUNCE_MS = 0L;
+
+    /** Applies one replayed record to the store's state. */
+    @FunctionalInterface
+    public interface RecordReader {
+        void apply(int type, DataInput payload) throws IOException;
+    }
+
+    /** Writes one record's payload. */
+    @FunctionalInterface
+    public interface RecordWriter {
+        void write(DataOutput payload) throws IOException;
+    }
+
+    /**
+     * Outcome of a {@link #replay}.
+     *
+     * @param droppedBytes bytes cut off after the last intact record
+     */
+    public record ReplayResult(int records, long droppedBytes) {}
+
+    private record Snapshot<S>(S state) {}
+
+    private final Path path;
+    private final PersistenceService.Writer<S> snapshotWriter;
+    private final int compactAfterBytes;
+    private final PersistenceService.Handle<Journal<S>> persistence;
+
+    // Guarded by "this".
+    /** Encoded records ({@code byte[]}) and {@link Snapshot}s waiting for the writer, in order. */
+    private final List<Object> pending = new ArrayList<>();
+    /** Bytes in the journal since the last compaction, counting pending records. */
+    private long journalBytes = HEADER_SIZE;
+    private boolean writeFailed;
+
+    /**
+     * @param name           used in log messages
+     * @param path           the journal file, usually next to the snapshot file
+     * @param snapshotWriter writes a compacted snapshot atomically; runs on the writer thread
+     */
+    public Journal(String name, Path path, PersistenceService.Writer<S> snapshotWriter, int compactAfterBytes) {
+        this.path = path;
+        this.snapshotWriter = snapshotWriter;
+        this.compactAfterBytes = compactAfterBytes;
+        this.persistence = PersistenceService.register(name, WRITE_DEBOUNCE_MS, Journal::drain);
+    }
+
+    // ── Load ────────────────────────────────────────────────────────────────────
+
+    /**
+     * Feeds every intact record to {@code reader}, in order, and cuts a torn or corrupt tail
+     * off the file. A record the reader rejects is skipped. Call once, before any append.
+     *
+     * @throws IOException if the journal exists but can't be read or repaired
+     */
+    public synchronized ReplayResult replay(RecordReader reader) throws IOException {
+        if (!Files.exists(path)) return new ReplayResult(0, 0);
+
+        ByteBuffer buf = ByteBuffer.wrap(Files.readAllBytes(path));
+        if (buf.remaining() < HEADER_SIZE || buf.getInt() != MAGIC || buf.getInt() != VERSION) {
+            long size = buf.capacity();
+            LOGGER.warn("Discarding unreadable journal {}", path.getFileName());
+            Files.delete(path);
+            return new ReplayResult(0, size);
+        }
+
+        CRC32 crc = new CRC32();
+        int records = 0;
+        int end = HEADER_SIZE;
+        while (buf.remaining() >= RECORD_OVERHEAD) {
+            int length = Short.toUnsignedInt(buf.getShort(end));
+            if (buf.remaining() < RECORD_OVERHEAD + length) break;
+
+            crc.reset();
+            crc.update(buf.array(), end + 2, 1 + length);
+            if ((int) crc.getValue() != buf.getInt(end + 3 + length)) break;
+
+            int type = Byte.toUnsignedInt(buf.get(end + 2));
+            try {
+                reader.apply(type, new DataInputStream(new ByteArrayInputStream(buf.array(), end + 3, length)));
+            } catch (IOException | RuntimeException e) {
+                LOGGER.warn("Skipping unreadable journal record in {}: {}", path.getFileName(), e.toString());
+            }
+            records++;
+            end += RECORD_OVERHEAD + length;
+            buf.position(end);
+        }
+
+        long dropped = buf.capacity() - end;
+        if (dropped > 0) {
+            LOGGER.warn("Journal {} ends in {} damaged bytes, dropping them", path.getFileName(), dropped);
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+                channel.truncate(end);
+            }
+        }
+        journalBytes = end;
+        return new ReplayResult(records, dropped);
+    }
+
+    // ── Mutations ───────────────────────────────────────────────────────────────
+
+    /** Encodes a record on the calling thread and queues it for the writer. */
+    public void append(int type, RecordWriter payload) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(32);
+        try {
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeShort(0); // length, patched below
+            out.writeByte(type);
+            payload.write(out);
+            out.writeInt(0); // checksum, patched below
+        } catch (IOException e) {
+            throw new IllegalStateException("In-memory write failed", e);
+        }
+
+        byte[] record = bytes.toByteArray();
+        int length = record.length - RECORD_OVERHEAD;
+        if (length > MAX_PAYLOAD) throw new IllegalArgumentException("Journal record too large: " + length);
+        ByteBuffer view = ByteBuffer.wrap(record);
+        view.putShort(0, (short) length);
+        CRC32 crc = new CRC32();
+        crc.update(record, 2, 1 + length);
+        view.putInt(record.length - 4, (int) crc.getValue());
+
+        synchronized (this) {
+            pending.add(record);
+            journalBytes += record.length;
+        }
+        persistence.submit(this);
+    }
+
+    /** {@code true} once the journal should be folded into a snapshot via {@link #compact}. */
+    public synchronized boolean needsCompaction() {
+        return journalBytes >= compactAfterBytes || writeFailed;
+    }
+
+    /**
+     * Queues {@code state} as the new snapshot; records appended before this call are dropped
+     * from the journal once it is written. The caller must not modify {@code state} afterwards.
+     */
+    public void compact(S state) {
+        synchronized (this) {
+            pending.add(new Snapshot<>(state));
+            journalBytes = HEADER_SIZE;
+            writeFailed = false;
+        }
+        persistence.submit(this);
+    }
+
+    // ── Writer thread ───────────────────────────────────────────────────────────
+
+    @SuppressWarnings("unchecked")
+    private void drain() throws IOException {
+        List<Object> batch;
+        synchronized (this) {
+            if (pending.isEmpty()) return;
+            batch = new ArrayList<>(pending);
+            pending.clear();
+        }
+
+        try (FileChannel channel = openForAppend()) {
+            for (Object item : batch) {
+                if (item instanceof Snapshot<?> snapshot) {
+                    snapshotWriter.write((S) snapshot.state());
+                    channel.truncate(HEADER_SIZE);
+                    channel.position(HEADER_SIZE);
+                } else {
+                    ByteBuffer record = ByteBuffer.wrap((byte[]) item);
+                    while (record.hasRemaining()) channel.write(record);
+                }
+            }
+            channel.force(false);
+        } catch (IOException | RuntimeException e) {
+            // Some records never reached the disk; the next compaction rewrites the full state.
+            synchronized (this) {
+                writeFailed = true;
+            }
+            throw e;
+        }
+    }
+
+    private FileChannel openForAppend() throws IOException {
+        Path parent = path.getParent();
+        if (parent != null) Files.createDirectories(parent);
+
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        try {
+            if (channel.size() < HEADER_SIZE) {
+                channel.truncate(0);
+                ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putInt(VERSION).flip();
+                while (header.hasRemaining()) channel.write(header);
+            }
+            channel.position(channel.size());
+            return channel;
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.github.kd_gaming1.skyblockenhancements.repo.io;
+
+import static com.github.kd_gaming1.skyblockenhancements.SkyblockEnhancements.LOGGER;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Shared background writer for the mod's state files, so toggles and edits never wait on
+ * the disk.
+ *
+ * <p>Each store {@link #register}s a {@link Handle} and hands it an immutable snapshot of its
+ * state whenever something changes. The first change schedules a write after the handle's
+ * debounce window; changes inside that window only replace the pending snapshot, so a burst
+ * of edits costs one write of the latest state. Writes run on a single daemon thread, which
+ * also keeps writes to the same file in order.
+ *
+ * <p>{@link #flushAll} writes everything pending right away (used on disconnect) and
+ * {@link #shutdown} does the same but waits for it (used when the client stops). After
+ * shutdown, submitted snapshots are written on the calling thread.
+ */
+public final class PersistenceService {
+
+    /** Debounce window used by the mod's stores. */
+    public static final long DEFAULT_DEBOUNCE_MS = 2_000L;
+
+    private static final long SHUTDOWN_TIMEOUT_MS = 5_000L;
+    private static final long IDLE_THREAD_KEEP_ALIVE_S = 30L;
+
+    private static final ScheduledThreadPoolExecutor WRITER = createWriter();
+    private static final List<Handle<?>> HANDLES = new CopyOnWriteArrayList<>();
+    private static final AtomicBoolean SHUT_DOWN = new AtomicBoolean();
+
+    private PersistenceService() {}
+
+    /** Serialises one snapshot to disk; runs on the writer thread. */
+    @FunctionalInterface
+    public interface Writer<T> {
+        void write(T snapshot) throws IOException;
+    }
+
+    /**
+     * Registers a store.
+     *
+     * @param name   used in log messages, e.g. {@code "slot state"}
+     * @param writer writes a snapshot; must not touch the store's live state
+     */
+    public static <T> Handle<T> register(String name, long debounceMs, Writer<T> writer) {
+        Handle<T> handle = new Handle<>(name, debounceMs, writer);
+        HANDLES.add(handle);
+        return handle;
+    }
+
+    /** Starts writing every pending snapshot now, without waiting for the debounce windows. */
+    public static void flushAll() {
+        if (SHUT_DOWN.get()) return;
+        WRITER.execute(PersistenceService::writeAllPending);
+    }
+
+    /**
+     * Writes every pending snapshot and stops the writer thread, waiting up to
+     * {@value #SHUTDOWN_TIMEOUT_MS} ms. Later snapshots are written synchronously.
+     */
+    public static void shutdown() {
+        if (!SHUT_DOWN.compareAndSet(false, true)) return;
+
+        Future<?> flush = WRITER.submit(PersistenceService::writeAllPending);
+        WRITER.shutdown();
+        try {
+            flush.get(SHUTDOWN_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            LOGGER.warn("State files may not be fully saved: {}", e.toString());
+        }
+        // Anything the writer didn't reach (e.g. after a timeout) is written here instead.
+        writeAllPending();
+    }
+
+    private static void writeAllPending() {
+        for (Handle<?> handle : HANDLES) handle.writePending();
+    }
+
+    // ── Handle ──────────────────────────────────────────────────────────────────
+
+    /** One store's connection to the writer. Thread-safe. */
+    public static final class Handle<T> {
+        private final String name;
+        private final long debounceMs;
+        private final Writer<T> writer;
+
+        private final AtomicReference<T> pending = new AtomicReference<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        /** Serialises writes of this handle between the writer thread and post-shutdown callers. */
+        private final Object writeLock = new Object();
+
+        private Handle(String name, long debounceMs, Writer<T> writer) {
+            this.name = name;
+            this.debounceMs = debounceMs;
+            this.writer = writer;
+        }
+
+        /**
+         * Queues {@code snapshot} as the state to write, replacing any snapshot not yet written.
+         * The caller must not modify it afterwards.
+         */
+        public void submit(T snapshot) {
+            pending.set(snapshot);
+            if (SHUT_DOWN.get()) {
+                writePending();
+            } else if (scheduled.compareAndSet(false, true)) {
+                WRITER.schedule(this::writeScheduled, debounceMs, TimeUnit.MILLISECONDS);
+            }
+        }
+
+        /** {@code true} while a snapshot is waiting to be written. */
+        public boolean isDirty() {
+            return pending.get() != null;
+        }
+
+        private void writeScheduled() {
+            // Cleared first so a snapshot submitted during the write schedules its own.
+            scheduled.set(false);
+            writePending();
+        }
+
+        private void writePending() {
+            synchronized (writeLock) {
+                T snapshot = pending.getAndSet(null);
+                if (snapshot == null) return;
+                try {
+                    writer.write(snapshot);
+                } catch (IOException | RuntimeException e) {
+                    LOGGER.error("Failed to save {}", name, e);
+                }
+            }
+        }
+    }
+
+    private static ScheduledThreadPoolExecutor createWriter() {
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, r -> {
+            Thread t = new Thread(r, "sbe-persist");
+            t.setDaemon(true);
+            return t;
+        });
+        executor.setKeepAliveTime(IDLE_THREAD_KEEP_ALIVE_S, TimeUnit.SECONDS);
+        executor.allowCoreThreadTimeOut(true);
+        executor.setRemoveOnCancelPolicy(true);
+        return executor;
+    }
+}
@@ -0,0 +1,282 @@
+package com.github.kd_gaming1.skyblockenhancements.repo.item;
+
+import com.github.kd_gaming1.skyblockenhancements.util.ItemRarity;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Read-only view of a compiled NEU item index file, memory-mapped so lookups touch the
+ * page cache instead of the heap.
+ *
+ * <p>File layout (big-endian), written by {@link NeuItemIndexCompiler}:
+ * <pre>
+ *   header    {@value #HEADER_SIZE} bytes: magic, version, counts and section offsets
+ *   records   itemCount × {@value #RECORD_SIZE} bytes, sorted by internal ID
+ *   hash      hashCapacity × int: record index + 1, 0 for an empty slot
+ *   recipes   per recipe: type, output count, ingredient count, (ID string, count) pairs
+ *   strings   per string: unsigned short UTF-8 length, then the bytes
+ * </pre>
+ *
+ * <p>{@link #indexOf} hashes the query ID and probes the open-addressing table, comparing
+ * against the stored UTF-8 bytes in place, so resolving an ID allocates nothing. Strings are
+ * only decoded when a caller asks for one. Instances are immutable and safe to share.
+ */
+public final class NeuItemIndex {
+
+    public static final int NO_ITEM = -1;
+
+    static final int MAGIC = 0x53424549; // "SBEI"
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 40;
+    static final int RECORD_SIZE = 32;
+
+    // Header fields
+    static final int H_MAGIC = 0;
+    static final int H_VERSION = 4;
+    static final int H_ITEM_COUNT = 8;
+    static final int H_HASH_OFFSET = 12;
+    static final int H_HASH_CAPACITY = 16;
+    static final int H_RECIPES_OFFSET = 20;
+    static final int H_STRINGS_OFFSET = 24;
+    static final int H_COMMIT_STRING = 28;
+    static final int H_BUILT_AT = 32; // long
+
+    // Record fields
+    static final int R_ID = 0;
+    static final int R_NAME = 4;
+    static final int R_CATEGORY = 8;
+    static final int R_RARITY = 12; // byte; -1 when unknown
+    static final int R_NPC_SELL_PRICE = 16; // double; NaN when unknown
+    static final int R_RECIPES = 24;
+    static final int R_RECIPE_COUNT = 28;
+
+    static final int NO_STRING = -1;
+
+    /** An index with no items, used until a real one is available. */
+    public static final NeuItemIndex EMPTY = new NeuItemIndex(emptyBuffer(), null);
+
+    private static final ItemRarity[] RARITIES = ItemRarity.values();
+
+    private final ByteBuffer buffer;
+    @Nullable private final Path path;
+    private final int itemCount;
+    private final int hashOffset;
+    private final int hashMask;
+    private final int recipesOffset;
+    private final int stringsOffset;
+
+    private NeuItemIndex(ByteBuffer buffer, @Nullable Path path) {
+        this.buffer = buffer;
+        this.path = path;
+        this.itemCount = buffer.getInt(H_ITEM_COUNT);
+        this.hashOffset = buffer.getInt(H_HASH_OFFSET);
+        this.hashMask = buffer.getInt(H_HASH_CAPACITY) - 1;
+        this.recipesOffset = buffer.getInt(H_RECIPES_OFFSET);
+        this.stringsOffset = buffer.getInt(H_STRINGS_OFFSET);
+    }
+
+    /**
+     * Maps and validates an index file.
+     *
+     * @throws IOException if the file can't be mapped or isn't a current-version index
+     */
+    public static NeuItemIndex open(Path path) throws IOException {
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_SIZE || size > Integer.MAX_VALUE) throw new IOException("Bad index size " + size);
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        }
+
+        if (buffer.getInt(H_MAGIC) != MAGIC) throw new IOException("Not an item index: " + path);
+        if (buffer.getInt(H_VERSION) != VERSION) throw new IOException("Outdated item index version " + buffer.getInt(H_VERSION));
+
+        int capacity = buffer.getInt(H_HASH_CAPACITY);
+        int itemCount = buffer.getInt(H_ITEM_COUNT);
+        long recordsEnd = HEADER_SIZE + (long) itemCount * RECORD_SIZE;
+        if (itemCount < 0 || Integer.bitCount(capacity) != 1 || capacity <= itemCount
+                || recordsEnd > buffer.getInt(H_HASH_OFFSET)
+                || buffer.getInt(H_HASH_OFFSET) + (long) capacity * 4 > buffer.getInt(H_RECIPES_OFFSET)
+                || buffer.getInt(H_RECIPES_OFFSET) > buffer.getInt(H_STRINGS_OFFSET)
+                || buffer.getInt(H_STRINGS_OFFSET) > buffer.capacity()) {
+            throw new IOException("Corrupt item index: " + path);
+        }
+        return new NeuItemIndex(buffer, path);
+    }
+
+    // ── Lookup ──────────────────────────────────────────────────────────────────
+
+    public int size() {
+        return itemCount;
+    }
+
+    /** The file this index was mapped from, or {@code null} for {@link #EMPTY}. */
+    @Nullable
+    public Path path() {
+        return path;
+    }
+
+    /** The repo commit the index was compiled from, or {@code null} for {@link #EMPTY}. */
+    @Nullable
+    public String sourceCommit() {
+        return path == null ? null : string(buffer.getInt(H_COMMIT_STRING));
+    }
+
+    public long builtAt() {
+        return buffer.getLong(H_BUILT_AT);
+    }
+
+    /** Returns the record index of {@code internalId}, or {@link #NO_ITEM}. Allocation-free. */
+    public int indexOf(@Nullable String internalId) {
+        if (internalId == null || itemCount == 0) return NO_ITEM;
+        for (int slot = hash(internalId) & hashMask; ; slot = (slot + 1) & hashMask) {
+            int entry = buffer.getInt(hashOffset + slot * 4);
+            if (entry == 0) return NO_ITEM;
+            int item = entry - 1;
+            if (stringEquals(buffer.getInt(record(item) + R_ID), internalId)) return item;
+        }
+    }
+
+    public boolean contains(String internalId) {
+        return indexOf(internalId) != NO_ITEM;
+    }
+
+    // ── Record fields ───────────────────────────────────────────────────────────
+
+    public String internalId(int item) {
+        return string(buffer.getInt(record(item) + R_ID));
+    }
+
+    /** Display name with formatting codes, e.g. {@code "§6Hyperion"}. */
+    public String displayName(int item) {
+        return string(buffer.getInt(record(item) + R_NAME));
+    }
+
+    /** Base rarity from the item's definition, before any recombobulation. */
+    @Nullable
+    public ItemRarity rarity(int item) {
+        int ordinal = buffer.get(record(item) + R_RARITY);
+        return ordinal >= 0 && ordinal < RARITIES.length ? RARITIES[ordinal] : null;
+    }
+
+    /** Item type from the rarity line, e.g. {@code "DUNGEON SWORD"}, or {@code null}. */
+    @Nullable
+    public String category(int item) {
+        int offset = buffer.getInt(record(item) + R_CATEGORY);
+        return offset == NO_STRING ? null : string(offset);
+    }
+
+    /** Coins an NPC pays for one of this item, or {@code NaN} if it can't be sold. */
+    public double npcSellPrice(int item) {
+        return buffer.getDouble(record(item) + R_NPC_SELL_PRICE);
+    }
+
+    public int recipeCount(int item) {
+        return buffer.getInt(record(item) + R_RECIPE_COUNT);
+    }
+
+    // ── Recipes ─────────────────────────────────────────────────────────────────
+
+    public enum RecipeType {
+        CRAFTING, FORGE;
+
+        private static final RecipeType[] VALUES = values();
+    }
+
+    /**
+     * One way to make an item.
+     *
+     * @param outputCount how many items one craft yields
+     */
+    public record Recipe(RecipeType type, float outputCount, String[] ingredientIds, float[] ingredientCounts) {}
+
+    /** Decodes every recipe for {@code item}; allocates, so don't call it per frame. */
+    public List<Recipe> recipes(int item) {
+        int count = recipeCount(item);
+        if (count == 0) return List.of();
+
+        List<Recipe> recipes = new ArrayList<>(count);
+        int pos = recipesOffset + buffer.getInt(record(item) + R_RECIPES);
+        for (int r = 0; r < count; r++) {
+            RecipeType type = RecipeType.VALUES[buffer.get(pos)];
+            float outputCount = buffer.getFloat(pos + 1);
+            int ingredients = buffer.getShort(pos + 5) & 0xFFFF;
+            pos += 7;
+
+            String[] ids = new String[ingredients];
+            float[] counts = new float[ingredients];
+            for (int i = 0; i < ingredients; i++, pos += 8) {
+                ids[i] = string(buffer.getInt(pos));
+                counts[i] = buffer.getFloat(pos + 4);
+            }
+            recipes.add(new Recipe(type, outputCount, ids, counts));
+        }
+        return recipes;
+    }
+
+    // ── Internals ───────────────────────────────────────────────────────────────
+
+    private int record(int item) {
+        if (item < 0 || item >= itemCount) throw new IndexOutOfBoundsException(item);
+        return HEADER_SIZE + item * RECORD_SIZE;
+    }
+
+    private String string(int offset) {
+        int pos = stringsOffset + offset;
+        int length = buffer.getShort(pos) & 0xFFFF;
+        byte[] bytes = new byte[length];
+        buffer.get(pos + 2, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /** Compares a stored string with {@code value} without decoding it, when {@code value} is ASCII. */
+    private boolean stringEquals(int offset, String value) {
+        int pos = stringsOffset + offset;
+        int length = buffer.getShort(pos) & 0xFFFF;
+        if (length != value.length()) {
+            // A non-ASCII value encodes to more bytes than chars, so only then can lengths differ.
+            return !isAscii(value) && string(offset).equals(value);
+        }
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c >= 0x80) return string(offset).equals(value);
+            if (buffer.get(pos + 2 + i) != (byte) c) return false;
+        }
+        return true;
+    }
+
+    private static boolean isAscii(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) >= 0x80) return false;
+        }
+        return true;
+    }
+
+    /** FNV-1a over UTF-16 chars; the compiler uses the same function. */
+    static int hash(String value) {
+        int h = 0x811C9DC5;
+        for (int i = 0; i < value.length(); i++) {
+            h ^= value.charAt(i);
+            h *= 0x01000193;
+        }
+        return h ^ (h >>> 16);
+    }
+
+    private static ByteBuffer emptyBuffer() {
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + 4);
+        buffer.putInt(H_MAGIC, MAGIC);
+        buffer.putInt(H_VERSION, VERSION);
+        buffer.putInt(H_HASH_OFFSET, HEADER_SIZE);
+        buffer.putInt(H_HASH_CAPACITY, 1);
+        buffer.putInt(H_RECIPES_OFFSET, HEADER_SIZE + 4);
+        buffer.putInt(H_STRINGS_OFFSET, HEADER_SIZE + 4);
+        return buffer;
+    }
+}
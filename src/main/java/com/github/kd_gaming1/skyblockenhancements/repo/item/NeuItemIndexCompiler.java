@@ -0,0 +1,367 @@
+package com.github.kd_gaming1.skyblockenhancements.repo.item;
+
+import static com.github.kd_gaming1.skyblockenhancements.SkyblockEnhancements.LOGGER;
+import static com.github.kd_gaming1.skyblockenhancements.repo.item.NeuItemIndex.*;
+
+import com.github.kd_gaming1.skyblockenhancements.repo.io.AtomicFileWriter;
+import com.github.kd_gaming1.skyblockenhancements.util.ItemRarity;
+import com.github.kd_gaming1.skyblockenhancements.util.StringUtil;
+import com.google.gson.JsonParseException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import it.unimi.dsi.fastutil.objects.Object2DoubleMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Compiles the NEU repo's {@code items/*.json} definitions into a {@link NeuItemIndex} file.
+ *
+ * <p>Each definition is streamed with a {@link JsonReader} and reduced to what the mod reads
+ * at runtime: internal ID, display name, rarity and type from the rarity line of the lore,
+ * and the crafting and forge recipes. NPC sell prices come from a separate map, since NEU
+ * item files don't carry them.
+ */
+public final class NeuItemIndexCompiler {
+
+    private static final String[] RECIPE_SLOTS = {"A1", "A2", "A3", "B1", "B2", "B3", "C1", "C2", "C3"};
+
+    /** Rarities tested longest-keyword first, so {@code UNCOMMON} isn't read as {@code COMMON}. */
+    private static final ItemRarity[] RARITIES_BY_KEYWORD_LENGTH = Arrays.stream(ItemRarity.values())
+            .sorted(Comparator.comparingInt((ItemRarity r) -> r.keyword().length()).reversed())
+            .toArray(ItemRarity[]::new);
+
+    private NeuItemIndexCompiler() {}
+
+    /**
+     * Reads every definition in {@code itemsDir} and writes the index atomically to {@code target}.
+     *
+     * @param npcSellPrices internal ID → NPC sell price; items without an entry get {@code NaN}
+     * @return the number of items indexed
+     * @throws IOException if the directory can't be listed or the index can't be written
+     */
+    public static int compile(Path itemsDir, Object2DoubleMap<String> npcSellPrices, String sourceCommit,
+                              Path target) throws IOException {
+        List<ItemDefinition> items = new ArrayList<>(8192);
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(itemsDir, "*.json")) {
+            for (Path file : files) {
+                try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                    ItemDefinition item = readDefinition(new JsonReader(reader));
+                    if (item != null) items.add(item);
+                } catch (IOException | IllegalStateException | JsonParseException | NumberFormatException e) {
+                    LOGGER.warn("Skipping unreadable NEU item {}: {}", file.getFileName(), e.getMessage());
+                }
+            }
+        }
+        items.sort(Comparator.comparing(ItemDefinition::internalId));
+
+        AtomicFileWriter.writeBytes(target, encode(items, npcSellPrices, sourceCommit));
+        return items.size();
+    }
+
+    // ── Parsing ─────────────────────────────────────────────────────────────────
+
+    private record ItemDefinition(String internalId, String displayName, @Nullable ItemRarity rarity,
+                                  @Nullable String category, List<RecipeDefinition> recipes) {}
+
+    private record RecipeDefinition(RecipeType type, float outputCount, Map<String, Float> ingredients) {}
+
+    @Nullable
+    static ItemDefinition readDefinition(JsonReader reader) throws IOException {
+        String internalId = null;
+        String displayName = "";
+        String[] loreEnds = null;
+        List<RecipeDefinition> recipes = new ArrayList<>(1);
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "internalname" -> internalId = reader.nextString();
+                case "displayname" -> displayName = reader.nextString();
+                case "lore" -> loreEnds = readLoreEnds(reader);
+                case "recipe" -> addIfPresent(recipes, readCraftingRecipe(reader));
+                case "recipes" -> {
+                    reader.beginArray();
+                    while (reader.hasNext()) addIfPresent(recipes, readTypedRecipe(reader));
+                    reader.endArray();
+                }
+                default -> reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        if (internalId == null || internalId.isEmpty()) return null;
+
+        String rarityLine = loreEnds != null ? loreEnds[1] : null;
+        // Enchanted books are all named "Enchanted Book"; the enchant's own name is the first lore line.
+        if (loreEnds != null && loreEnds[0] != null && StringUtil.stripColorCodes(displayName).equals("Enchanted Book")) {
+            displayName = loreEnds[0];
+        }
+
+        ItemRarity rarity = null;
+        String category = null;
+        if (rarityLine != null) {
+            String line = stripObfuscated(rarityLine).toUpperCase(Locale.ROOT);
+            for (ItemRarity candidate : RARITIES_BY_KEYWORD_LENGTH) {
+                int at = line.indexOf(candidate.keyword());
+                if (at < 0) continue;
+                rarity = candidate;
+                category = readCategory(line, at + candidate.keyword().length());
+                break;
+            }
+        }
+        return new ItemDefinition(internalId, displayName, rarity, category, recipes);
+    }
+
+    /**
+     * The first and last non-blank lore lines; the last one carries the rarity and item type.
+     * Either is {@code null} when the lore is blank.
+     */
+    private static String[] readLoreEnds(JsonReader reader) throws IOException {
+        String[] ends = new String[2];
+        reader.beginArray();
+        while (reader.hasNext()) {
+            String line = reader.nextString();
+            if (StringUtil.stripColorCodes(line).isBlank()) continue;
+            if (ends[0] == null) ends[0] = line;
+            ends[1] = line;
+        }
+        reader.endArray();
+        return ends;
+    }
+
+    /** Drops {@code §k} (obfuscated) runs, which decorate mythic+ rarity lines with noise characters. */
+    private static String stripObfuscated(String line) {
+        StringBuilder out = new StringBuilder(line.length());
+        boolean obfuscated = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '§' && i + 1 < line.length()) {
+                char code = Character.toLowerCase(line.charAt(++i));
+                if (code == 'k') obfuscated = true;
+                else if (code == 'r' || (code >= '0' && code <= '9') || (code >= 'a' && code <= 'f')) obfuscated = false;
+                continue;
+            }
+            if (!obfuscated) out.append(c);
+        }
+        return out.toString();
+    }
+
+    /** The upper-case words after the rarity keyword, e.g. {@code "DUNGEON SWORD"}. */
+    @Nullable
+    private static String readCategory(String line, int from) {
+        int start = from;
+        while (start < line.length() && line.charAt(start) == ' ') start++;
+        int end = start;
+        while (end < line.length()) {
+            char c = line.charAt(end);
+            if (!(c >= 'A' && c <= 'Z') && c != ' ' && c != '_') break;
+            end++;
+        }
+        String category = line.substring(start, end).trim();
+        return category.isEmpty() ? null : category;
+    }
+
+    /** Legacy {@code "recipe"} object: nine slots of {@code "ID:count"}. */
+    @Nullable
+    private static RecipeDefinition readCraftingRecipe(JsonReader reader) throws IOException {
+        if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+            reader.skipValue();
+            return null;
+        }
+        Map<String, Float> ingredients = new LinkedHashMap<>();
+        float outputCount = 1f;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            if (isSlot(name) && reader.peek() == JsonToken.STRING) {
+                addIngredient(ingredients, reader.nextString());
+            } else if (name.equals("count") && reader.peek() == JsonToken.NUMBER) {
+                outputCount = (float) reader.nextDouble();
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return ingredients.isEmpty() ? null : new RecipeDefinition(RecipeType.CRAFTING, outputCount, ingredients);
+    }
+
+    /** An entry of the {@code "recipes"} array; only crafting and forge recipes are kept. */
+    @Nullable
+    private static RecipeDefinition readTypedRecipe(JsonReader reader) throws IOException {
+        if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+            reader.skipValue();
+            return null;
+        }
+        String type = "crafting";
+        Map<String, Float> ingredients = new LinkedHashMap<>();
+        float outputCount = 1f;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            if (name.equals("type") && reader.peek() == JsonToken.STRING) {
+                type = reader.nextString();
+            } else if (name.equals("count") && reader.peek() == JsonToken.NUMBER) {
+                outputCount = (float) reader.nextDouble();
+            } else if (isSlot(name) && reader.peek() == JsonToken.STRING) {
+                addIngredient(ingredients, reader.nextString());
+            } else if (name.equals("inputs") && reader.peek() == JsonToken.BEGIN_ARRAY) {
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    if (reader.peek() == JsonToken.STRING) addIngredient(ingredients, reader.nextString());
+                    else reader.skipValue();
+                }
+                reader.endArray();
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        RecipeType recipeType = switch (type) {
+            case "crafting" -> RecipeType.CRAFTING;
+            case "forge" -> RecipeType.FORGE;
+            default -> null;
+        };
+        if (recipeType == null || ingredients.isEmpty() || !(outputCount > 0)) return null;
+        return new RecipeDefinition(recipeType, outputCount, ingredients);
+    }
+
+    private static boolean isSlot(String name) {
+        for (String slot : RECIPE_SLOTS) {
+            if (slot.equals(name)) return true;
+        }
+        return false;
+    }
+
+    /** Parses {@code "ID:count"} (count defaults to 1) and sums repeated ingredients. */
+    private static void addIngredient(Map<String, Float> ingredients, String spec) {
+        if (spec.isBlank()) return;
+        int colon = spec.lastIndexOf(':');
+        String id = spec;
+        float count = 1f;
+        if (colon > 0) {
+            try {
+                count = Float.parseFloat(spec.substring(colon + 1));
+                id = spec.substring(0, colon);
+            } catch (NumberFormatException ignored) {
+                // Not a count suffix; keep the whole spec as the ID.
+            }
+        }
+        if (count > 0) ingredients.merge(id, count, Float::sum);
+    }
+
+    private static void addIfPresent(List<RecipeDefinition> recipes, @Nullable RecipeDefinition recipe) {
+        if (recipe != null) recipes.add(recipe);
+    }
+
+    // ── Encoding ────────────────────────────────────────────────────────────────
+
+    private static byte[] encode(List<ItemDefinition> items, Object2DoubleMap<String> npcSellPrices,
+                                 String sourceCommit) throws IOException {
+        StringTable strings = new StringTable();
+        ByteArrayOutputStream recipes = new ByteArrayOutputStream();
+        ByteBuffer recipeScratch = ByteBuffer.allocate(8);
+
+        int itemCount = items.size();
+        int capacity = Integer.highestOneBit(Math.max(1, itemCount * 2 - 1)) << 1;
+        int hashOffset = HEADER_SIZE + itemCount * RECORD_SIZE;
+        int recipesOffset = hashOffset + capacity * 4;
+
+        ByteBuffer records = ByteBuffer.allocate(itemCount * RECORD_SIZE);
+        int[] hashTable = new int[capacity];
+        for (int i = 0; i < itemCount; i++) {
+            ItemDefinition item = items.get(i);
+            int base = i * RECORD_SIZE;
+            records.putInt(base + R_ID, strings.add(item.internalId()));
+            records.putInt(base + R_NAME, strings.add(item.displayName()));
+            records.putInt(base + R_CATEGORY, item.category() != null ? strings.add(item.category()) : NO_STRING);
+            records.put(base + R_RARITY, (byte) (item.rarity() != null ? item.rarity().ordinal() : -1));
+            records.putDouble(base + R_NPC_SELL_PRICE, npcSellPrices.getOrDefault(item.internalId(), Double.NaN));
+            records.putInt(base + R_RECIPES, recipes.size());
+            records.putInt(base + R_RECIPE_COUNT, item.recipes().size());
+
+            for (RecipeDefinition recipe : item.recipes()) {
+                int ingredients = Math.min(recipe.ingredients().size(), 0xFFFF);
+                recipes.write(recipe.type().ordinal());
+                recipes.write(recipeScratch.putFloat(0, recipe.outputCount()).array(), 0, 4);
+                recipes.write(recipeScratch.putShort(0, (short) ingredients).array(), 0, 2);
+                int written = 0;
+                for (Map.Entry<String, Float> ingredient : recipe.ingredients().entrySet()) {
+                    if (written++ == ingredients) break;
+                    recipeScratch.putInt(0, strings.add(ingredient.getKey())).putFloat(4, ingredient.getValue());
+                    recipes.write(recipeScratch.array(), 0, 8);
+                }
+            }
+
+            int slot = NeuItemIndex.hash(item.internalId()) & (capacity - 1);
+            while (hashTable[slot] != 0) slot = (slot + 1) & (capacity - 1);
+            hashTable[slot] = i + 1;
+        }
+
+        int commitString = strings.add(sourceCommit);
+        int stringsOffset = recipesOffset + recipes.size();
+        ByteBuffer out = ByteBuffer.allocate(stringsOffset + strings.size());
+        out.putInt(H_MAGIC, MAGIC);
+        out.putInt(H_VERSION, VERSION);
+        out.putInt(H_ITEM_COUNT, itemCount);
+        out.putInt(H_HASH_OFFSET, hashOffset);
+        out.putInt(H_HASH_CAPACITY, capacity);
+        out.putInt(H_RECIPES_OFFSET, recipesOffset);
+        out.putInt(H_STRINGS_OFFSET, stringsOffset);
+        out.putInt(H_COMMIT_STRING, commitString);
+        out.putLong(H_BUILT_AT, System.currentTimeMillis());
+
+        out.put(HEADER_SIZE, records.array());
+        for (int slot = 0; slot < capacity; slot++) out.putInt(hashOffset + slot * 4, hashTable[slot]);
+        out.put(recipesOffset, recipes.toByteArray());
+        out.put(stringsOffset, strings.toByteArray());
+        return out.array();
+    }
+
+    /** Deduplicating string table; offsets are relative to the start of the table. */
+    private static final class StringTable {
+        private final Object2IntOpenHashMap<String> offsets = new Object2IntOpenHashMap<>();
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream(1 << 16);
+
+        StringTable() {
+            offsets.defaultReturnValue(-1);
+        }
+
+        int add(String value) {
+            int existing = offsets.getInt(value);
+            if (existing >= 0) return existing;
+
+            byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+            int length = Math.min(utf8.length, 0xFFFF);
+            int offset = bytes.size();
+            bytes.write(length >>> 8);
+            bytes.write(length);
+            bytes.write(utf8, 0, length);
+            offsets.put(value, offset);
+            return offset;
+        }
+
+        int size() {
+            return bytes.size();
+        }
+
+        byte[] toByteArray() {
+            return bytes.toByteArray();
+        }
+    }
+}
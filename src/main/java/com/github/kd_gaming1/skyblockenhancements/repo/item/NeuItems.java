@@ -0,0 +1,193 @@
+package com.github.kd_gaming1.skyblockenhancements.repo.item;
+
+import static com.github.kd_gaming1.skyblockenhancements.SkyblockEnhancements.LOGGER;
+
+import com.github.kd_gaming1.skyblockenhancements.repo.network.JsonHttpClient;
+import com.github.kd_gaming1.skyblockenhancements.repo.sync.RepoSync;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import it.unimi.dsi.fastutil.objects.Object2DoubleMap;
+import it.unimi.dsi.fastutil.objects.Object2DoubleOpenHashMap;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Public facade for NEU item metadata, backed by a memory-mapped {@link NeuItemIndex}.
+ *
+ * <p>On {@link #init} the newest index from a previous session is mapped straight away, so
+ * lookups work before the repo sync finishes. Whenever a sync changes anything under
+ * {@code items/}, the index is recompiled on the sync thread into a new file and swapped in
+ * with a single volatile write. Each build gets its own file name because a mapped file
+ * can't be replaced on Windows; superseded files are removed on the next launch.
+ */
+public final class NeuItems {
+
+    /** Repo directory holding one JSON definition per item. */
+    public static final String ITEMS_REPO_PATH = "items/";
+
+    private static final String NPC_PRICES_URL = "https://api.hypixel.net/v2/resources/skyblock/items";
+    private static final String FILE_PREFIX = "neu_items-";
+    private static final String FILE_SUFFIX = ".idx";
+
+    private static volatile NeuItemIndex index = NeuItemIndex.EMPTY;
+    private static final List<Consumer<NeuItemIndex>> RELOAD_LISTENERS = new CopyOnWriteArrayList<>();
+
+    private static Path indexDir;
+    private static JsonHttpClient http;
+
+    private NeuItems() {}
+
+    /**
+     * Maps the last compiled index and recompiles whenever {@code repoSync} reports changed
+     * item definitions.
+     *
+     * @param http client for the NPC sell price list; a cached one keeps rebuilds offline-safe
+     */
+    public static void init(RepoSync repoSync, JsonHttpClient http, Path indexDir) {
+        NeuItems.indexDir = indexDir;
+        NeuItems.http = http;
+        openNewest();
+        repoSync.addReadyListener(event -> {
+            boolean itemsChanged = event.changedPaths().stream().anyMatch(p -> p.startsWith(ITEMS_REPO_PATH));
+            if (itemsChanged || index == NeuItemIndex.EMPTY) rebuild(repoSync.resolve(ITEMS_REPO_PATH), event.commit());
+        });
+    }
+
+    /** The current index; {@link NeuItemIndex#EMPTY} until one has been built. */
+    public static NeuItemIndex index() {
+        return index;
+    }
+
+    /**
+     * Registers a listener called with each newly mapped index, on the thread that mapped it
+     * (the init thread for the cached index, the repo sync thread after a rebuild).
+     */
+    public static void addReloadListener(Consumer<NeuItemIndex> listener) {
+        RELOAD_LISTENERS.add(listener);
+    }
+
+    private static void swap(NeuItemIndex next) {
+        index = next;
+        for (Consumer<NeuItemIndex> listener : RELOAD_LISTENERS) {
+            try {
+                listener.accept(next);
+            } catch (Exception e) {
+                LOGGER.warn("Item index listener failed", e);
+            }
+        }
+    }
+
+    // ── Lifecycle ───────────────────────────────────────────────────────────────
+
+    private static void openNewest() {
+        List<Path> files = listIndexFiles();
+        files.sort((a, b) -> Long.compare(lastModified(b), lastModified(a)));
+
+        for (Path file : files) {
+            if (index != NeuItemIndex.EMPTY) {
+                deleteQuietly(file);
+                continue;
+            }
+            try {
+                swap(NeuItemIndex.open(file));
+                LOGGER.info("Mapped NEU item index with {} items", index.size());
+            } catch (IOException e) {
+                LOGGER.info("Discarding item index {}: {}", file.getFileName(), e.getMessage());
+                deleteQuietly(file);
+            }
+        }
+    }
+
+    private static void rebuild(Path itemsDir, String commit) {
+        if (!Files.isDirectory(itemsDir)) return;
+
+        long start = System.nanoTime();
+        Path target = indexDir.resolve(FILE_PREFIX + System.currentTimeMillis() + FILE_SUFFIX);
+        try {
+            int count = NeuItemIndexCompiler.compile(itemsDir, fetchNpcSellPrices(), commit, target);
+            swap(NeuItemIndex.open(target));
+            LOGGER.info("Compiled NEU item index: {} items in {} ms", count,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } catch (IOException e) {
+            LOGGER.error("Failed to compile NEU item index", e);
+            deleteQuietly(target);
+        }
+    }
+
+    /** Hypixel's item list, which is where NPC sell prices live; empty if unavailable. */
+    private static Object2DoubleMap<String> fetchNpcSellPrices() {
+        Object2DoubleOpenHashMap<String> prices = new Object2DoubleOpenHashMap<>();
+        String body = http.getString(NPC_PRICES_URL);
+        if (body == null) return prices;
+
+        try (JsonReader reader = new JsonReader(new StringReader(body))) {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                if (!reader.nextName().equals("items") || reader.peek() != JsonToken.BEGIN_ARRAY) {
+                    reader.skipValue();
+                    continue;
+                }
+                reader.beginArray();
+                while (reader.hasNext()) readNpcSellPrice(reader, prices);
+                reader.endArray();
+            }
+            reader.endObject();
+        } catch (IOException | IllegalStateException | NumberFormatException e) {
+            LOGGER.warn("Malformed Hypixel item list, indexing without NPC prices: {}", e.getMessage());
+            prices.clear();
+        }
+        return prices;
+    }
+
+    private static void readNpcSellPrice(JsonReader reader, Object2DoubleMap<String> prices) throws IOException {
+        String id = null;
+        double price = Double.NaN;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "id" -> id = reader.nextString();
+                case "npc_sell_price" -> price = reader.nextDouble();
+                default -> reader.skipValue();
+            }
+        }
+        reader.endObject();
+        if (id != null && !Double.isNaN(price)) prices.put(id, price);
+    }
+
+    // ── Files ───────────────────────────────────────────────────────────────────
+
+    private static List<Path> listIndexFiles() {
+        List<Path> files = new ArrayList<>();
+        if (!Files.isDirectory(indexDir)) return files;
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(indexDir, FILE_PREFIX + "*" + FILE_SUFFIX)) {
+            stream.forEach(files::add);
+        } catch (IOException e) {
+            LOGGER.warn("Failed to list item index files: {}", e.getMessage());
+        }
+        return files;
+    }
+
+    private static long lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException e) {
+            return 0L;
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            // Still mapped by this process on Windows; the next launch removes it.
+        }
+    }
+}
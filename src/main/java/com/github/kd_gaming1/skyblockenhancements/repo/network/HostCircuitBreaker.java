@@ -0,0 +1,95 @@
+package com.github.kd_gaming1.skyblockenhancements.repo.network;
+
+import static com.github.kd_gaming1.skyblockenhancements.SkyblockEnhancements.LOGGER;
+
+import java.net.ConnectException;
+import java.net.URI;
+import java.nio.channels.UnresolvedAddressException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-host circuit breaker for the data downloads in {@link JsonHttpClient}.
+ *
+ * <p>After {@value #FAILURE_THRESHOLD} consecutive failures — or a single failure to connect
+ * at all, which means the host or the network is down — the breaker opens and requests to
+ * that host are refused without touching the network, so callers fall back to cached data
+ * immediately. Once the open period ends a single probe request is let through: success
+ * closes the breaker, failure re-opens it for twice as long, up to {@value #MAX_OPEN_MS} ms.
+ *
+ * <p>Only transport errors and {@code 5xx} responses count as failures; a {@code 4xx} means
+ * the host is up.
+ */
+public final class HostCircuitBreaker {
+
+    private static final int FAILURE_THRESHOLD = 3;
+    private static final long BASE_OPEN_MS = 30_000L;
+    private static final long MAX_OPEN_MS = 600_000L;
+
+    private static final Map<String, HostCircuitBreaker> BY_HOST = new ConcurrentHashMap<>();
+
+    private final String host;
+
+    private int consecutiveFailures;
+    /** How many times in a row the breaker has opened; doubles the open period. */
+    private int openCount;
+    private boolean open;
+    private long openUntilNanos;
+    private boolean probeInFlight;
+
+    private HostCircuitBreaker(String host) {
+        this.host = host;
+    }
+
+    /** Returns the shared breaker for {@code uri}'s host. */
+    public static HostCircuitBreaker forUri(URI uri) {
+        String host = uri.getHost();
+        return BY_HOST.computeIfAbsent(host != null ? host : "", HostCircuitBreaker::new);
+    }
+
+    /**
+     * Whether a request may be sent now. While half-open this admits exactly one probe; its
+     * outcome must be reported through {@link #recordSuccess} or {@link #recordFailure}.
+     */
+    public synchronized boolean allowRequest() {
+        if (!open) return true;
+        if (System.nanoTime() - openUntilNanos < 0 || probeInFlight) return false;
+        probeInFlight = true;
+        return true;
+    }
+
+    public synchronized void recordSuccess() {
+        if (open) LOGGER.info("{} is reachable again", host);
+        consecutiveFailures = 0;
+        openCount = 0;
+        open = false;
+        probeInFlight = false;
+    }
+
+    /** Releases a probe that was admitted but never sent, e.g. because the caller was interrupted. */
+    public synchronized void recordAbandoned() {
+        probeInFlight = false;
+    }
+
+    /** Records a failed request; {@code cause} is {@code null} for an HTTP {@code 5xx}. */
+    public synchronized void recordFailure(Throwable cause) {
+        consecutiveFailures++;
+        boolean probeFailed = probeInFlight;
+        probeInFlight = false;
+        if (!probeFailed && !isUnreachable(cause) && consecutiveFailures < FAILURE_THRESHOLD) return;
+
+        long openMs = Math.min(MAX_OPEN_MS, BASE_OPEN_MS << Math.min(openCount, 16));
+        openCount++;
+        open = true;
+        openUntilNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(openMs);
+        LOGGER.warn("{} looks unreachable, pausing requests for {}s", host, openMs / 1000);
+    }
+
+    private static boolean isUnreachable(Throwable cause) {
+        for (Throwable t = cause; t != null; t = t.getCause()) {
+            if (t instanceof ConnectException || t instanceof UnresolvedAddressException) return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,178 @@
+package com.github.kd_gaming1.skyblockenhancements.repo.network;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpResponse;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-host token bucket shared by every outbound HTTP request in the mod.
+ *
+ * <p>Each host gets a bucket sized by its {@link Policy}: the code that talks to a host
+ * {@link #configure}s its budget, and other hosts get {@link Policy#DEFAULT}. A request takes a
+ * token before it is sent, so independent requests to the same host can go out concurrently
+ * while the budget allows and are spaced out automatically once it is spent. A {@code 429}
+ * response empties the bucket and pauses the host for its {@code Retry-After} period, so every
+ * caller backs off together.
+ *
+ * <p>{@link #acquire} waits at most {@value #MAX_WAIT_MS} ms for a token. Longer waits, such as
+ * a paused host, fail at once with a {@link RateLimitedException}, so a limited host never
+ * parks the shared network threads; callers fall back to cached data or retry later.
+ */
+public final class HostRateLimiter {
+
+    /** Longest {@link #acquire} sleeps for a token before failing instead. */
+    private static final long MAX_WAIT_MS = 2_000L;
+    /** Pause applied to a 429 without a usable {@code Retry-After} header. */
+    private static final long DEFAULT_RETRY_AFTER_MS = 10_000L;
+    private static final long MAX_RETRY_AFTER_MS = 900_000L;
+
+    private static final Map<String, Policy> POLICIES = new ConcurrentHashMap<>();
+    private static final Map<String, HostRateLimiter> BY_HOST = new ConcurrentHashMap<>();
+
+    private final String host;
+    private final double capacity;
+    private final long nanosPerToken;
+
+    private double tokens;
+    private long lastRefillNanos;
+    private long pausedUntilNanos;
+
+    /**
+     * Request budget of one host.
+     *
+     * @param burst            requests that may go out back to back
+     * @param refillIntervalMs time for one token to come back
+     */
+    public record Policy(int burst, long refillIntervalMs) {
+        /** Budget for hosts nobody configured: two requests, then one per second. */
+        public static final Policy DEFAULT = new Policy(2, 1_000L);
+
+        public Policy {
+            if (burst < 1 || refillIntervalMs < 1) throw new IllegalArgumentException("Invalid rate policy");
+        }
+    }
+
+    /** Thrown by {@link #acquire} when the host's budget won't allow a request soon. */
+    public static final class RateLimitedException extends IOException {
+        private final long retryAfterMs;
+
+        RateLimitedException(String host, long retryAfterMs) {
+            super("Rate limited by " + host + " for " + retryAfterMs + " ms");
+            this.retryAfterMs = retryAfterMs;
+        }
+
+        /** Time until the host accepts requests again. */
+        public long retryAfterMs() {
+            return retryAfterMs;
+        }
+    }
+
+    private HostRateLimiter(String host, Policy policy) {
+        this.host = host;
+        this.capacity = policy.burst();
+        this.nanosPerToken = TimeUnit.MILLISECONDS.toNanos(policy.refillIntervalMs());
+        this.tokens = capacity;
+        this.lastRefillNanos = System.nanoTime();
+        this.pausedUntilNanos = lastRefillNanos;
+    }
+
+    /** Returns the shared limiter for {@code uri}'s host. */
+    public static HostRateLimiter forUri(URI uri) {
+        String host = uri.getHost();
+        return forHost(host != null ? host : "");
+    }
+
+    public static HostRateLimiter forHost(String host) {
+        return BY_HOST.computeIfAbsent(host, h -> new HostRateLimiter(h, POLICIES.getOrDefault(h, Policy.DEFAULT)));
+    }
+
+    /**
+     * Sets the request budget for {@code host}. Call it before the first request to the host;
+     * a limiter already in use keeps its state until then.
+     */
+    public static void configure(String host, Policy policy) {
+        if (policy.equals(POLICIES.put(host, policy))) return;
+        BY_HOST.remove(host);
+    }
+
+    public String host() {
+        return host;
+    }
+
+    // ── Acquire ─────────────────────────────────────────────────────────────────
+
+    /**
+     * Takes a token, sleeping up to {@value #MAX_WAIT_MS} ms for one.
+     *
+     * @throws RateLimitedException if no token frees up in time, e.g. while a 429 pause runs
+     */
+    public void acquire() throws RateLimitedException, InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(MAX_WAIT_MS);
+        long waitNanos;
+        while ((waitNanos = tryAcquire()) > 0) {
+            if (System.nanoTime() + waitNanos - deadline > 0) {
+                throw new RateLimitedException(host, Math.max(1L, TimeUnit.NANOSECONDS.toMillis(waitNanos)));
+            }
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+
+    /**
+     * Takes a token if one is available.
+     *
+     * @return {@code 0} if a token was taken, otherwise the nanoseconds until one may be
+     */
+    public synchronized long tryAcquire() {
+        long now = System.nanoTime();
+        if (now - pausedUntilNanos < 0) return pausedUntilNanos - now;
+
+        refill(now);
+        if (tokens >= 1.0) {
+            tokens -= 1.0;
+            return 0L;
+        }
+        return Math.max(1L, (long) ((1.0 - tokens) * nanosPerToken));
+    }
+
+    private void refill(long now) {
+        long elapsed = now - lastRefillNanos;
+        if (elapsed > 0) {
+            tokens = Math.min(capacity, tokens + (double) elapsed / nanosPerToken);
+            lastRefillNanos = now;
+        }
+    }
+
+    // ── Feedback ────────────────────────────────────────────────────────────────
+
+    /**
+     * Feeds a response back into the bucket. A {@code 429} pauses the host for the
+     * response's {@code Retry-After} (or a default) and drops any accumulated burst.
+     */
+    public void onResponse(HttpResponse<?> response) {
+        if (response.statusCode() == 429) {
+            onRateLimited(retryAfterMs(response).orElse(DEFAULT_RETRY_AFTER_MS));
+        }
+    }
+
+    public synchronized void onRateLimited(long retryAfterMs) {
+        long now = System.nanoTime();
+        long until = now + TimeUnit.MILLISECONDS.toNanos(Math.min(retryAfterMs, MAX_RETRY_AFTER_MS));
+        if (until - pausedUntilNanos > 0) pausedUntilNanos = until;
+        // Empty the bucket so it refills from one token when the pause ends.
+        tokens = 0.0;
+        lastRefillNanos = pausedUntilNanos - nanosPerToken;
+    }
+
+    /** Parses a delta-seconds {@code Retry-After}; HTTP-date values are treated as absent. */
+    private static OptionalLong retryAfterMs(HttpResponse<?> response) {
+        return response.headers().firstValue("Retry-After")
+                .map(String::trim)
+                .filter(v -> !v.isEmpty() && v.chars().allMatch(Character::isDigit) && v.length() < 10)
+                .map(v -> OptionalLong.of(Long.parseLong(v) * 1_000L))
+                .orElse(OptionalLong.empty());
+    }
+}
@@ -0,0 +1,185 @@
+package com.github.kd_gaming1.skyblockenhancements.repo.network;
+
+import static com.github.kd_gaming1.skyblockenhancements.SkyblockEnhancements.LOGGER;
+
+import com.github.kd_gaming1.skyblockenhancements.repo.io.AtomicFileWriter;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
+import java.io.IOException;
+import java.io.Reader;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Persistent cache of GET response bodies, keyed by URL.
+ *
+ * <p>Each entry is two files named after the SHA-256 of the URL: {@code <key>.body} holds
+ * the raw bytes and {@code <key>.json} the validators ({@code ETag}, {@code Last-Modified})
+ * and freshness lifetime from {@code Cache-Control: max-age}. The body is written first and
+ * the metadata records its length, so an entry torn by a crash between the two writes is
+ * detected and dropped rather than served.
+ *
+ * <p>Entries are never evicted; the cache only ever holds the handful of data files the mod
+ * downloads.
+ */
+public final class HttpCache {
+
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+    private static final HexFormat HEX = HexFormat.of();
+
+    private final Path directory;
+
+    public HttpCache(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * A cached response.
+     *
+     * @param expiresAt epoch millis until which the body may be served without revalidation
+     */
+    public record Entry(byte[] body, @Nullable String etag, @Nullable String lastModified,
+                        long storedAt, long expiresAt) {
+
+        public boolean isFresh(long now) {
+            return now < expiresAt;
+        }
+
+        /** Same body and validators, with the freshness lifetime of a {@code 304} response. */
+        Entry revalidated(HttpResponse<?> response, long now) {
+            return new Entry(body,
+                    response.headers().firstValue("ETag").orElse(etag),
+                    response.headers().firstValue("Last-Modified").orElse(lastModified),
+                    now, now + maxAgeMs(response));
+        }
+    }
+
+    /** On-disk metadata; Gson-mapped. */
+    private static final class Metadata {
+        String url;
+        String etag;
+        String lastModified;
+        long storedAt;
+        long expiresAt;
+        long length;
+    }
+
+    // ── Lookup ──────────────────────────────────────────────────────────────────
+
+    /** Returns the cached response for {@code url}, or {@code null} if none is usable. */
+    @Nullable
+    public synchronized Entry get(String url) {
+        String key = key(url);
+        Path metaPath = directory.resolve(key + ".json");
+        Path bodyPath = directory.resolve(key + ".body");
+
+        Metadata meta;
+        try (Reader reader = Files.newBufferedReader(metaPath, StandardCharsets.UTF_8)) {
+            meta = GSON.fromJson(reader, Metadata.class);
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException | JsonParseException e) {
+            LOGGER.warn("Discarding unreadable HTTP cache entry for {}: {}", url, e.getMessage());
+            return null;
+        }
+        if (meta == null || !url.equals(meta.url)) return null;
+
+        try {
+            byte[] body = Files.readAllBytes(bodyPath);
+            if (body.length != meta.length) {
+                LOGGER.warn("Discarding torn HTTP cache entry for {}", url);
+                return null;
+            }
+            return new Entry(body, meta.etag, meta.lastModified, meta.storedAt, meta.expiresAt);
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            LOGGER.warn("Failed to read HTTP cache body for {}: {}", url, e.getMessage());
+            return null;
+        }
+    }
+
+    // ── Store ───────────────────────────────────────────────────────────────────
+
+    /**
+     * Stores a {@code 200} response. Responses marked {@code no-store} are not cached.
+     *
+     * @return the stored entry, or {@code null} if the response may not be cached
+     */
+    @Nullable
+    public Entry put(String url, HttpResponse<byte[]> response) {
+        String cacheControl = response.headers().firstValue("Cache-Control").orElse("");
+        if (cacheControl.toLowerCase(Locale.ROOT).contains("no-store")) return null;
+
+        long now = System.currentTimeMillis();
+        Entry entry = new Entry(response.body(),
+                response.headers().firstValue("ETag").orElse(null),
+                response.headers().firstValue("Last-Modified").orElse(null),
+                now, now + maxAgeMs(response));
+        write(url, entry, true);
+        return entry;
+    }
+
+    /** Records a {@code 304} for {@code entry}; only the metadata is rewritten. */
+    public Entry refresh(String url, Entry entry, HttpResponse<?> response) {
+        Entry refreshed = entry.revalidated(response, System.currentTimeMillis());
+        write(url, refreshed, false);
+        return refreshed;
+    }
+
+    private synchronized void write(String url, Entry entry, boolean withBody) {
+        String key = key(url);
+        Metadata meta = new Metadata();
+        meta.url = url;
+        meta.etag = entry.etag();
+        meta.lastModified = entry.lastModified();
+        meta.storedAt = entry.storedAt();
+        meta.expiresAt = entry.expiresAt();
+        meta.length = entry.body().length;
+
+        try {
+            if (withBody) AtomicFileWriter.writeBytes(directory.resolve(key + ".body"), entry.body());
+            AtomicFileWriter.writeJson(directory.resolve(key + ".json"), meta, GSON);
+        } catch (IOException e) {
+            LOGGER.warn("Failed to write HTTP cache entry for {}: {}", url, e.getMessage());
+        }
+    }
+
+    // ── Helpers ─────────────────────────────────────────────────────────────────
+
+    /** {@code Cache-Control: max-age} in millis; {@code 0} (revalidate every time) if absent. */
+    private static long maxAgeMs(HttpResponse<?> response) {
+        String cacheControl = response.headers().firstValue("Cache-Control").orElse("");
+        long maxAgeMs = 0L;
+        for (String directive : cacheControl.split(",")) {
+            directive = directive.trim().toLowerCase(Locale.ROOT);
+            if (directive.equals("no-cache")) return 0L;
+            if (directive.startsWith("max-age=")) {
+                try {
+                    maxAgeMs = Math.max(0L, Long.parseLong(directive.substring(8))) * 1_000L;
+                } catch (NumberFormatException e) {
+                    maxAgeMs = 0L;
+                }
+            }
+        }
+        return maxAgeMs;
+    }
+
+    private static String key(String url) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HEX.formatHex(digest.digest(url.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 unavailable", e);
+        }
+    }
+}
@@ -5,7 +5,6 @@ import static com.github.kd_gaming1.skyblockenhancements.SkyblockEnhancements.LO
 import com.google.gson.Gson;
 import java.io.IOException;
 import java.net.URI;
-import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.nio.charset.StandardCharsets;
@@ -13,22 +12,34 @@ import java.time.Duration;
 import org.jetbrains.annotations.Nullable;
 
 /**
- * Thin wrapper around {@link HttpClient} for JSON endpoints.
+ * Thin wrapper around {@link NetworkService} for JSON endpoints.
  *
  * <p>Centralises timeout configuration, user-agent headers, and Gson deserialisation
- * for the mod's external data downloads.
+ * for the mod's external data downloads. Every request first takes a token from the
+ * target host's {@link HostRateLimiter}, so calls may wait briefly when the host's budget
+ * is spent, and fail like any other request while it is rate limited for longer; run them
+ * off the render thread.
+ *
+ * <p>With an {@link HttpCache}, GETs are served from disk while the cached copy is fresh
+ * and are otherwise sent as conditional requests, so an unchanged file costs a {@code 304}
+ * with no body. When a request fails, or the host's {@link HostCircuitBreaker} is open, the
+ * last cached copy is returned instead, however old.
  */
 public final class JsonHttpClient {
 
     private static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(30);
     private static final String USER_AGENT = "SkyblockEnhancements";
 
-    private final HttpClient http;
     private final Gson gson;
+    @Nullable private final HttpCache cache;
+
+    public JsonHttpClient(Gson gson) {
+        this(gson, null);
+    }
 
-    public JsonHttpClient(HttpClient http, Gson gson) {
-        this.http = http;
+    public JsonHttpClient(Gson gson, @Nullable HttpCache cache) {
         this.gson = gson;
+        this.cache = cache;
     }
 
     /**
@@ -36,14 +47,14 @@ public final class JsonHttpClient {
      *
      * @param url  the endpoint
      * @param type the class to deserialise into
-     * @return the parsed object, or {@code null} on non-2xx status or parse failure
+     * @return the parsed object, or {@code null} if no body is available or parsing fails
      */
     @Nullable
     public <T> T getJson(String url, Class<T> type) {
+        String body = getString(url);
+        if (body == null) return null;
         try {
-            HttpResponse<String> response = getStringResponse(url);
-            if (response == null) return null;
-            return gson.fromJson(response.body(), type);
+            return gson.fromJson(body, type);
         } catch (Exception e) {
             LOGGER.warn("Failed to parse JSON from {}: {}", url, e.getMessage());
             return null;
@@ -54,16 +65,17 @@ public final class JsonHttpClient {
      * Performs a GET request and returns the raw response body as a string.
      *
      * @param url the endpoint
-     * @return the response body, or {@code null} on non-2xx status
+     * @return the response body, possibly from the cache, or {@code null} if the request
+     *         failed and nothing is cached
      */
     @Nullable
     public String getString(String url) {
-        HttpResponse<String> response = getStringResponse(url);
-        return response != null ? response.body() : null;
+        byte[] body = getBytes(url);
+        return body != null ? new String(body, StandardCharsets.UTF_8) : null;
     }
 
     /**
-     * Performs a HEAD request.
+     * Performs a HEAD request. Not cached, but refused while the host's breaker is open.
      *
      * @param url the endpoint
      * @return the response, or {@code null} on failure
@@ -71,39 +83,103 @@ public final class JsonHttpClient {
     @Nullable
     public HttpResponse<Void> head(String url) {
         try {
+            URI uri = URI.create(url);
+            HostCircuitBreaker breaker = HostCircuitBreaker.forUri(uri);
+            if (!breaker.allowRequest()) return null;
+
             HttpRequest request = HttpRequest.newBuilder()
-                    .uri(URI.create(url))
+                    .uri(uri)
                     .method("HEAD", HttpRequest.BodyPublishers.noBody())
                     .header("User-Agent", USER_AGENT)
                     .timeout(Duration.ofSeconds(5))
                     .build();
 
-            return http.send(request, HttpResponse.BodyHandlers.discarding());
+            return send(request, breaker, HttpResponse.BodyHandlers.discarding());
         } catch (Exception e) {
             LOGGER.warn("HEAD request to {} failed: {}", url, e.getMessage());
             return null;
         }
     }
 
+    /**
+     * Performs a GET request and returns the raw response body.
+     *
+     * @param url the endpoint
+     * @return the response body, possibly from the cache, or {@code null} if the request
+     *         failed and nothing is cached
+     */
     @Nullable
-    private HttpResponse<String> getStringResponse(String url) {
+    public byte[] getBytes(String url) {
+        URI uri;
         try {
-            HttpRequest request = HttpRequest.newBuilder()
-                    .uri(URI.create(url))
-                    .header("User-Agent", USER_AGENT)
-                    .timeout(DEFAULT_TIMEOUT)
-                    .GET()
-                    .build();
+            uri = URI.create(url);
+        } catch (IllegalArgumentException e) {
+            LOGGER.warn("Invalid URL {}: {}", url, e.getMessage());
+            return null;
+        }
+
+        HttpCache.Entry cached = cache != null ? cache.get(url) : null;
+        if (cached != null && cached.isFresh(System.currentTimeMillis())) return cached.body();
 
-            HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
-            if (response.statusCode() < 200 || response.statusCode() >= 300) {
-                LOGGER.warn("HTTP {} from {}", response.statusCode(), url);
-                return null;
-            }
-            return response;
+        HostCircuitBreaker breaker = HostCircuitBreaker.forUri(uri);
+        if (!breaker.allowRequest()) {
+            LOGGER.debug("Skipping GET {}: host marked unreachable", url);
+            return cached != null ? cached.body() : null;
+        }
+
+        HttpRequest.Builder builder = HttpRequest.newBuilder()
+                .uri(uri)
+                .header("User-Agent", USER_AGENT)
+                .timeout(DEFAULT_TIMEOUT)
+                .GET();
+        if (cached != null && cached.etag() != null) builder.header("If-None-Match", cached.etag());
+        if (cached != null && cached.lastModified() != null) builder.header("If-Modified-Since", cached.lastModified());
+
+        HttpResponse<byte[]> response;
+        try {
+            response = send(builder.build(), breaker, HttpResponse.BodyHandlers.ofByteArray());
         } catch (Exception e) {
-            LOGGER.warn("GET request to {} failed: {}", url, e.getMessage());
-            return null;
+            LOGGER.warn("GET request to {} failed: {}{}", url, e.getMessage(), cached != null ? ", using cached copy" : "");
+            return cached != null ? cached.body() : null;
+        }
+
+        int status = response.statusCode();
+        if (status == 304 && cached != null) {
+            cache.refresh(url, cached, response);
+            return cached.body();
+        }
+        if (status < 200 || status >= 300) {
+            LOGGER.warn("HTTP {} from {}{}", status, url, cached != null ? ", using cached copy" : "");
+            return cached != null ? cached.body() : null;
+        }
+        if (cache != null) cache.put(url, response);
+        return response.body();
+    }
+
+    /** Sends {@code request} and reports the outcome to {@code breaker}. */
+    private static <T> HttpResponse<T> send(HttpRequest request, HostCircuitBreaker breaker,
+                                            HttpResponse.BodyHandler<T> handler)
+            throws IOException, InterruptedException {
+        HttpResponse<T> response;
+        try {
+            response = NetworkService.send(request, handler);
+        } catch (HostRateLimiter.RateLimitedException e) {
+            // Never sent, so it says nothing about the host being reachable.
+            breaker.recordAbandoned();
+            throw e;
+        } catch (IOException e) {
+            breaker.recordFailure(e);
+            throw e;
+        } catch (InterruptedException | RuntimeException e) {
+            breaker.recordAbandoned();
+            throw e;
+        }
+
+        if (response.statusCode() >= 500) {
+            breaker.recordFailure(null);
+        } else {
+            breaker.recordSuccess();
         }
+        return response;
     }
 }
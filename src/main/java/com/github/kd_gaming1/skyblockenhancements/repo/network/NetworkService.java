@@ -0,0 +1,228 @@
+package com.github.kd_gaming1.skyblockenhancements.repo.network;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The mod's single outbound HTTP entry point.
+ *
+ * <p>Owns one {@link HttpClient}, so every feature shares its connection pool, timeouts
+ * and redirect policy, and runs the client's callbacks on virtual threads instead of a
+ * private pool per caller. Blocking work around requests (streaming a body into a parser,
+ * writing a download to disk) goes on {@link #executor()}, a small bounded pool whose
+ * threads exit when idle.
+ *
+ * <p>Every request passes through the target host's {@link HostRateLimiter} and is
+ * recorded per host: request and failure counts, status classes, bytes received and
+ * time to headers. {@link #stats()} returns a snapshot for the debug command.
+ */
+public final class NetworkService {
+
+    private static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(10);
+    private static final int MAX_BLOCKING_THREADS = 4;
+    private static final long IDLE_THREAD_KEEP_ALIVE_S = 30L;
+
+    private static final HttpClient HTTP = HttpClient.newBuilder()
+            .connectTimeout(CONNECT_TIMEOUT)
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .executor(Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("sbe-http-", 0).factory()))
+            .build();
+
+    private static final ExecutorService BLOCKING_EXECUTOR = createBlockingExecutor();
+
+    private static final Map<String, HostMetrics> METRICS = new ConcurrentHashMap<>();
+
+    private NetworkService() {}
+
+    /** Shared pool for blocking network work; at most {@value #MAX_BLOCKING_THREADS} threads, none when idle. */
+    public static ExecutorService executor() {
+        return BLOCKING_EXECUTOR;
+    }
+
+    // ── Requests ────────────────────────────────────────────────────────────────
+
+    /**
+     * Sends {@code request} and blocks until the response headers arrive.
+     *
+     * @throws HostRateLimiter.RateLimitedException if the host's rate limit doesn't allow a request soon
+     */
+    public static <T> HttpResponse<T> send(HttpRequest request, HttpResponse.BodyHandler<T> handler)
+            throws IOException, InterruptedException {
+        HostRateLimiter limiter = HostRateLimiter.forUri(request.uri());
+        HostMetrics metrics = metricsFor(limiter.host());
+        limiter.acquire();
+
+        long start = System.nanoTime();
+        try {
+            HttpResponse<T> response = HTTP.send(request, counting(handler, metrics));
+            limiter.onResponse(response);
+            metrics.recordResponse(response.statusCode(), System.nanoTime() - start);
+            return response;
+        } catch (IOException | RuntimeException e) {
+            metrics.recordFailure();
+            throw e;
+        }
+    }
+
+    /**
+     * Sends {@code request} asynchronously. Blocks only briefly while waiting for the host's
+     * rate limit; if the host is limited for longer, the returned future fails with a
+     * {@link HostRateLimiter.RateLimitedException}. Otherwise the future is the client's own,
+     * so cancelling it aborts the exchange.
+     */
+    public static <T> CompletableFuture<HttpResponse<T>> sendAsync(HttpRequest request,
+                                                                   HttpResponse.BodyHandler<T> handler)
+            throws InterruptedException {
+        HostRateLimiter limiter = HostRateLimiter.forUri(request.uri());
+        HostMetrics metrics = metricsFor(limiter.host());
+        try {
+            limiter.acquire();
+        } catch (HostRateLimiter.RateLimitedException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        long start = System.nanoTime();
+        CompletableFuture<HttpResponse<T>> future = HTTP.sendAsync(request, counting(handler, metrics));
+        future.whenComplete((response, ex) -> {
+            if (ex != null) {
+                metrics.recordFailure();
+                return;
+            }
+            limiter.onResponse(response);
+            metrics.recordResponse(response.statusCode(), System.nanoTime() - start);
+        });
+        return future;
+    }
+
+    // ── Metrics ─────────────────────────────────────────────────────────────────
+
+    /**
+     * Counters for one host since startup.
+     *
+     * @param averageLatencyMs mean time to response headers over all responses
+     */
+    public record HostStats(String host, long requests, long failures, long status2xx, long status3xx,
+                            long status4xx, long status5xx, long bytesReceived,
+                            long averageLatencyMs, long maxLatencyMs) {}
+
+    /** Per-host counters, busiest host first. */
+    public static List<HostStats> stats() {
+        List<HostStats> out = new ArrayList<>(METRICS.size());
+        for (Map.Entry<String, HostMetrics> entry : METRICS.entrySet()) {
+            out.add(entry.getValue().snapshot(entry.getKey()));
+        }
+        out.sort(Comparator.comparingLong(HostStats::requests).reversed());
+        return out;
+    }
+
+    private static HostMetrics metricsFor(String host) {
+        return METRICS.computeIfAbsent(host, h -> new HostMetrics());
+    }
+
+    private static final class HostMetrics {
+        final LongAdder requests = new LongAdder();
+        final LongAdder failures = new LongAdder();
+        /** Responses per status class; index 0 is 1xx, 4 is 5xx. */
+        final LongAdder[] statusClasses = {new LongAdder(), new LongAdder(), new LongAdder(), new LongAdder(), new LongAdder()};
+        final LongAdder bytes = new LongAdder();
+        final LongAdder latencyNanos = new LongAdder();
+        final AtomicLong maxLatencyNanos = new AtomicLong();
+
+        void recordResponse(int status, long latency) {
+            requests.increment();
+            int statusClass = status / 100 - 1;
+            if (statusClass >= 0 && statusClass < statusClasses.length) statusClasses[statusClass].increment();
+            latencyNanos.add(latency);
+            maxLatencyNanos.accumulateAndGet(latency, Math::max);
+        }
+
+        void recordFailure() {
+            requests.increment();
+            failures.increment();
+        }
+
+        HostStats snapshot(String host) {
+            long responses = 0;
+            for (LongAdder statusClass : statusClasses) responses += statusClass.sum();
+            long averageNanos = responses == 0 ? 0 : latencyNanos.sum() / responses;
+            return new HostStats(host, requests.sum(), failures.sum(),
+                    statusClasses[1].sum(), statusClasses[2].sum(), statusClasses[3].sum(), statusClasses[4].sum(),
+                    bytes.sum(), TimeUnit.NANOSECONDS.toMillis(averageNanos),
+                    TimeUnit.NANOSECONDS.toMillis(maxLatencyNanos.get()));
+        }
+    }
+
+    /** Wraps {@code handler} so every body chunk is counted towards the host's bytes received. */
+    private static <T> HttpResponse.BodyHandler<T> counting(HttpResponse.BodyHandler<T> handler, HostMetrics metrics) {
+        return info -> new CountingSubscriber<>(handler.apply(info), metrics.bytes);
+    }
+
+    private record CountingSubscriber<T>(HttpResponse.BodySubscriber<T> delegate, LongAdder bytes)
+            implements HttpResponse.BodySubscriber<T> {
+
+        @Override
+        public CompletionStage<T> getBody() {
+            return delegate.getBody();
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            delegate.onSubscribe(subscription);
+        }
+
+        @Override
+        public void onNext(List<ByteBuffer> item) {
+            long n = 0;
+            for (ByteBuffer buffer : item) n += buffer.remaining();
+            bytes.add(n);
+            delegate.onNext(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            delegate.onError(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            delegate.onComplete();
+        }
+    }
+
+    // ── Executors ───────────────────────────────────────────────────────────────
+
+    private static ExecutorService createBlockingExecutor() {
+        AtomicInteger counter = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                MAX_BLOCKING_THREADS, MAX_BLOCKING_THREADS,
+                IDLE_THREAD_KEEP_ALIVE_S, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(),
+                r -> {
+                    Thread t = new Thread(r, "sbe-net-" + counter.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+}
@@ -0,0 +1,26 @@
+package com.github.kd_gaming1.skyblockenhancements.repo.sync;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Data structure for serializing the local NEU repo manifest to/from JSON storage.
+ *
+ * <p>{@code commit} is only advanced once every tracked file matches that commit, so an
+ * interrupted sync is resumed on the next launch.
+ */
+public class RepoManifest {
+    public String commit;
+    public long syncedAt;
+    /** The tracked paths this manifest was built for; a change forces a full comparison. */
+    public List<String> trackedPaths = new ArrayList<>();
+    /** Repo-relative path → the git blob the local copy was verified against. */
+    public Map<String, FileEntry> files = new TreeMap<>();
+
+    public static class FileEntry {
+        public String blobSha;
+        public long size;
+    }
+}
@@ -0,0 +1,507 @@
+package com.github.kd_gaming1.skyblockenhancements.repo.sync;
+
+import static com.github.kd_gaming1.skyblockenhancements.SkyblockEnhancements.LOGGER;
+
+import com.github.kd_gaming1.skyblockenhancements.repo.io.AtomicFileWriter;
+import com.github.kd_gaming1.skyblockenhancements.repo.network.HostRateLimiter;
+import com.github.kd_gaming1.skyblockenhancements.repo.network.JsonHttpClient;
+import com.github.kd_gaming1.skyblockenhancements.repo.network.NetworkService;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.stream.JsonReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Keeps a verified local copy of selected files from the NEU item repository.
+ *
+ * <p>A sync runs once per launch on a single low-priority background thread:
+ * <ol>
+ *   <li>Resolve the branch head with a conditional request. When it matches the local
+ *       manifest and every tracked file is still on disk, the sync ends there — one
+ *       {@code 304} round trip, or none while GitHub's cache lifetime lasts.</li>
+ *   <li>Otherwise list the commit's tree, which carries every file's git blob hash, and
+ *       diff it against the manifest. Only files whose blob changed are downloaded, pinned
+ *       to the commit; larger deltas come from a single archive instead.</li>
+ *   <li>Every downloaded file is checked against its git blob hash before it replaces the
+ *       local copy. A file that fails verification keeps its old copy and the manifest's
+ *       commit is not advanced, so the next launch retries it.</li>
+ * </ol>
+ *
+ * <p>When the repo can't be reached the existing local copy is used as is. Either way,
+ * {@link ReadyListener}s are told once the local files are usable and which ones changed.
+ */
+public final class RepoSync {
+
+    public static final String REPO = "NotEnoughUpdates/NotEnoughUpdates-REPO";
+    public static final String BRANCH = "master";
+
+    private static final String API_URL = "https://api.github.com/repos/" + REPO;
+    private static final String RAW_HOST = "raw.githubusercontent.com";
+    private static final String ARCHIVE_URL = "https://codeload.github.com/" + REPO + "/zip/";
+    /** Above this many changed files one archive download beats per-file requests. */
+    private static final int ARCHIVE_THRESHOLD = 20;
+    private static final Duration ARCHIVE_TIMEOUT = Duration.ofMinutes(5);
+    private static final String MANIFEST_FILE = "repo_manifest.json";
+
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+    private static final HexFormat HEX = HexFormat.of();
+
+    static {
+        // Unauthenticated GitHub API calls are capped at 60 an hour; a sync makes two.
+        HostRateLimiter.configure(URI.create(API_URL).getHost(), new HostRateLimiter.Policy(4, 60_000L));
+        // Raw files come from a CDN and a sync may fetch up to ARCHIVE_THRESHOLD of them in a row.
+        HostRateLimiter.configure(RAW_HOST, new HostRateLimiter.Policy(ARCHIVE_THRESHOLD, 100L));
+    }
+
+    private static final ThreadPoolExecutor EXECUTOR = createExecutor();
+
+    private final Path dataRoot;
+    private final List<String> trackedPaths;
+    private final JsonHttpClient metadataClient;
+    private final JsonHttpClient downloadClient = new JsonHttpClient(GSON);
+
+    private final List<ReadyListener> readyListeners = new CopyOnWriteArrayList<>();
+    private final AtomicBoolean started = new AtomicBoolean();
+    @Nullable private volatile ReadyEvent ready;
+
+    /**
+     * @param dataRoot       directory the repo files are mirrored into
+     * @param trackedPaths   repo-relative files to sync; entries ending in {@code /} track a
+     *                       whole directory
+     * @param metadataClient client for the branch-head lookup; give it an
+     *                       {@link com.github.kd_gaming1.skyblockenhancements.repo.network.HttpCache}
+     *                       so unchanged heads cost a {@code 304}
+     */
+    public RepoSync(Path dataRoot, List<String> trackedPaths, JsonHttpClient metadataClient) {
+        this.dataRoot = dataRoot.toAbsolutePath().normalize();
+        this.trackedPaths = List.copyOf(trackedPaths);
+        this.metadataClient = metadataClient;
+    }
+
+    // ── Events ──────────────────────────────────────────────────────────────────
+
+    /**
+     * @param commit       the commit the local files were synced to; files that failed
+     *                     verification may still be from an earlier one
+     * @param changedPaths tracked paths that were added, updated or removed by this sync
+     */
+    public record ReadyEvent(String commit, Set<String> changedPaths) {
+        public boolean changed(String path) {
+            return changedPaths.contains(path);
+        }
+    }
+
+    /**
+     * Called on the sync thread once the launch sync has left the local files usable.
+     * Listeners that touch render state should hand the work to the client thread.
+     */
+    @FunctionalInterface
+    public interface ReadyListener {
+        void onRepoReady(ReadyEvent event);
+    }
+
+    /**
+     * Registers {@code listener}. If the repo is already ready it is called immediately, on
+     * the calling thread, with the latest event.
+     */
+    public void addReadyListener(ReadyListener listener) {
+        readyListeners.add(listener);
+        ReadyEvent current = ready;
+        if (current != null) notifyListener(listener, current);
+    }
+
+    public boolean isReady() {
+        return ready != null;
+    }
+
+    /** The commit the local files match, or {@code null} before the first sync finished. */
+    @Nullable
+    public String getCommit() {
+        ReadyEvent current = ready;
+        return current != null ? current.commit() : null;
+    }
+
+    /** The local copy of a repo-relative path. */
+    public Path resolve(String repoPath) {
+        return dataRoot.resolve(repoPath);
+    }
+
+    // ── Sync ────────────────────────────────────────────────────────────────────
+
+    /** Starts the launch sync in the background; later calls do nothing. */
+    public void start() {
+        if (!started.compareAndSet(false, true)) return;
+        CompletableFuture.runAsync(this::sync, EXECUTOR).exceptionally(e -> {
+            LOGGER.error("NEU repo sync failed", e);
+            return null;
+        });
+    }
+
+    private void sync() {
+        long start = System.nanoTime();
+        RepoManifest manifest = readManifest();
+        String head = fetchHeadCommit();
+
+        if (head == null) {
+            useLocalCopy(manifest, "NEU repo unreachable");
+            return;
+        }
+
+        Set<String> damaged = findDamaged(manifest);
+        if (head.equals(manifest.commit) && damaged.isEmpty() && trackedPaths.equals(manifest.trackedPaths)) {
+            LOGGER.info("NEU repo up to date at {}", shortSha(head));
+            fireReady(new ReadyEvent(head, Set.of()));
+            return;
+        }
+
+        Map<String, TreeEntry> tree = fetchTree(head);
+        if (tree == null) {
+            useLocalCopy(manifest, "Failed to list NEU repo tree");
+            return;
+        }
+
+        Map<String, TreeEntry> toFetch = new HashMap<>();
+        for (TreeEntry entry : tree.values()) {
+            RepoManifest.FileEntry local = manifest.files.get(entry.path());
+            if (local == null || !entry.sha().equals(local.blobSha) || damaged.contains(entry.path())) {
+                toFetch.put(entry.path(), entry);
+            }
+        }
+
+        Set<String> changed = new LinkedHashSet<>();
+        int fetchedCount = toFetch.size() > ARCHIVE_THRESHOLD
+                ? fetchFromArchive(head, toFetch, manifest, changed)
+                : fetchFiles(head, toFetch, manifest, changed);
+
+        for (String path : new ArrayList<>(manifest.files.keySet())) {
+            if (tree.containsKey(path)) continue;
+            try {
+                Files.deleteIfExists(localPath(path));
+                manifest.files.remove(path);
+                changed.add(path);
+            } catch (IOException | IllegalArgumentException e) {
+                LOGGER.warn("Failed to delete removed repo file {}: {}", path, e.getMessage());
+            }
+        }
+
+        boolean complete = fetchedCount == toFetch.size();
+        if (complete) {
+            manifest.commit = head;
+            manifest.trackedPaths = new ArrayList<>(trackedPaths);
+        }
+        manifest.syncedAt = System.currentTimeMillis();
+        writeManifest(manifest);
+
+        LOGGER.info("NEU repo synced to {}: {} of {} changed files fetched, {} removed in {} ms",
+                shortSha(head), fetchedCount, toFetch.size(), changed.size() - fetchedCount,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+
+        if (manifest.files.isEmpty()) return;
+        fireReady(new ReadyEvent(head, Set.copyOf(changed)));
+    }
+
+    private void useLocalCopy(RepoManifest manifest, String reason) {
+        if (manifest.commit == null || manifest.files.isEmpty()) {
+            LOGGER.warn("{} and no local copy exists yet; repo data unavailable this session", reason);
+            return;
+        }
+        LOGGER.warn("{}, using local copy at {}", reason, shortSha(manifest.commit));
+        fireReady(new ReadyEvent(manifest.commit, Set.of()));
+    }
+
+    /** Tracked files that are missing on disk or whose size no longer matches the manifest. */
+    private Set<String> findDamaged(RepoManifest manifest) {
+        Set<String> damaged = new LinkedHashSet<>();
+        for (Map.Entry<String, RepoManifest.FileEntry> entry : manifest.files.entrySet()) {
+            try {
+                if (Files.size(localPath(entry.getKey())) != entry.getValue().size) damaged.add(entry.getKey());
+            } catch (IOException | IllegalArgumentException e) {
+                damaged.add(entry.getKey());
+            }
+        }
+        return damaged;
+    }
+
+    // ── Remote ──────────────────────────────────────────────────────────────────
+
+    /** A blob in the commit's tree. */
+    private record TreeEntry(String path, String sha, long size) {}
+
+    @Nullable
+    private String fetchHeadCommit() {
+        JsonObject ref = metadataClient.getJson(API_URL + "/git/ref/heads/" + BRANCH, JsonObject.class);
+        try {
+            return ref != null ? ref.getAsJsonObject("object").get("sha").getAsString() : null;
+        } catch (RuntimeException e) {
+            LOGGER.warn("Unexpected NEU repo ref response: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /** Lists the tracked blobs of {@code commit}, or {@code null} if the listing is unusable. */
+    @Nullable
+    private Map<String, TreeEntry> fetchTree(String commit) {
+        String body = downloadClient.getString(API_URL + "/git/trees/" + commit + "?recursive=1");
+        if (body == null) return null;
+
+        Map<String, TreeEntry> tree = new HashMap<>();
+        boolean truncated = false;
+        try (JsonReader reader = new JsonReader(new StringReader(body))) {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                switch (reader.nextName()) {
+                    case "tree" -> {
+                        reader.beginArray();
+                        while (reader.hasNext()) {
+                            TreeEntry entry = readTreeEntry(reader);
+                            if (entry != null && isTracked(entry.path())) tree.put(entry.path(), entry);
+                        }
+                        reader.endArray();
+                    }
+                    case "truncated" -> truncated = reader.nextBoolean();
+                    default -> reader.skipValue();
+                }
+            }
+            reader.endObject();
+        } catch (IOException | IllegalStateException | JsonParseException e) {
+            LOGGER.warn("Malformed NEU repo tree for {}: {}", shortSha(commit), e.getMessage());
+            return null;
+        }
+
+        if (truncated) {
+            LOGGER.warn("NEU repo tree for {} was truncated", shortSha(commit));
+            return null;
+        }
+        return tree;
+    }
+
+    @Nullable
+    private static TreeEntry readTreeEntry(JsonReader reader) throws IOException {
+        String path = null;
+        String type = null;
+        String sha = null;
+        long size = -1;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "path" -> path = reader.nextString();
+                case "type" -> type = reader.nextString();
+                case "sha" -> sha = reader.nextString();
+                case "size" -> size = reader.nextLong();
+                default -> reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return "blob".equals(type) && path != null && sha != null && size >= 0 ? new TreeEntry(path, sha, size) : null;
+    }
+
+    /** Downloads each file pinned to {@code commit}; returns how many were stored. */
+    private int fetchFiles(String commit, Map<String, TreeEntry> toFetch, RepoManifest manifest, Set<String> changed) {
+        int stored = 0;
+        for (TreeEntry entry : toFetch.values()) {
+            String url = rawUrl(commit, entry.path());
+            byte[] body = url != null ? downloadClient.getBytes(url) : null;
+            if (body != null && store(entry, body, manifest)) {
+                changed.add(entry.path());
+                stored++;
+            }
+        }
+        return stored;
+    }
+
+    /** Downloads the commit's archive once and extracts the wanted files; returns how many were stored. */
+    private int fetchFromArchive(String commit, Map<String, TreeEntry> toFetch, RepoManifest manifest, Set<String> changed) {
+        Path archive = dataRoot.resolve(MANIFEST_FILE + ".zip.tmp");
+        try {
+            Files.createDirectories(dataRoot);
+            HttpRequest request = HttpRequest.newBuilder()
+                    .uri(URI.create(ARCHIVE_URL + commit))
+                    .header("User-Agent", "SkyblockEnhancements")
+                    .timeout(ARCHIVE_TIMEOUT)
+                    .GET()
+                    .build();
+            HttpResponse<Path> response = NetworkService.send(request, HttpResponse.BodyHandlers.ofFile(archive));
+            if (response.statusCode() != 200) {
+                LOGGER.warn("HTTP {} downloading NEU repo archive", response.statusCode());
+                return 0;
+            }
+
+            int stored = 0;
+            try (ZipFile zip = new ZipFile(archive.toFile())) {
+                Enumeration<? extends ZipEntry> entries = zip.entries();
+                while (entries.hasMoreElements()) {
+                    ZipEntry zipEntry = entries.nextElement();
+                    // Entries are prefixed with "<repo>-<commit>/".
+                    String name = zipEntry.getName();
+                    int slash = name.indexOf('/');
+                    TreeEntry entry = slash >= 0 ? toFetch.get(name.substring(slash + 1)) : null;
+                    if (entry == null) continue;
+
+                    byte[] body;
+                    try (InputStream in = zip.getInputStream(zipEntry)) {
+                        body = in.readAllBytes();
+                    }
+                    if (store(entry, body, manifest)) {
+                        changed.add(entry.path());
+                        stored++;
+                    }
+                }
+            }
+            return stored;
+        } catch (IOException e) {
+            LOGGER.warn("Failed to fetch NEU repo archive: {}", e.getMessage());
+            return 0;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return 0;
+        } finally {
+            try {
+                Files.deleteIfExists(archive);
+            } catch (IOException ignored) {
+            }
+        }
+    }
+
+    /** Verifies {@code body} against the tree's blob hash and writes it; returns whether it was stored. */
+    private boolean store(TreeEntry entry, byte[] body, RepoManifest manifest) {
+        if (body.length != entry.size() || !entry.sha().equals(gitBlobSha(body))) {
+            LOGGER.warn("Repo file {} failed verification, keeping the old copy", entry.path());
+            return false;
+        }
+        try {
+            AtomicFileWriter.writeBytes(localPath(entry.path()), body);
+        } catch (IOException | IllegalArgumentException e) {
+            LOGGER.warn("Failed to write repo file {}: {}", entry.path(), e.getMessage());
+            return false;
+        }
+
+        RepoManifest.FileEntry local = new RepoManifest.FileEntry();
+        local.blobSha = entry.sha();
+        local.size = body.length;
+        manifest.files.put(entry.path(), local);
+        return true;
+    }
+
+    // ── Manifest ────────────────────────────────────────────────────────────────
+
+    private RepoManifest readManifest() {
+        try (Reader reader = Files.newBufferedReader(dataRoot.resolve(MANIFEST_FILE), StandardCharsets.UTF_8)) {
+            RepoManifest manifest = GSON.fromJson(reader, RepoManifest.class);
+            if (manifest != null && manifest.files != null && manifest.trackedPaths != null) return manifest;
+        } catch (NoSuchFileException e) {
+            return new RepoManifest();
+        } catch (IOException | JsonParseException e) {
+            LOGGER.warn("Failed to read NEU repo manifest, resyncing: {}", e.getMessage());
+        }
+        return new RepoManifest();
+    }
+
+    private void writeManifest(RepoManifest manifest) {
+        try {
+            AtomicFileWriter.writeJson(dataRoot.resolve(MANIFEST_FILE), manifest, GSON);
+        } catch (IOException e) {
+            LOGGER.error("Failed to save NEU repo manifest", e);
+        }
+    }
+
+    // ── Helpers ─────────────────────────────────────────────────────────────────
+
+    private void fireReady(ReadyEvent event) {
+        ready = event;
+        for (ReadyListener listener : readyListeners) notifyListener(listener, event);
+    }
+
+    private static void notifyListener(ReadyListener listener, ReadyEvent event) {
+        try {
+            listener.onRepoReady(event);
+        } catch (Exception e) {
+            LOGGER.error("Repo ready listener failed", e);
+        }
+    }
+
+    private boolean isTracked(String path) {
+        for (String tracked : trackedPaths) {
+            if (tracked.endsWith("/") ? path.startsWith(tracked) : path.equals(tracked)) return true;
+        }
+        return false;
+    }
+
+    /** Resolves a repo path under the data root, rejecting anything that would escape it. */
+    private Path localPath(String repoPath) {
+        Path path = dataRoot.resolve(repoPath).normalize();
+        if (!path.startsWith(dataRoot) || path.equals(dataRoot)) {
+            throw new IllegalArgumentException("Repo path escapes data root: " + repoPath);
+        }
+        return path;
+    }
+
+    @Nullable
+    private static String rawUrl(String commit, String path) {
+        try {
+            return new URI("https", RAW_HOST, "/" + REPO + "/" + commit + "/" + path, null).toASCIIString();
+        } catch (URISyntaxException e) {
+            LOGGER.warn("Skipping repo file with unusable path {}", path);
+            return null;
+        }
+    }
+
+    /** The hash git names a blob by: SHA-1 over {@code "blob <size>\0"} and the content. */
+    static String gitBlobSha(byte[] content) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-1");
+            digest.update(("blob " + content.length + "\0").getBytes(StandardCharsets.US_ASCII));
+            return HEX.formatHex(digest.digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-1 unavailable", e);
+        }
+    }
+
+    private static String shortSha(String sha) {
+        return sha.length() > 7 ? sha.substring(0, 7) : sha;
+    }
+
+    private static ThreadPoolExecutor createExecutor() {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                1, 1, 30L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+                    Thread t = new Thread(r, "sbe-repo-sync");
+                    t.setDaemon(true);
+                    t.setPriority(Thread.MIN_PRIORITY);
+                    return t;
+                });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+}
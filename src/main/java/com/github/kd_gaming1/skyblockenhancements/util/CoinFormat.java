@@ -0,0 +1,172 @@
+package com.github.kd_gaming1.skyblockenhancements.util;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.util.Locale;
+
+/**
+ * Coin and percentage formatting that appends straight into a caller-supplied
+ * {@link StringBuilder}, so hot paths can format many numbers per frame without garbage.
+ *
+ * <p>Output matches the {@link String#format} / {@link DecimalFormat} / {@link BigDecimal}
+ * formatting the tooltips used before, character for character. Digits are produced
+ * from a scaled {@code long}; only values within a few ULPs of a rounding tie (where
+ * those formatters disagree on which way to round) or outside the {@code long} range
+ * take the original formatter path.
+ *
+ * <p>Separators are read once from the locale's {@link DecimalFormatSymbols}. Instances
+ * are immutable and thread-safe.
+ */
+public final class CoinFormat {
+
+    /** The format every price display uses. */
+    public static final CoinFormat US = new CoinFormat(Locale.US);
+
+    private static final double BILLION = 1_000_000_000;
+    private static final double MILLION = 1_000_000;
+    /** Scaled values at or above this skip the fast path; well inside exact {@code long}/{@code double} range. */
+    private static final double FAST_PATH_LIMIT = 1e15;
+    private static final long TIE = Long.MIN_VALUE;
+
+    private final Locale locale;
+    private final char groupingSeparator;
+    private final char decimalSeparator;
+    /** Only used for near-tie values; guarded by itself since DecimalFormat is not thread-safe. */
+    private final DecimalFormat groupedFallback;
+
+    private CoinFormat(Locale locale) {
+        DecimalFormatSymbols symbols = DecimalFormatSymbols.getInstance(locale);
+        this.locale = locale;
+        this.groupingSeparator = symbols.getGroupingSeparator();
+        this.decimalSeparator = symbols.getDecimalSeparator();
+        this.groupedFallback = new DecimalFormat("#,##0.#", symbols);
+    }
+
+    // ── Coins ───────────────────────────────────────────────────────────────────
+
+    /**
+     * Appends the shorthand form: {@code 3.5B}, {@code 1.2M}, {@code 12,345.6}.
+     * Values below a million are grouped with at most one decimal.
+     */
+    public StringBuilder appendCompact(StringBuilder sb, double value) {
+        if (value >= BILLION) return appendSuffixed(sb, value / BILLION, 'B');
+        if (value >= MILLION) return appendSuffixed(sb, value / MILLION, 'M');
+
+        long tenths = roundedMagnitude(value, 10);
+        if (tenths == TIE) {
+            synchronized (groupedFallback) {
+                return sb.append(groupedFallback.format(value));
+            }
+        }
+        if (value < 0 || isNegativeZero(value)) sb.append('-');
+        appendGrouped(sb, tenths / 10);
+        if (tenths % 10 != 0) sb.append(decimalSeparator).append((char) ('0' + tenths % 10));
+        return sb;
+    }
+
+    /** Appends the full form: grouped, with up to two decimals, e.g. {@code 1,234,567.89}. */
+    public StringBuilder appendFull(StringBuilder sb, double value) {
+        long hundredths = roundedMagnitude(value, 100);
+        if (hundredths == TIE) return appendFullFallback(sb, value);
+
+        if (value < 0 && hundredths != 0) sb.append('-');
+        appendGrouped(sb, hundredths / 100);
+        int fraction = (int) (hundredths % 100);
+        if (fraction != 0) {
+            sb.append(decimalSeparator).append((char) ('0' + fraction / 10));
+            if (fraction % 10 != 0) sb.append((char) ('0' + fraction % 10));
+        }
+        return sb;
+    }
+
+    public String compact(double value) {
+        return appendCompact(new StringBuilder(16), value).toString();
+    }
+
+    public String full(double value) {
+        return appendFull(new StringBuilder(24), value).toString();
+    }
+
+    // ── Percentages ─────────────────────────────────────────────────────────────
+
+    /** Appends a signed one-decimal percentage, e.g. {@code +4.2%} or {@code -0.0%}. */
+    public StringBuilder appendSignedPercent(StringBuilder sb, double percent) {
+        long tenths = roundedMagnitude(percent, 10);
+        if (tenths == TIE) return sb.append(String.format(locale, "%+.1f%%", percent));
+
+        sb.append(percent < 0 || isNegativeZero(percent) ? '-' : '+');
+        sb.append(tenths / 10).append(decimalSeparator).append((char) ('0' + tenths % 10));
+        return sb.append('%');
+    }
+
+    // ── Internals ───────────────────────────────────────────────────────────────
+
+    /** {@code %.1f} followed by a suffix; no grouping. */
+    private StringBuilder appendSuffixed(StringBuilder sb, double scaled, char suffix) {
+        long tenths = roundedMagnitude(scaled, 10);
+        if (tenths == TIE) return sb.append(String.format(locale, "%.1f", scaled)).append(suffix);
+
+        sb.append(tenths / 10).append(decimalSeparator).append((char) ('0' + tenths % 10));
+        return sb.append(suffix);
+    }
+
+    /**
+     * Returns {@code |value| * scale} rounded to the nearest integer, or {@link #TIE} when
+     * the value is non-finite, too large, or close enough to a half that the exact binary
+     * value and its shortest decimal representation could round differently.
+     */
+    private static long roundedMagnitude(double value, int scale) {
+        double scaled = Math.abs(value) * scale;
+        if (!(scaled < FAST_PATH_LIMIT)) return TIE; // also rejects NaN
+
+        double floor = Math.floor(scaled);
+        double fraction = scaled - floor;
+        double tolerance = Math.max(1e-9, 8 * Math.ulp(scaled));
+        if (Math.abs(fraction - 0.5) < tolerance) return TIE;
+        return (long) floor + (fraction > 0.5 ? 1 : 0);
+    }
+
+    private void appendGrouped(StringBuilder sb, long n) {
+        long pow = 1;
+        int digits = 1;
+        while (pow <= n / 10) {
+            pow *= 10;
+            digits++;
+        }
+        for (; pow > 0; pow /= 10, digits--) {
+            sb.append((char) ('0' + (n / pow) % 10));
+            if (digits > 1 && (digits - 1) % 3 == 0) sb.append(groupingSeparator);
+        }
+    }
+
+    private static boolean isNegativeZero(double value) {
+        return Double.doubleToRawLongBits(value) == Long.MIN_VALUE;
+    }
+
+    /** Rounds the shortest decimal representation half-up, as the tooltip always has. */
+    private StringBuilder appendFullFallback(StringBuilder sb, double value) {
+        String plain = BigDecimal.valueOf(value)
+                .setScale(2, RoundingMode.HALF_UP)
+                .stripTrailingZeros()
+                .toPlainString();
+
+        int decimalIndex = plain.indexOf('.');
+        String integerPart = decimalIndex >= 0 ? plain.substring(0, decimalIndex) : plain;
+        if (integerPart.startsWith("-")) {
+            sb.append('-');
+            integerPart = integerPart.substring(1);
+        }
+        for (int i = 0; i < integerPart.length(); i++) {
+            if (i > 0 && (integerPart.length() - i) % 3 == 0) {
+                sb.append(groupingSeparator);
+            }
+            sb.append(integerPart.charAt(i));
+        }
+        if (decimalIndex >= 0) {
+            sb.append(decimalSeparator).append(plain, decimalIndex + 1, plain.length());
+        }
+        return sb;
+    }
+}
@@ -1,8 +1,12 @@
 package com.github.kd_gaming1.skyblockenhancements.util;
 
+import com.github.kd_gaming1.skyblockenhancements.repo.item.NeuItemIndex;
+import com.github.kd_gaming1.skyblockenhancements.repo.item.NeuItems;
 import net.minecraft.core.component.DataComponents;
+import net.minecraft.nbt.CompoundTag;
 import net.minecraft.network.chat.Component;
 import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.component.CustomData;
 import net.minecraft.world.item.component.ItemLore;
 
 import java.util.Arrays;
@@ -73,10 +77,32 @@ public enum ItemRarity {
         return Optional.empty();
     }
 
-    /** Resolves an item's rarity from its lore component, or empty if unknown. */
+    /**
+     * Resolves an item's rarity, or empty if unknown. SkyBlock items are looked up in the
+     * {@link NeuItems} index by ID, with recombobulator upgrades applied; the lore is only
+     * scanned for items the index doesn't know (pets, unreleased items, or before the first
+     * repo sync).
+     */
     public static Optional<ItemRarity> fromItem(ItemStack stack) {
         if (stack == null || stack.isEmpty()) return Optional.empty();
+
+        CustomData data = stack.get(DataComponents.CUSTOM_DATA);
+        if (data != null) {
+            NeuItemIndex index = NeuItems.index();
+            CompoundTag tag = data.copyTag();
+            int item = index.indexOf(tag.getStringOr("id", ""));
+            ItemRarity base = item != NeuItemIndex.NO_ITEM ? index.rarity(item) : null;
+            if (base != null) return Optional.of(base.upgraded(tag.getIntOr("rarity_upgrades", 0)));
+        }
+
         ItemLore lore = stack.get(DataComponents.LORE);
         return lore != null ? fromLore(lore.lines()) : Optional.empty();
     }
+
+    /** This rarity raised by {@code tiers}, capped at {@link #ADMIN}. */
+    public ItemRarity upgraded(int tiers) {
+        if (tiers <= 0) return this;
+        ItemRarity[] values = values();
+        return values[Math.min(values.length - 1, ordinal() + tiers)];
+    }
 }
@@ -1,11 +1,11 @@
 package com.github.kd_gaming1.skyblockenhancements.util;
 
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
+import net.minecraft.core.component.DataComponents;
 import net.minecraft.network.chat.Component;
 import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.component.ItemLore;
 
 /**
  * Determines the "logical" stack size of an item by inspecting tooltip lore.
@@ -17,19 +17,8 @@ import net.minecraft.world.item.ItemStack;
  */
 public final class LogicalStackSize {
 
-    private static final String SHORT_NUMBER_FORMAT = "[0-9]+(?:,[0-9]+)*(?:\\.[0-9]+)?[kKmMbB]?";
-
-    private static final Pattern AMOUNT_REGEX = Pattern.compile(
-            ".*(?:Offer amount|Amount|Order amount): (" + SHORT_NUMBER_FORMAT + ")x?");
-
-    private static final Pattern STORED_REGEX = Pattern.compile(
-            "Stored: (" + SHORT_NUMBER_FORMAT + ")/.+");
-
-    private static final Pattern COMPOST_REGEX = Pattern.compile(
-            "Compost Available: (" + SHORT_NUMBER_FORMAT + ")");
-
-    private static final Pattern GEMSTONE_SACK_REGEX = Pattern.compile(
-            " Amount: (" + SHORT_NUMBER_FORMAT + ")");
+    private static final String STORED_PREFIX = "Stored: ";
+    private static final String COMPOST_PREFIX = "Compost Available: ";
 
     private static final java.util.Map<Character, Double> SI_SCALARS = java.util.Map.of(
             'k', 1_000.0,
@@ -39,6 +28,17 @@ public final class LogicalStackSize {
             'b', 1_000_000_000.0,
             'B', 1_000_000_000.0);
 
+    /**
+     * Direct-mapped memos of recent results, indexed by stack identity, one per line
+     * source: a full tooltip also holds the name line and lines added by other mods, so
+     * it can yield a different size than the stack's lore alone. Entries are immutable and
+     * slots are overwritten wholesale, so a race between threads can only cause a miss,
+     * never a wrong answer.
+     */
+    private static final int MEMO_SIZE = 64;
+    private static final Memo[] TOOLTIP_MEMO = new Memo[MEMO_SIZE];
+    private static final Memo[] LORE_MEMO = new Memo[MEMO_SIZE];
+
     private LogicalStackSize() {}
 
     /**
@@ -48,51 +48,164 @@ public final class LogicalStackSize {
      * search for known quantity patterns. If no known pattern matches, falls
      * back to {@link ItemStack#getCount()}.
      *
+     * <p>The result is memoized per stack instance, count and lore component, so a
+     * hovered stack is only scanned once rather than every frame. Only pass the stack's
+     * full tooltip here; use {@link #fromLore} for the lore lines alone.
+     *
      * @param stack       the item stack to inspect
      * @param tooltipLines the parsed tooltip lines from ItemTooltipCallback
      * @return the logical quantity, always >= 1
      */
     public static long getLogicalStackSize(ItemStack stack, List<Component> tooltipLines) {
-        if (tooltipLines != null && !tooltipLines.isEmpty()) {
+        return memoized(TOOLTIP_MEMO, stack, stack.get(DataComponents.LORE), tooltipLines);
+    }
+
+    /**
+     * Returns the logical stack size read from the stack's own lore, for code that has no
+     * rendered tooltip. Memoized like {@link #getLogicalStackSize(ItemStack, List)}.
+     *
+     * @return the logical quantity, always >= 1
+     */
+    public static long fromLore(ItemStack stack) {
+        ItemLore lore = stack.get(DataComponents.LORE);
+        return memoized(LORE_MEMO, stack, lore, lore != null ? lore.lines() : null);
+    }
+
+    /** Convenience overload when tooltip lines aren't available yet. */
+    public static long getLogicalStackSize(ItemStack stack) {
+        return Math.max(1, stack.getCount());
+    }
+
+    private record Memo(ItemStack stack, int count, ItemLore lore, long size) {}
+
+    private static long memoized(Memo[] memos, ItemStack stack, ItemLore lore, List<Component> lines) {
+        int count = stack.getCount();
+        int slot = System.identityHashCode(stack) & (MEMO_SIZE - 1);
+
+        Memo memo = memos[slot];
+        if (memo != null && memo.stack == stack && memo.count == count && memo.lore == lore) {
+            return memo.size;
+        }
+
+        long size = scan(lines, count);
+        memos[slot] = new Memo(stack, count, lore, size);
+        return size;
+    }
+
+    private static long scan(List<Component> tooltipLines, int count) {
+        if (tooltipLines != null) {
             for (Component line : tooltipLines) {
-                Long parsed = tryParse(line.getString());
-                if (parsed != null && parsed > 0) {
+                long parsed = scanLine(line.getString());
+                if (parsed > 0) {
                     return parsed;
                 }
             }
         }
-        return Math.max(1, stack.getCount());
+        return Math.max(1, count);
     }
 
-    /** Convenience overload when tooltip lines aren't available yet. */
-    public static long getLogicalStackSize(ItemStack stack) {
-        return Math.max(1, stack.getCount());
+    // ── Scanner ─────────────────────────────────────────────────────────────────
+
+    /**
+     * Recognises every supported quantity form in one pass over {@code text}:
+     * <ul>
+     *   <li>{@code ...Amount: N[x]}, {@code ...Offer amount: N[x]}, {@code ...Order amount: N[x]}
+     *       (also covers the gemstone sack's {@code " Amount: N"})</li>
+     *   <li>{@code Stored: N/...}</li>
+     *   <li>{@code Compost Available: N}</li>
+     * </ul>
+     * where {@code N} is a short number such as {@code 1,500}, {@code 2.5k} or {@code 3M}.
+     *
+     * @return the quantity, or {@code -1} if the line is not a quantity line
+     */
+    static long scanLine(String text) {
+        int length = text.length();
+
+        // The number after an amount label never contains ": ", so only the last
+        // separator on the line can introduce it.
+        int colon = text.lastIndexOf(": ");
+        if (colon >= 0 && endsWithAmountLabel(text, colon)) {
+            int start = colon + 2;
+            int end = numberEnd(text, start);
+            if (end > start && (end == length || (end == length - 1 && text.charAt(end) == 'x'))) {
+                return parse(text, start, end);
+            }
+        }
+
+        if (text.startsWith(STORED_PREFIX)) {
+            int start = STORED_PREFIX.length();
+            int end = numberEnd(text, start);
+            if (end > start && end < length - 1 && text.charAt(end) == '/') {
+                return parse(text, start, end);
+            }
+            return -1;
+        }
+
+        if (text.startsWith(COMPOST_PREFIX)) {
+            int start = COMPOST_PREFIX.length();
+            int end = numberEnd(text, start);
+            if (end == length && end > start) {
+                return parse(text, start, end);
+            }
+        }
+        return -1;
     }
 
-    /** Tries all known patterns against a single tooltip line. */
-    private static Long tryParse(String text) {
-        Long result = tryPattern(AMOUNT_REGEX, text);
-        if (result != null) return result;
+    /** {@code "Amount"}, {@code "Offer amount"} or {@code "Order amount"} directly before {@code colon}. */
+    private static boolean endsWithAmountLabel(String text, int colon) {
+        if (colon >= 6 && text.startsWith("Amount", colon - 6)) return true;
+        if (colon < 12 || !text.startsWith(" amount", colon - 7)) return false;
+        return text.startsWith("Offer", colon - 12) || text.startsWith("Order", colon - 12);
+    }
 
-        result = tryPattern(GEMSTONE_SACK_REGEX, text);
-        if (result != null) return result;
+    /**
+     * Returns the end of the short number starting at {@code start}
+     * ({@code [0-9]+(,[0-9]+)*(\.[0-9]+)?[kKmMbB]?}), or {@code start} if there is none.
+     */
+    private static int numberEnd(String text, int start) {
+        int length = text.length();
+        int i = skipDigits(text, start);
+        if (i == start) return start;
 
-        result = tryPattern(STORED_REGEX, text);
-        if (result != null) return result;
+        while (i + 1 < length && text.charAt(i) == ',' && isDigit(text.charAt(i + 1))) {
+            i = skipDigits(text, i + 1);
+        }
+        if (i + 1 < length && text.charAt(i) == '.' && isDigit(text.charAt(i + 1))) {
+            i = skipDigits(text, i + 1);
+        }
+        if (i < length && SI_SCALARS.containsKey(text.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    private static int skipDigits(String text, int i) {
+        while (i < text.length() && isDigit(text.charAt(i))) i++;
+        return i;
+    }
 
-        result = tryPattern(COMPOST_REGEX, text);
-        return result;
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
     }
 
-    /** Applies a single regex and parses the captured group as a short number. */
-    private static Long tryPattern(Pattern pattern, String text) {
-        Matcher m = pattern.matcher(text);
-        if (!m.matches()) return null;
-        try {
-            return parseShortNumber(m.group(1));
-        } catch (NumberFormatException e) {
-            return null;
+    /**
+     * Parses a number already validated by {@link #numberEnd}. Whole numbers are
+     * accumulated directly; decimals go through {@link #parseShortNumber} so rounding
+     * matches it exactly.
+     */
+    private static long parse(String text, int start, int end) {
+        long value = 0;
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (isDigit(c)) {
+                value = value * 10 + (c - '0');
+            } else if (c == '.') {
+                return parseShortNumber(text.substring(start, end));
+            } else if (c != ',') {
+                return (long) (value * SI_SCALARS.get(c));
+            }
         }
+        return value;
     }
 
     /**
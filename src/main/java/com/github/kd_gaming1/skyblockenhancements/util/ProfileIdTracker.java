@@ -2,6 +2,7 @@ package com.github.kd_gaming1.skyblockenhancements.util;
 
 import com.github.kd_gaming1.skyblockenhancements.SkyblockEnhancements;
 import com.github.kd_gaming1.skyblockenhancements.repo.io.AtomicFileWriter;
+import com.github.kd_gaming1.skyblockenhancements.repo.io.PersistenceService;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.reflect.TypeToken;
@@ -11,7 +12,6 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.BufferedReader;
-import java.io.IOException;
 import java.lang.reflect.Type;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
@@ -42,6 +42,7 @@ public final class ProfileIdTracker {
     private static final Type CACHE_TYPE = new TypeToken<Map<String, String>>() {}.getType();
 
     private static Path cachePath;
+    private static PersistenceService.Handle<Map<String, String>> cachePersistence;
     private static Map<String, String> profileCache = new HashMap<>();
 
     private static UUID profileId;
@@ -52,6 +53,8 @@ public final class ProfileIdTracker {
     /** Loads the persisted UUID cache and registers the disconnect reset. */
     public static void register(Path cacheFilePath) {
         cachePath = cacheFilePath;
+        cachePersistence = PersistenceService.register("profile UUID cache", PersistenceService.DEFAULT_DEBOUNCE_MS,
+                snapshot -> AtomicFileWriter.writeJson(cacheFilePath, snapshot, GSON));
         loadCache();
         ClientPlayConnectionEvents.DISCONNECT.register((handler, client) -> reset());
     }
@@ -136,11 +139,7 @@ public final class ProfileIdTracker {
         String account = accountUuid();
         String previous = profileCache.put(account, uuid.toString());
         if (uuid.toString().equals(previous)) return;
-        try {
-            AtomicFileWriter.writeJson(cachePath, profileCache, GSON);
-        } catch (IOException e) {
-            LOGGER.error("Failed to save profile UUID cache", e);
-        }
+        cachePersistence.submit(Map.copyOf(profileCache));
     }
 
     private static void reset() {
@@ -1,5 +1,7 @@
 package com.github.kd_gaming1.skyblockenhancements.util.tool;
 
+import com.github.kd_gaming1.skyblockenhancements.repo.item.NeuItemIndex;
+import com.github.kd_gaming1.skyblockenhancements.repo.item.NeuItems;
 import net.minecraft.client.Minecraft;
 import net.minecraft.core.component.DataComponents;
 import net.minecraft.nbt.CompoundTag;
@@ -15,10 +17,12 @@ import java.util.Optional;
  * <p>Detection is two-tier:
  * <ol>
  *   <li><b>SkyBlock ID pattern matching</b> — reads {@code ExtraAttributes.id}
- *       from the item's {@link DataComponents#CUSTOM_DATA} and matches the
- *       ID against each {@link ToolType}'s ID fragments (e.g. "TITANIUM_PICKAXE"
- *       contains "PICKAXE" → {@link ToolType#PICKAXE}). No hardcoded lists —
- *       this works for any current or future SkyBlock item automatically.</li>
+ *       from the item's {@link DataComponents#CUSTOM_DATA}. The item type the
+ *       {@link NeuItems} index lists for that ID (e.g. "DRILL", "FISHING ROD") is
+ *       matched first, then the ID itself, against each {@link ToolType}'s ID
+ *       fragments (e.g. "TITANIUM_PICKAXE" contains "PICKAXE" →
+ *       {@link ToolType#PICKAXE}). No hardcoded lists — this works for any
+ *       current or future SkyBlock item automatically.</li>
  *   <li><b>Display name heuristic</b> — if the ID is unavailable (non-SkyBlock
  *       item, custom item), falls back to matching the display name against
  *       {@link ToolType}'s name fragments.</li>
@@ -57,6 +61,15 @@ public final class ToolDetector {
         // Tier 1: SkyBlock ExtraAttributes.id pattern matching
         String skyblockId = getSkyblockId(stack);
         if (skyblockId != null && !skyblockId.isEmpty()) {
+            NeuItemIndex index = NeuItems.index();
+            int item = index.indexOf(skyblockId);
+            String category = item != NeuItemIndex.NO_ITEM ? index.category(item) : null;
+            if (category != null) {
+                for (ToolType type : ToolType.knownValues()) {
+                    if (type.matchesId(category)) return type;
+                }
+            }
+
             String upperId = skyblockId.toUpperCase(Locale.ROOT);
             for (ToolType type : ToolType.knownValues()) {
                 if (type.matchesId(upperId)) return type;
@@ -0,0 +1,50 @@
+package com.github.kd_gaming1.skyblockenhancements;
+
+import java.lang.management.ManagementFactory;
+import java.util.Locale;
+
+/**
+ * Minimal timing loop for the {@code benchmark}-tagged tests: warms a body up, then reports
+ * mean time and bytes allocated per operation on the calling thread.
+ */
+public final class Bench {
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    /** Defeats dead-code elimination of benchmark results. */
+    private static volatile long sink;
+
+    private Bench() {}
+
+    /** One measured operation; returns something derived from its work. */
+    @FunctionalInterface
+    public interface Op {
+        long run() throws Exception;
+    }
+
+    public record Result(String label, double nanosPerOp, double bytesPerOp) {
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "%-40s %12.1f ns/op %10.1f B/op", label, nanosPerOp, bytesPerOp);
+        }
+    }
+
+    /** Runs {@code op} {@code warmup} times, then {@code ops} measured times, and prints the result. */
+    public static Result run(String label, int warmup, int ops, Op op) throws Exception {
+        long acc = 0;
+        for (int i = 0; i < warmup; i++) acc += op.run();
+
+        long thread = Thread.currentThread().threadId();
+        long bytesBefore = THREADS.getThreadAllocatedBytes(thread);
+        long start = System.nanoTime();
+        for (int i = 0; i < ops; i++) acc += op.run();
+        long nanos = System.nanoTime() - start;
+        long bytes = THREADS.getThreadAllocatedBytes(thread) - bytesBefore;
+        sink = acc;
+
+        Result result = new Result(label, (double) nanos / ops, (double) bytes / ops);
+        System.out.println(result);
+        return result;
+    }
+}
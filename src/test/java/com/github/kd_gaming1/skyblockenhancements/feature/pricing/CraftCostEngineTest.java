@@ -0,0 +1,105 @@
+package com.github.kd_gaming1.skyblockenhancements.feature.pricing;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.github.kd_gaming1.skyblockenhancements.repo.item.NeuItemIndex;
+import com.github.kd_gaming1.skyblockenhancements.repo.item.NeuItemIndexCompiler;
+import it.unimi.dsi.fastutil.objects.Object2DoubleOpenHashMap;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** {@link CraftCostEngine} over a small NEU index priced with bazaar-style IDs. */
+class CraftCostEngineTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void priceIdsMapToNeuIds() {
+        assertEquals("INK_SACK-3", CraftCostEngine.neuId("INK_SACK:3"));
+        assertEquals("LOG-1", CraftCostEngine.neuId("LOG:1"));
+        assertEquals("RAW_FISH-1", CraftCostEngine.neuId("RAW_FISH:1"));
+        assertEquals("ULTIMATE_LEGION;1", CraftCostEngine.neuId("ENCHANTMENT_ULTIMATE_LEGION_1"));
+        assertEquals("SHARPNESS;10", CraftCostEngine.neuId("ENCHANTMENT_SHARPNESS_10"));
+        // Not a book: no level, or nothing before it.
+        assertEquals("ENCHANTMENT_TABLE", CraftCostEngine.neuId("ENCHANTMENT_TABLE"));
+        assertEquals("ENCHANTMENT__5", CraftCostEngine.neuId("ENCHANTMENT__5"));
+        String plain = "ENCHANTED_COCOA";
+        assertSame(plain, CraftCostEngine.neuId(plain));
+    }
+
+    @Test
+    void bazaarOnlyIngredientsPriceTheirRecipes() throws IOException {
+        PriceStore store = new PriceStore();
+        CraftCostEngine engine = new CraftCostEngine(store);
+        store.publish(bazaar(2.0, 1_000.0));
+        engine.rebuild(index(), store.snapshot());
+
+        assertCraftCosts(store, engine, 320.0, 2_000.0);
+    }
+
+    @Test
+    void bazaarOnlyIngredientsUpdateAfterRefresh() throws IOException {
+        PriceStore store = new PriceStore();
+        CraftCostEngine engine = new CraftCostEngine(store);
+        engine.rebuild(index(), store.snapshot());
+
+        store.publish(bazaar(2.0, 1_000.0));
+        assertCraftCosts(store, engine, 320.0, 2_000.0);
+
+        store.publish(bazaar(3.0, 1_500.0));
+        assertCraftCosts(store, engine, 480.0, 3_000.0);
+    }
+
+    // ── Helpers ─────────────────────────────────────────────────────────────────
+
+    private static void assertCraftCosts(PriceStore store, CraftCostEngine engine, double cocoa, double legion) {
+        PriceSnapshot snapshot = store.snapshot();
+        int cocoaId = snapshot.indexOf("ENCHANTED_COCOA");
+        int legionId = snapshot.indexOf("ENCHANTMENT_ULTIMATE_LEGION_2");
+        assertTrue(cocoaId != ItemIdDictionary.NO_ID && legionId != ItemIdDictionary.NO_ID);
+        assertEquals(cocoa, engine.costs().craftCost(cocoaId), 1e-9);
+        assertEquals(legion, engine.costs().craftCost(legionId), 1e-9);
+    }
+
+    /** Bazaar feed naming items the way Hypixel does; the crafted outputs are listed too. */
+    private static PriceSnapshot.Builder bazaar(double cocoaBean, double legionOne) {
+        PriceSnapshot.Builder next = PriceSnapshot.builder(PriceSnapshot.EMPTY);
+        next.beginBazaar();
+        next.putBazaar("INK_SACK:3", cocoaBean, cocoaBean * 0.9, cocoaBean * 0.1);
+        next.putBazaar("ENCHANTED_COCOA", 500.0, 450.0, 50.0);
+        next.putBazaar("ENCHANTMENT_ULTIMATE_LEGION_1", legionOne, legionOne * 0.9, legionOne * 0.1);
+        next.putBazaar("ENCHANTMENT_ULTIMATE_LEGION_2", 5_000.0, 4_500.0, 500.0);
+        next.commitBazaar();
+        return next;
+    }
+
+    /** NEU definitions: five stacks of cocoa beans per enchanted cocoa, two books per level up. */
+    private NeuItemIndex index() throws IOException {
+        Path items = Files.createDirectories(dir.resolve("items"));
+        item(items, "INK_SACK-3", "{\"internalname\":\"INK_SACK-3\",\"displayname\":\"§fCocoa Beans\"}");
+        item(items, "ENCHANTED_COCOA", """
+                {"internalname":"ENCHANTED_COCOA","displayname":"§aEnchanted Cocoa Bean","recipe":{
+                  "A1":"","A2":"INK_SACK-3:32","A3":"",
+                  "B1":"INK_SACK-3:32","B2":"INK_SACK-3:32","B3":"INK_SACK-3:32",
+                  "C1":"","C2":"INK_SACK-3:32","C3":""}}""");
+        item(items, "ULTIMATE_LEGION;1", "{\"internalname\":\"ULTIMATE_LEGION;1\",\"displayname\":\"§fEnchanted Book\"}");
+        item(items, "ULTIMATE_LEGION;2", """
+                {"internalname":"ULTIMATE_LEGION;2","displayname":"§fEnchanted Book",
+                 "recipe":{"A1":"ULTIMATE_LEGION;1:1","A2":"ULTIMATE_LEGION;1:1"}}""");
+
+        Path file = dir.resolve("items.idx");
+        NeuItemIndexCompiler.compile(items, new Object2DoubleOpenHashMap<>(), "test", file);
+        return NeuItemIndex.open(file);
+    }
+
+    private static void item(Path items, String id, String json) throws IOException {
+        Files.writeString(items.resolve(id.replace(';', '-') + ".json"), json, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,194 @@
+package com.github.kd_gaming1.skyblockenhancements.feature.pricing;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.github.kd_gaming1.skyblockenhancements.config.ModSettings;
+import com.github.kd_gaming1.skyblockenhancements.config.SkyblockEnhancementsConfig;
+import com.github.kd_gaming1.skyblockenhancements.feature.pricing.PriceProvider.Feed;
+import com.github.kd_gaming1.skyblockenhancements.feature.pricing.StandInPriceServer.Reply;
+import com.github.kd_gaming1.skyblockenhancements.repo.network.HostRateLimiter;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** Whole refreshes of {@link PriceDataFetcher} against a stand-in price server. */
+class PriceDataFetcherTest {
+
+    /** Products with a usable price in the recorded fixtures. */
+    private static final int FIXTURE_LOWEST_BIN = 16;
+    private static final int FIXTURE_BAZAAR = 13;
+
+    @TempDir
+    Path dir;
+
+    private StandInPriceServer server;
+    private PriceStore store;
+    private PriceDataFetcher fetcher;
+
+    @BeforeAll
+    static void allowBurstsToLoopback() {
+        HostRateLimiter.configure(InetAddress.getLoopbackAddress().getHostAddress(), new HostRateLimiter.Policy(256, 1L));
+    }
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = StandInPriceServer.start("stand-in");
+        store = new PriceStore();
+        fetcher = new PriceDataFetcher(new TestSettings(List.of()), store,
+                new PriceSnapshotFile(dir.resolve("price_snapshot.bin")),
+                new PriceHistoryStore(dir.resolve("price_history.bin")), server);
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.close();
+    }
+
+    @Test
+    void refreshPublishesBothFeeds() throws Exception {
+        server.reply(Feed.LOWEST_BIN, Reply.fixture("lowestbin.json"))
+                .reply(Feed.BAZAAR, Reply.fixture("bazaar.json"));
+
+        PriceDataFetcher.RefreshStats stats = refresh();
+        await(() -> store.getLastFetchTimestamp() != 0);
+
+        assertTrue(stats.success());
+        assertEquals(FIXTURE_LOWEST_BIN, stats.lowestBinCount());
+        assertEquals(FIXTURE_BAZAAR, stats.bazaarCount());
+        assertEquals(812_000_000.0, store.getLowestBin("HYPERION").orElseThrow().doubleValue());
+        assertEquals(1_512.8, store.getBazaarPrice("ENCHANTED_DIAMOND").orElseThrow().sellPrice());
+        assertFalse(store.getLowestBin("TEXT_PRICE").isPresent());
+        assertFalse(store.isLastFetchFailed());
+
+        PriceSnapshotFile.Loaded cached = new PriceSnapshotFile(dir.resolve("price_snapshot.bin")).read();
+        assertNotNull(cached);
+    }
+
+    @Test
+    void failedRefreshBacksOff() throws Exception {
+        server.reply(Feed.LOWEST_BIN, Reply.status(503)).reply(Feed.BAZAAR, Reply.status(503));
+
+        assertFalse(refresh().success());
+        await(store::isLastFetchFailed);
+        assertFalse(store.hasData());
+
+        assertNoRefreshOnTick();
+    }
+
+    @Test
+    void backoffDoublesWithJitterUpToCap() {
+        assertEquals(15_000L, PriceDataFetcher.calculateBackoff(0));
+        for (int failures = 1; failures <= 6; failures++) {
+            long base = 15_000L << (failures - 1);
+            long backoff = PriceDataFetcher.calculateBackoff(failures);
+            assertTrue(backoff >= base && backoff < base + 1_000L, failures + " failures: " + backoff);
+        }
+        assertEquals(900_000L, PriceDataFetcher.calculateBackoff(7));
+        assertEquals(900_000L, PriceDataFetcher.calculateBackoff(Integer.MAX_VALUE));
+    }
+
+    @Test
+    void rateLimitedFeedStillPublishesTheOther() throws Exception {
+        // Retry-After 0 keeps the shared loopback limiter usable for the other tests.
+        server.reply(Feed.LOWEST_BIN, Reply.status(429).header("Retry-After", "0"))
+                .reply(Feed.BAZAAR, Reply.fixture("bazaar.json"));
+
+        PriceDataFetcher.RefreshStats stats = refresh();
+        await(store::isLastFetchFailed);
+
+        assertFalse(stats.success());
+        assertEquals(0, stats.lowestBinCount());
+        assertEquals(FIXTURE_BAZAAR, stats.bazaarCount());
+        assertTrue(store.getBazaarPrice("BOOSTER_COOKIE").isPresent());
+
+        assertNoRefreshOnTick();
+    }
+
+    @Test
+    void truncatedFeedIsDiscardedWithoutLosingTheOther() throws Exception {
+        Reply lowestBin = Reply.fixture("lowestbin.json");
+        server.reply(Feed.LOWEST_BIN, lowestBin.truncatedAt(lowestBin.body().length / 2))
+                .reply(Feed.BAZAAR, Reply.fixture("bazaar.json"));
+
+        PriceDataFetcher.RefreshStats stats = refresh();
+        await(store::isLastFetchFailed);
+
+        assertFalse(stats.success());
+        assertEquals(0, stats.lowestBinCount(), "half-read feed was published");
+        assertEquals(FIXTURE_BAZAAR, stats.bazaarCount());
+    }
+
+    @Test
+    void failingDefaultProviderFallsBackToConfiguredOne() throws Exception {
+        try (StandInPriceServer extra = StandInPriceServer.start("extra")) {
+            extra.reply(Feed.LOWEST_BIN, Reply.fixture("lowestbin.json"))
+                    .reply(Feed.BAZAAR, Reply.fixture("bazaar.json"));
+            server.reply(Feed.LOWEST_BIN, Reply.status(500)).reply(Feed.BAZAAR, Reply.status(502));
+            fetcher = new PriceDataFetcher(
+                    new TestSettings(List.of(extra.uri(Feed.LOWEST_BIN) + " " + extra.uri(Feed.BAZAAR))), store,
+                    new PriceSnapshotFile(dir.resolve("price_snapshot.bin")),
+                    new PriceHistoryStore(dir.resolve("price_history.bin")), server);
+
+            PriceDataFetcher.RefreshStats stats = refresh();
+
+            assertTrue(stats.success());
+            assertEquals(FIXTURE_LOWEST_BIN, stats.lowestBinCount());
+            assertEquals(1, extra.requests(Feed.BAZAAR));
+        }
+    }
+
+    // ── Helpers ─────────────────────────────────────────────────────────────────
+
+    /** Runs the initial refresh and waits for its stats. */
+    private PriceDataFetcher.RefreshStats refresh() throws InterruptedException {
+        fetcher.start();
+        await(() -> fetcher.getLastRefreshStats() != null);
+        return fetcher.getLastRefreshStats();
+    }
+
+    /** A tick inside the backoff window must not reach the server. */
+    private void assertNoRefreshOnTick() throws InterruptedException {
+        int before = server.requests(Feed.LOWEST_BIN) + server.requests(Feed.BAZAAR);
+        // Let the failed refresh release its in-flight flag first.
+        Thread.sleep(200);
+        fetcher.tick();
+        Thread.sleep(200);
+        assertEquals(before, server.requests(Feed.LOWEST_BIN) + server.requests(Feed.BAZAAR));
+    }
+
+    static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() - deadline > 0) throw new AssertionError("Timed out waiting for refresh");
+            Thread.sleep(10);
+        }
+    }
+
+    /** Price tooltips on, hedging off, everything else at its default. */
+    record TestSettings(List<String> extraPriceProviders) implements ModSettings {
+        @Override public boolean enablePriceTooltips() { return true; }
+        @Override public int priceRefreshIntervalMinutes() { return 5; }
+        @Override public boolean hedgePriceRequests() { return false; }
+        @Override public boolean enableReminderSound() { return false; }
+        @Override public SkyblockEnhancementsConfig.ReminderSoundType reminderSound() { return null; }
+        @Override public double reminderSoundVolume() { return 1.0; }
+        @Override public double reminderSoundPitch() { return 1.0; }
+        @Override public boolean enablePriceTickerText() { return false; }
+        @Override public boolean roundPriceNumbers() { return true; }
+        @Override public boolean showBazaarBuySell() { return true; }
+        @Override public boolean showBazaarSpread() { return false; }
+        @Override public boolean showPriceTrend() { return false; }
+        @Override public boolean showCraftCost() { return false; }
+        @Override public boolean showContainerValue() { return false; }
+    }
+}
@@ -0,0 +1,214 @@
+package com.github.kd_gaming1.skyblockenhancements.feature.pricing;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.github.kd_gaming1.skyblockenhancements.feature.pricing.PriceProvider.Feed;
+import com.github.kd_gaming1.skyblockenhancements.feature.pricing.StandInPriceServer.Reply;
+import com.github.kd_gaming1.skyblockenhancements.repo.network.HostRateLimiter;
+import com.google.gson.stream.JsonReader;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.http.HttpTimeoutException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/** Failover, hedging and body deadlines in {@link PriceFeedClient}, against two stand-in servers. */
+class PriceFeedClientTest {
+
+    /** Hedge delay the client uses before an endpoint has latency samples. */
+    private static final long DEFAULT_HEDGE_MS = 2_000L;
+    /** Shortened body deadline for the stall tests. */
+    private static final long BODY_TIMEOUT_MS = 500L;
+
+    private StandInPriceServer primary;
+    private StandInPriceServer backup;
+    private PriceFeedClient client;
+
+    @BeforeAll
+    static void allowBurstsToLoopback() {
+        HostRateLimiter.configure(InetAddress.getLoopbackAddress().getHostAddress(), new HostRateLimiter.Policy(256, 1L));
+    }
+
+    @BeforeEach
+    void startServers() throws IOException {
+        primary = StandInPriceServer.start("primary");
+        backup = StandInPriceServer.start("backup");
+        client = new PriceFeedClient();
+    }
+
+    @AfterEach
+    void stopServers() {
+        primary.close();
+        backup.close();
+    }
+
+    @Test
+    void fastPrimaryIsNotHedged() throws Exception {
+        primary.reply(Feed.LOWEST_BIN, answer("primary"));
+        backup.reply(Feed.LOWEST_BIN, answer("backup"));
+
+        assertEquals("primary", source(client.open(providers(), Feed.LOWEST_BIN, true)));
+        assertEquals(0, backup.requests(Feed.LOWEST_BIN));
+    }
+
+    @Test
+    void slowPrimaryTriggersHedge() throws Exception {
+        primary.reply(Feed.LOWEST_BIN, answer("primary").afterMs(10_000L));
+        backup.reply(Feed.LOWEST_BIN, answer("backup"));
+
+        long start = System.nanoTime();
+        String source = source(client.open(providers(), Feed.LOWEST_BIN, true));
+        long elapsedMs = elapsedMs(start);
+
+        assertEquals("backup", source);
+        assertTrue(elapsedMs >= DEFAULT_HEDGE_MS, "hedged after " + elapsedMs + " ms");
+        assertTrue(elapsedMs < 5_000L, "waited for the slow primary: " + elapsedMs + " ms");
+    }
+
+    @Test
+    void slowPrimaryIsNotHedgedWhenHedgingIsOff() throws Exception {
+        primary.reply(Feed.LOWEST_BIN, answer("primary").afterMs(DEFAULT_HEDGE_MS + 500L));
+        backup.reply(Feed.LOWEST_BIN, answer("backup"));
+
+        assertEquals("primary", source(client.open(providers(), Feed.LOWEST_BIN, false)));
+        assertEquals(0, backup.requests(Feed.LOWEST_BIN));
+    }
+
+    @Test
+    void hedgeDelayFollowsObservedLatency() throws Exception {
+        primary.reply(Feed.BAZAAR, answer("primary"));
+        backup.reply(Feed.BAZAAR, answer("backup"));
+        for (int i = 0; i < 16; i++) {
+            source(client.open(providers(), Feed.BAZAAR, true));
+        }
+
+        primary.reply(Feed.BAZAAR, answer("primary").afterMs(10_000L));
+        long start = System.nanoTime();
+        String source = source(client.open(providers(), Feed.BAZAAR, true));
+        long elapsedMs = elapsedMs(start);
+
+        assertEquals("backup", source);
+        assertTrue(elapsedMs < DEFAULT_HEDGE_MS, "hedge waited for the default delay: " + elapsedMs + " ms");
+    }
+
+    @Test
+    void failingPrimaryFailsOverWithoutWaitingForHedge() throws Exception {
+        primary.reply(Feed.BAZAAR, Reply.status(503));
+        backup.reply(Feed.BAZAAR, answer("backup"));
+
+        for (boolean hedge : new boolean[] {false, true}) {
+            long start = System.nanoTime();
+            assertEquals("backup", source(client.open(providers(), Feed.BAZAAR, hedge)));
+            assertTrue(elapsedMs(start) < DEFAULT_HEDGE_MS, "failover waited for the hedge delay");
+        }
+    }
+
+    @Test
+    void firstAnswerWins() throws Exception {
+        // The hedge goes out at 2 s and would answer at 4 s; the primary answers at 2.8 s.
+        primary.reply(Feed.LOWEST_BIN, answer("primary").afterMs(DEFAULT_HEDGE_MS + 800L));
+        backup.reply(Feed.LOWEST_BIN, answer("backup").afterMs(DEFAULT_HEDGE_MS));
+
+        assertEquals("primary", source(client.open(providers(), Feed.LOWEST_BIN, true)));
+        assertEquals(1, backup.requests(Feed.LOWEST_BIN));
+    }
+
+    @Test
+    void allProvidersFailingReportsTheFirstFailure() {
+        primary.reply(Feed.LOWEST_BIN, Reply.status(500));
+        backup.reply(Feed.LOWEST_BIN, Reply.status(404));
+
+        PriceFeedClient.HttpException failure = assertThrows(PriceFeedClient.HttpException.class,
+                () -> client.open(providers(), Feed.LOWEST_BIN, true));
+        assertEquals(500, failure.status);
+        assertEquals(1, failure.getSuppressed().length);
+        assertEquals(404, ((PriceFeedClient.HttpException) failure.getSuppressed()[0]).status);
+    }
+
+    @Test
+    void stalledBodyHitsDeadline() throws Exception {
+        client = new PriceFeedClient(BODY_TIMEOUT_MS);
+        primary.reply(Feed.LOWEST_BIN, Reply.fixture("lowestbin.json").stallingAfter(64, 10_000L));
+
+        assertBodyTimesOut();
+    }
+
+    @Test
+    void slowDripBodyHitsDeadline() throws Exception {
+        client = new PriceFeedClient(BODY_TIMEOUT_MS);
+        // Every read returns a few bytes, so only the deadline can stop it.
+        primary.reply(Feed.LOWEST_BIN, Reply.fixture("lowestbin.json").dripping(8, 50L));
+
+        assertBodyTimesOut();
+    }
+
+    @Test
+    void truncatedBodyFailsParse() throws Exception {
+        Reply full = Reply.fixture("lowestbin.json");
+        primary.reply(Feed.LOWEST_BIN, full.truncatedAt(full.body().length / 2));
+
+        try (JsonReader reader = client.open(List.of(primary), Feed.LOWEST_BIN, false)) {
+            PriceSnapshot.Builder next = PriceSnapshot.builder(PriceSnapshot.EMPTY);
+            assertThrows(IOException.class, () -> PriceFeedParser.readLowestBin(reader, next));
+            assertFalse(next.isDirty(), "half-read feed was committed");
+        }
+    }
+
+    @Test
+    void fixturesParseFromStandIn() throws Exception {
+        primary.reply(Feed.LOWEST_BIN, Reply.fixture("lowestbin.json"))
+                .reply(Feed.BAZAAR, Reply.fixture("bazaar.json"));
+
+        PriceSnapshot.Builder next = PriceSnapshot.builder(PriceSnapshot.EMPTY);
+        try (JsonReader reader = client.open(List.of(primary), Feed.LOWEST_BIN, false)) {
+            PriceFeedParser.readLowestBin(reader, next);
+        }
+        try (JsonReader reader = client.open(List.of(primary), Feed.BAZAAR, false)) {
+            PriceFeedParser.readBazaar(reader, next);
+        }
+        PriceSnapshot snapshot = next.build(1L, PriceSnapshot.EMPTY);
+
+        assertEquals(16, snapshot.lowestBinCount());
+        assertEquals(13, snapshot.bazaarCount());
+    }
+
+    // ── Helpers ─────────────────────────────────────────────────────────────────
+
+    private void assertBodyTimesOut() throws Exception {
+        long start = System.nanoTime();
+        try (JsonReader reader = client.open(List.of(primary), Feed.LOWEST_BIN, false)) {
+            PriceSnapshot.Builder next = PriceSnapshot.builder(PriceSnapshot.EMPTY);
+            assertThrows(HttpTimeoutException.class, () -> PriceFeedParser.readLowestBin(reader, next));
+        }
+        long elapsedMs = elapsedMs(start);
+        assertTrue(elapsedMs < BODY_TIMEOUT_MS + 1_500L, "body read ran for " + elapsedMs + " ms");
+    }
+
+    private List<PriceProvider> providers() {
+        return List.of(primary, backup);
+    }
+
+    private static Reply answer(String source) {
+        return Reply.ok("{\"source\":\"" + source + "\"}");
+    }
+
+    /** Reads the {@code source} field of a reply and closes the reader. */
+    private static String source(JsonReader reader) throws IOException {
+        try (reader) {
+            reader.beginObject();
+            reader.nextName();
+            return reader.nextString();
+        }
+    }
+
+    private static long elapsedMs(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+}
@@ -0,0 +1,99 @@
+package com.github.kd_gaming1.skyblockenhancements.feature.pricing;
+
+import com.github.kd_gaming1.skyblockenhancements.feature.pricing.PriceDataFetcher.RefreshStats;
+import com.github.kd_gaming1.skyblockenhancements.feature.pricing.PriceDataFetcherTest.TestSettings;
+import com.github.kd_gaming1.skyblockenhancements.feature.pricing.PriceProvider.Feed;
+import com.github.kd_gaming1.skyblockenhancements.feature.pricing.StandInPriceServer.Reply;
+import com.github.kd_gaming1.skyblockenhancements.repo.network.HostRateLimiter;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.net.InetAddress;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Latency, allocation and peak heap of full refreshes against a stand-in server serving
+ * feeds the size of the live ones (~6,000 auction and ~1,500 bazaar products).
+ */
+@Tag("benchmark")
+class PriceRefreshBenchmark {
+
+    private static final int LOWEST_BIN_PRODUCTS = 6_000;
+    private static final int BAZAAR_PRODUCTS = 1_500;
+    private static final int WARMUP = 10;
+    private static final int RUNS = 30;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void fullRefresh() throws Exception {
+        HostRateLimiter.configure(InetAddress.getLoopbackAddress().getHostAddress(), new HostRateLimiter.Policy(256, 1L));
+        List<MemoryPoolMXBean> heapPools = ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP)
+                .toList();
+
+        try (StandInPriceServer server = StandInPriceServer.start("bench")) {
+            server.reply(Feed.LOWEST_BIN, Reply.ok(lowestBinFeed()))
+                    .reply(Feed.BAZAAR, Reply.ok(bazaarFeed()));
+
+            long[] totalMs = new long[RUNS];
+            long[] allocated = new long[RUNS];
+            long peakHeap = 0;
+            for (int run = -WARMUP; run < RUNS; run++) {
+                heapPools.forEach(MemoryPoolMXBean::resetPeakUsage);
+                RefreshStats stats = refreshOnce(server, dir.resolve("run" + run));
+                if (run < 0) continue;
+
+                totalMs[run] = stats.totalMs();
+                allocated[run] = stats.allocatedBytes();
+                long peak = 0;
+                for (MemoryPoolMXBean pool : heapPools) peak += pool.getPeakUsage().getUsed();
+                peakHeap = Math.max(peakHeap, peak);
+            }
+
+            Arrays.sort(totalMs);
+            Arrays.sort(allocated);
+            System.out.printf(Locale.ROOT, "refresh: p50 %d ms, p95 %d ms, max %d ms%n",
+                    totalMs[RUNS / 2], totalMs[(int) Math.ceil(RUNS * 0.95) - 1], totalMs[RUNS - 1]);
+            System.out.printf(Locale.ROOT, "allocated per refresh: p50 %d KB%n", allocated[RUNS / 2] / 1024);
+            System.out.printf(Locale.ROOT, "peak heap across refreshes: %d MB%n", peakHeap / (1024 * 1024));
+        }
+    }
+
+    private static RefreshStats refreshOnce(StandInPriceServer server, Path dir) throws InterruptedException {
+        PriceStore store = new PriceStore();
+        PriceDataFetcher fetcher = new PriceDataFetcher(new TestSettings(List.of()), store,
+                new PriceSnapshotFile(dir.resolve("price_snapshot.bin")),
+                new PriceHistoryStore(dir.resolve("price_history.bin")), server);
+        fetcher.start();
+        PriceDataFetcherTest.await(() -> store.getLastFetchTimestamp() != 0);
+        return fetcher.getLastRefreshStats();
+    }
+
+    private static String lowestBinFeed() {
+        StringBuilder json = new StringBuilder("{\"lastUpdated\":1760745600000");
+        for (int i = 0; i < LOWEST_BIN_PRODUCTS; i++) {
+            json.append(",\"AUCTION_ITEM_").append(i).append("\":{\"price\":")
+                    .append(1_000 + i * 137.5).append(",\"count\":").append(i % 97).append('}');
+        }
+        return json.append('}').toString();
+    }
+
+    private static String bazaarFeed() {
+        StringBuilder json = new StringBuilder("{\"success\":true,\"products\":{");
+        for (int i = 0; i < BAZAAR_PRODUCTS; i++) {
+            if (i > 0) json.append(',');
+            double buy = 100 + i * 3.25;
+            json.append("\"BAZAAR_ITEM_").append(i).append("\":{\"buy\":").append(buy)
+                    .append(",\"sell\":").append(buy * 0.95).append(",\"spread\":").append(buy * 0.05).append('}');
+        }
+        return json.append("}}").toString();
+    }
+}
@@ -0,0 +1,186 @@
+package com.github.kd_gaming1.skyblockenhancements.feature.pricing;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-process {@link PriceProvider} backed by the JDK's {@link HttpServer}, for driving
+ * {@link PriceFeedClient} and {@link PriceDataFetcher} against scripted responses.
+ *
+ * <p>Each feed answers with its current {@link Reply} until it is replaced. Replies can hold
+ * back the headers, fail with a status, drip or stall the body, or cut it short. Recorded
+ * feed responses live under {@code src/test/resources/pricing} and load with
+ * {@link Reply#fixture}.
+ */
+final class StandInPriceServer implements PriceProvider, AutoCloseable {
+
+    private final String name;
+    private final HttpServer server;
+    private final ExecutorService handlers = Executors.newCachedThreadPool(r -> {
+        Thread t = new Thread(r, "stand-in-price-server");
+        t.setDaemon(true);
+        return t;
+    });
+    private final Map<Feed, Reply> replies = new EnumMap<>(Feed.class);
+    private final Map<Feed, AtomicInteger> requests = new EnumMap<>(Feed.class);
+
+    private StandInPriceServer(String name) throws IOException {
+        this.name = name;
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        for (Feed feed : Feed.values()) {
+            requests.put(feed, new AtomicInteger());
+            replies.put(feed, Reply.status(404));
+            server.createContext(path(feed), exchange -> handle(feed, exchange));
+        }
+        server.setExecutor(handlers);
+        server.start();
+    }
+
+    static StandInPriceServer start(String name) throws IOException {
+        return new StandInPriceServer(name);
+    }
+
+    /** Answers every later request for {@code feed} with {@code reply}. */
+    StandInPriceServer reply(Feed feed, Reply reply) {
+        synchronized (replies) {
+            replies.put(feed, reply);
+        }
+        return this;
+    }
+
+    /** Requests received for {@code feed} so far, including ones still being answered. */
+    int requests(Feed feed) {
+        return requests.get(feed).get();
+    }
+
+    @Override
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public URI uri(Feed feed) {
+        return URI.create("http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort() + path(feed));
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        handlers.shutdownNow();
+    }
+
+    private static String path(Feed feed) {
+        return feed == Feed.LOWEST_BIN ? "/lowestbin" : "/bazaar";
+    }
+
+    private void handle(Feed feed, HttpExchange exchange) {
+        requests.get(feed).incrementAndGet();
+        Reply reply;
+        synchronized (replies) {
+            reply = replies.get(feed);
+        }
+
+        try (exchange) {
+            exchange.getRequestBody().readAllBytes();
+            sleep(reply.headerDelayMs);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            reply.headers.forEach(exchange.getResponseHeaders()::set);
+            exchange.sendResponseHeaders(reply.status, reply.body.length == 0 ? -1 : reply.body.length);
+
+            OutputStream out = exchange.getResponseBody();
+            for (int sent = 0; sent < reply.sentBytes; ) {
+                if (sent > 0) sleep(reply.chunkDelayMs);
+                int n = Math.min(reply.chunkBytes, reply.sentBytes - sent);
+                out.write(reply.body, sent, n);
+                out.flush();
+                sent += n;
+            }
+            // A body cut short is left unfinished; closing the exchange then drops the connection.
+        } catch (InterruptedException e) {
+            // Server closing; the client sees the connection drop.
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            // The client gave up on this response, or a short body was closed early.
+        }
+    }
+
+    private static void sleep(long millis) throws InterruptedException {
+        if (millis > 0) Thread.sleep(millis);
+    }
+
+    // ── Replies ─────────────────────────────────────────────────────────────────
+
+    /**
+     * One scripted response.
+     *
+     * @param headerDelayMs time before the status line is sent
+     * @param chunkBytes    body bytes written per chunk
+     * @param chunkDelayMs  pause between chunks
+     * @param sentBytes     body bytes sent before the exchange is closed; less than the
+     *                      advertised length leaves a truncated body
+     */
+    record Reply(int status, byte[] body, Map<String, String> headers, long headerDelayMs,
+                 int chunkBytes, long chunkDelayMs, int sentBytes) {
+
+        static Reply ok(String json) {
+            return ok(json.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Reply ok(byte[] body) {
+            return new Reply(200, body, Map.of(), 0L, Math.max(1, body.length), 0L, body.length);
+        }
+
+        /** A recorded response body from {@code src/test/resources/pricing/<name>}. */
+        static Reply fixture(String name) {
+            try (InputStream in = StandInPriceServer.class.getResourceAsStream("/pricing/" + name)) {
+                if (in == null) throw new IllegalArgumentException("No fixture " + name);
+                return ok(in.readAllBytes());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        static Reply status(int status) {
+            return new Reply(status, new byte[0], Map.of(), 0L, 1, 0L, 0);
+        }
+
+        Reply header(String name, String value) {
+            Map<String, String> more = new HashMap<>(headers);
+            more.put(name, value);
+            return new Reply(status, body, Map.copyOf(more), headerDelayMs, chunkBytes, chunkDelayMs, sentBytes);
+        }
+
+        Reply afterMs(long delayMs) {
+            return new Reply(status, body, headers, delayMs, chunkBytes, chunkDelayMs, sentBytes);
+        }
+
+        /** Sends the body {@code bytes} at a time, {@code delayMs} apart. */
+        Reply dripping(int bytes, long delayMs) {
+            return new Reply(status, body, headers, headerDelayMs, bytes, delayMs, sentBytes);
+        }
+
+        /** Sends {@code bytes} of the body, then waits {@code stallMs} before sending the rest. */
+        Reply stallingAfter(int bytes, long stallMs) {
+            return dripping(Math.max(1, Math.min(bytes, body.length)), stallMs);
+        }
+
+        /** Advertises the full length but closes the connection after {@code bytes}. */
+        Reply truncatedAt(int bytes) {
+            return new Reply(status, body, headers, headerDelayMs, chunkBytes, chunkDelayMs, Math.min(bytes, body.length));
+        }
+    }
+}
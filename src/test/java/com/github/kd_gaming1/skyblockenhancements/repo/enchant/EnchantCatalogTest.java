@@ -0,0 +1,163 @@
+package com.github.kd_gaming1.skyblockenhancements.repo.enchant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.github.kd_gaming1.skyblockenhancements.Bench;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Function;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/** {@link EnchantCatalog#missing} against the pool-{@code BitSet} resolver it replaced. */
+class EnchantCatalogTest {
+
+    private static final String FIXTURE = "/enchants/enchants.json";
+    private static final String ONE_FOR_ALL = "ultimate_one_for_all";
+
+    private static EnchantCatalog catalog;
+    private static PoolBitSetResolver reference;
+
+    @BeforeAll
+    static void loadFixture() throws IOException {
+        catalog = read(EnchantCatalog::parse);
+        reference = read(PoolBitSetResolver::parse);
+    }
+
+    @Test
+    void everyTypeWithNothingPresentMatchesReference() {
+        for (String type : reference.itemTypes()) {
+            assertEquals(reference.findMissingEnchants(type, Set.of()), kernel(type, Set.of()), type);
+        }
+    }
+
+    @Test
+    void everySingleEnchantMatchesReference() {
+        for (String type : reference.itemTypes()) {
+            for (String enchantId : reference.enchantsFor(type)) {
+                Set<String> present = Set.of(enchantId);
+                assertEquals(reference.findMissingEnchants(type, present), kernel(type, present), type + " " + present);
+            }
+        }
+    }
+
+    @Test
+    void randomEnchantSetsMatchReference() {
+        List<String> extras = new ArrayList<>();
+        for (int id = 0; id < catalog.enchantCount(); id++) extras.add(catalog.enchantAt(id));
+        extras.addAll(List.of("unknown_enchant", "SHARPNESS", "ultimate_unknown", ONE_FOR_ALL));
+
+        Random random = new Random(25);
+        Set<String> present = new HashSet<>();
+        for (String type : reference.itemTypes()) {
+            List<String> applicable = reference.enchantsFor(type);
+            for (int i = 0; i < 20_000; i++) {
+                present.clear();
+                for (int n = random.nextInt(8); n > 0; n--) {
+                    boolean own = !applicable.isEmpty() && random.nextInt(4) != 0;
+                    List<String> from = own ? applicable : extras;
+                    present.add(from.get(random.nextInt(from.size())));
+                }
+                assertEquals(reference.findMissingEnchants(type, present), kernel(type, present), type + " " + present);
+            }
+        }
+    }
+
+    @Test
+    void itemTypesAreCaseInsensitive() {
+        assertEquals(catalog.itemTypeId("FISHING_ROD"), catalog.itemTypeId("fishing_rod"));
+        assertEquals(catalog.itemTypeId("SWORD"), catalog.itemTypeId("sword"));
+        assertEquals(EnchantCatalog.UNKNOWN, catalog.itemTypeId("SHOVEL"));
+    }
+
+    @Test
+    void ultimateSupportFollowsApplicableEnchants() {
+        assertTrue(catalog.supportsUltimate(catalog.itemTypeId("PICKAXE")));
+        assertTrue(catalog.supportsUltimate(catalog.itemTypeId("FISHING_ROD")));
+        assertFalse(catalog.supportsUltimate(catalog.itemTypeId("HOE")));
+        assertFalse(catalog.supportsUltimate(catalog.itemTypeId("EMPTY")));
+    }
+
+    @Test
+    void maxLevelsComeFromXpCosts() {
+        assertEquals(7, catalog.maxLevel(catalog.enchantId("sharpness")));
+        assertEquals(10, catalog.maxLevel(catalog.enchantId("efficiency")));
+        assertEquals(1, catalog.maxLevel(catalog.enchantId(ONE_FOR_ALL)));
+        assertEquals(-1, catalog.maxLevel(catalog.enchantId("telekinesis")));
+        // Listed only under xp costs, still numbered.
+        assertEquals(5, catalog.maxLevel(catalog.enchantId("dragon_tracer")));
+        assertEquals(EnchantCatalog.UNKNOWN, catalog.enchantId("unknown_enchant"));
+    }
+
+    @Test
+    void emptyContentGivesEmptyCatalog() {
+        EnchantCatalog empty = EnchantCatalog.parse(Reader.nullReader());
+        assertEquals(0, empty.enchantCount());
+        assertEquals(EnchantCatalog.UNKNOWN, empty.itemTypeId("SWORD"));
+    }
+
+    @Test
+    @Tag("benchmark")
+    void kernelVersusPoolBitSet() throws Exception {
+        String type = "SWORD";
+        Set<String> present = Set.of("sharpness", "critical", "giant_killer", "execute", "life_steal",
+                "looting", "telekinesis", "ultimate_wise");
+        int row = catalog.itemTypeId(type);
+        long[] presentBits = new long[catalog.words()];
+        long[] missingBits = new long[catalog.words()];
+
+        Bench.run("pool BitSet, 8-enchant sword", 50_000, 500_000,
+                () -> reference.findMissingEnchants(type, present).size());
+        Bench.run("bitset kernel, 8-enchant sword", 50_000, 500_000, () -> {
+            catalog.toBits(present, presentBits);
+            catalog.missing(row, presentBits, missingBits);
+            long found = 0;
+            for (long word : missingBits) found += Long.bitCount(word);
+            return found;
+        });
+    }
+
+    // ── Helpers ─────────────────────────────────────────────────────────────────
+
+    /** The kernel wrapped the way {@code MissingEnchantResolver} does, with IDs for names. */
+    private static List<String> kernel(String itemType, Set<String> currentEnchants) {
+        int type = catalog.itemTypeId(itemType);
+        if (type == EnchantCatalog.UNKNOWN) return List.of();
+
+        List<String> missing = new ArrayList<>();
+        if (!currentEnchants.contains(ONE_FOR_ALL)) {
+            long[] present = new long[catalog.words()];
+            long[] out = new long[catalog.words()];
+            catalog.toBits(currentEnchants, present);
+            catalog.missing(type, present, out);
+            for (int w = 0; w < out.length; w++) {
+                for (long bits = out[w]; bits != 0; bits &= bits - 1) {
+                    missing.add(catalog.enchantAt((w << 6) | Long.numberOfTrailingZeros(bits)));
+                }
+            }
+        }
+        boolean hasUltimate = currentEnchants.stream().anyMatch(id -> id.startsWith("ultimate_"));
+        if (catalog.supportsUltimate(type) && !hasUltimate) missing.add(PoolBitSetResolver.ULTIMATE_PROMPT);
+
+        missing.sort(String.CASE_INSENSITIVE_ORDER);
+        return missing;
+    }
+
+    private static <T> T read(Function<Reader, T> parser) throws IOException {
+        try (InputStream in = EnchantCatalogTest.class.getResourceAsStream(FIXTURE)) {
+            if (in == null) throw new IOException("Missing fixture " + FIXTURE);
+            return parser.apply(new InputStreamReader(in, StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.github.kd_gaming1.skyblockenhancements.repo.enchant;
+
+import com.google.gson.Gson;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
+import it.unimi.dsi.fastutil.ints.IntLists;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The missing-enchant lookup used before {@link EnchantCatalog#missing}: per-enchant pool lists
+ * and a {@link BitSet} of satisfied pools, kept as the reference the bitset kernel is checked
+ * and measured against. Returns enchant IDs instead of pretty names.
+ */
+final class PoolBitSetResolver {
+
+    static final String ULTIMATE_PROMPT = "Ultimate enchant";
+
+    private final int poolCount;
+    private final Map<String, IntList> poolsByEnchant;
+    private final Map<String, List<String>> enchantsByType;
+
+    private PoolBitSetResolver(RawEnchants raw) {
+        List<List<String>> pools = raw.enchant_pools != null ? raw.enchant_pools : List.of();
+        this.poolCount = pools.size();
+
+        Map<String, IntArrayList> poolIds = new HashMap<>();
+        for (int poolId = 0; poolId < pools.size(); poolId++) {
+            List<String> pool = pools.get(poolId);
+            if (pool == null) continue;
+            for (String enchantId : pool) {
+                if (enchantId != null) poolIds.computeIfAbsent(enchantId, k -> new IntArrayList(2)).add(poolId);
+            }
+        }
+        Map<String, IntList> byEnchant = new HashMap<>(poolIds.size());
+        poolIds.forEach((enchantId, ids) -> byEnchant.put(enchantId, IntLists.unmodifiable(ids)));
+        this.poolsByEnchant = Map.copyOf(byEnchant);
+
+        Map<String, List<String>> byType = new HashMap<>();
+        if (raw.enchants != null) {
+            raw.enchants.forEach((type, enchants) -> {
+                if (type == null || enchants == null) return;
+                List<String> ids = new ArrayList<>(enchants.size());
+                for (String enchantId : enchants) {
+                    if (enchantId != null) ids.add(enchantId);
+                }
+                byType.put(type.toUpperCase(Locale.ROOT), List.copyOf(ids));
+            });
+        }
+        this.enchantsByType = Map.copyOf(byType);
+    }
+
+    static PoolBitSetResolver parse(Reader reader) {
+        RawEnchants raw = new Gson().fromJson(reader, RawEnchants.class);
+        return new PoolBitSetResolver(raw != null ? raw : new RawEnchants());
+    }
+
+    /** Item types the file lists, upper-cased. */
+    Set<String> itemTypes() {
+        return enchantsByType.keySet();
+    }
+
+    List<String> enchantsFor(String itemType) {
+        return enchantsByType.getOrDefault(itemType.toUpperCase(Locale.ROOT), List.of());
+    }
+
+    List<String> findMissingEnchants(String itemType, Set<String> currentEnchants) {
+        List<String> possibleEnchants = enchantsFor(itemType);
+        if (possibleEnchants.isEmpty()) return List.of();
+
+        BitSet satisfiedPools = buildSatisfiedPools(currentEnchants);
+
+        boolean itemSupportsUltimate = possibleEnchants.stream().anyMatch(PoolBitSetResolver::isUltimateEnchant);
+        boolean hasUltimateOnItem = hasUltimateEnchant(currentEnchants);
+
+        ArrayList<String> missing = new ArrayList<>();
+        for (String enchantId : possibleEnchants) {
+            if (isUltimateEnchant(enchantId)) continue;
+            if (isMissingEnchant(enchantId, currentEnchants, satisfiedPools)) missing.add(enchantId);
+        }
+
+        if (itemSupportsUltimate && !hasUltimateOnItem) missing.add(ULTIMATE_PROMPT);
+
+        missing.sort(String.CASE_INSENSITIVE_ORDER);
+        return missing;
+    }
+
+    private BitSet buildSatisfiedPools(Set<String> currentEnchants) {
+        BitSet satisfiedPools = new BitSet(poolCount);
+        for (String enchantId : currentEnchants) {
+            IntList poolIds = poolsOf(enchantId);
+            for (int i = 0; i < poolIds.size(); i++) satisfiedPools.set(poolIds.getInt(i));
+        }
+        return satisfiedPools;
+    }
+
+    private boolean isMissingEnchant(String enchantId, Set<String> currentEnchants, BitSet satisfiedPools) {
+        if (currentEnchants.contains(enchantId)) return false;
+        if (currentEnchants.contains("ultimate_one_for_all")) return false;
+
+        IntList poolIds = poolsOf(enchantId);
+        for (int i = 0; i < poolIds.size(); i++) {
+            if (satisfiedPools.get(poolIds.getInt(i))) return false;
+        }
+        return true;
+    }
+
+    private IntList poolsOf(String enchantId) {
+        return poolsByEnchant.getOrDefault(enchantId, IntLists.emptyList());
+    }
+
+    private static boolean isUltimateEnchant(String enchantId) {
+        return enchantId.startsWith("ultimate_");
+    }
+
+    private static boolean hasUltimateEnchant(Set<String> currentEnchants) {
+        for (String id : currentEnchants) {
+            if (id.startsWith("ultimate_")) return true;
+        }
+        return false;
+    }
+
+    private static final class RawEnchants {
+        Map<String, List<String>> enchants;
+        List<List<String>> enchant_pools;
+    }
+}
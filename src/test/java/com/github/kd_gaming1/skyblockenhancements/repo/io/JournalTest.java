@@ -0,0 +1,271 @@
+package com.github.kd_gaming1.skyblockenhancements.repo.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** Crash recovery of {@link Journal}: torn tails, corrupt records and interrupted compaction. */
+class JournalTest {
+
+    private static final int PUT = 1;
+    private static final int REMOVE = 2;
+    private static final int HEADER_SIZE = 8;
+    /** Length, type and checksum around each payload. */
+    private static final int RECORD_OVERHEAD = 2 + 1 + 4;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void replayAfterTruncationAtEveryOffset() throws Exception {
+        MapStore original = MapStore.open(dir.resolve("full"));
+        List<Edit> edits = sampleEdits();
+        for (Edit edit : edits) original.apply(edit);
+        original.awaitWritten();
+
+        byte[] full = Files.readAllBytes(original.journalPath());
+        int[] ends = recordEnds(full);
+        assertEquals(edits.size(), ends.length);
+
+        for (int cut = 0; cut <= full.length; cut++) {
+            int intact = 0;
+            while (intact < ends.length && ends[intact] <= cut) intact++;
+            int validEnd = intact == 0 ? HEADER_SIZE : ends[intact - 1];
+
+            Path base = dir.resolve("cut" + cut);
+            Files.createDirectories(base);
+            Files.write(MapStore.journalPath(base), Arrays.copyOf(full, cut));
+
+            MapStore reopened = MapStore.open(base);
+            String at = "cut at " + cut;
+            assertEquals(intact, reopened.replayed.records(), at);
+            assertEquals(expected(edits.subList(0, intact)), reopened.state, at);
+            if (cut < HEADER_SIZE) {
+                assertEquals(cut, reopened.replayed.droppedBytes(), at);
+                assertFalse(Files.exists(reopened.journalPath()), at);
+            } else {
+                assertEquals(cut - validEnd, reopened.replayed.droppedBytes(), at);
+                assertEquals(validEnd, Files.size(reopened.journalPath()), at);
+            }
+
+            // Appends after the repair must land on a clean record boundary.
+            Edit next = new Edit("after", cut);
+            reopened.apply(next);
+            reopened.awaitWritten();
+            List<Edit> survived = new ArrayList<>(edits.subList(0, intact));
+            survived.add(next);
+            MapStore again = MapStore.open(base);
+            assertEquals(intact + 1, again.replayed.records(), at);
+            assertEquals(0, again.replayed.droppedBytes(), at);
+            assertEquals(expected(survived), again.state, at);
+        }
+    }
+
+    @Test
+    void corruptRecordEndsReplay() throws Exception {
+        MapStore original = MapStore.open(dir.resolve("full"));
+        List<Edit> edits = sampleEdits();
+        for (Edit edit : edits) original.apply(edit);
+        original.awaitWritten();
+
+        byte[] full = Files.readAllBytes(original.journalPath());
+        int[] ends = recordEnds(full);
+        for (int record = 0; record < ends.length; record++) {
+            int start = record == 0 ? HEADER_SIZE : ends[record - 1];
+            // One flip in the payload and one in the stored checksum itself.
+            for (int offset : new int[] {start + 3, ends[record] - 1}) {
+                byte[] damaged = full.clone();
+                damaged[offset] ^= 0x10;
+                Path base = dir.resolve("flip" + offset);
+                Files.createDirectories(base);
+                Files.write(MapStore.journalPath(base), damaged);
+
+                MapStore reopened = MapStore.open(base);
+                String at = "flip at " + offset;
+                assertEquals(record, reopened.replayed.records(), at);
+                assertEquals(full.length - start, reopened.replayed.droppedBytes(), at);
+                assertEquals(expected(edits.subList(0, record)), reopened.state, at);
+                assertEquals(start, Files.size(reopened.journalPath()), at);
+            }
+        }
+    }
+
+    @Test
+    void crashBetweenSnapshotAndTruncateReplaysIdempotently() throws Exception {
+        MapStore store = MapStore.open(dir);
+        List<Edit> edits = sampleEdits();
+        for (Edit edit : edits) store.apply(edit);
+        store.awaitWritten();
+        long journalSize = Files.size(store.journalPath());
+
+        // The snapshot lands, then the "process dies" before the journal is emptied.
+        store.crashAfterSnapshot = true;
+        store.journal.compact(new TreeMap<>(store.state));
+        store.awaitSnapshot();
+        Thread.sleep(50);
+        assertEquals(journalSize, Files.size(store.journalPath()), "journal was emptied");
+
+        MapStore restarted = MapStore.open(dir);
+        assertEquals(edits.size(), restarted.replayed.records());
+        assertEquals(expected(edits), restarted.state);
+
+        // A clean compaction afterwards empties the journal without changing the state.
+        restarted.journal.compact(new TreeMap<>(restarted.state));
+        restarted.awaitJournalSize(HEADER_SIZE);
+        MapStore compacted = MapStore.open(dir);
+        assertEquals(0, compacted.replayed.records());
+        assertEquals(expected(edits), compacted.state);
+    }
+
+    // ── Fixture ─────────────────────────────────────────────────────────────────
+
+    /** A put, or a remove when {@code value} is {@code null}. */
+    private record Edit(String key, Integer value) {}
+
+    private static List<Edit> sampleEdits() {
+        return List.of(
+                new Edit("slot.9", 1), new Edit("slot.10", 1), new Edit("bind.36", 9),
+                new Edit("slot.9", null), new Edit("reminder.7", 1_760_745_600), new Edit("slot.10", 0),
+                new Edit("bind.36", 12), new Edit("a-much-longer-key-for-a-longer-record", 42),
+                new Edit("reminder.7", null), new Edit("slot.44", 1), new Edit("bind.36", null),
+                new Edit("slot.9", 1));
+    }
+
+    private static Map<String, Integer> expected(List<Edit> edits) {
+        Map<String, Integer> state = new TreeMap<>();
+        for (Edit edit : edits) {
+            if (edit.value == null) state.remove(edit.key);
+            else state.put(edit.key, edit.value);
+        }
+        return state;
+    }
+
+    /** End offset of every record in an intact journal. */
+    private static int[] recordEnds(byte[] journal) {
+        ByteBuffer buf = ByteBuffer.wrap(journal);
+        List<Integer> ends = new ArrayList<>();
+        int end = HEADER_SIZE;
+        while (end < journal.length) {
+            end += RECORD_OVERHEAD + Short.toUnsignedInt(buf.getShort(end));
+            ends.add(end);
+        }
+        return ends.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /** Journaled map of string keys to ints, with a {@code key=value} snapshot file. */
+    private static final class MapStore {
+        final Path base;
+        final Map<String, Integer> state = new TreeMap<>();
+        final Journal<Map<String, Integer>> journal;
+        Journal.ReplayResult replayed;
+        long expectedJournalBytes;
+        volatile boolean crashAfterSnapshot;
+
+        private MapStore(Path base) {
+            this.base = base;
+            this.journal = new Journal<>("test journal", journalPath(base), this::writeSnapshot,
+                    Journal.DEFAULT_COMPACT_BYTES);
+        }
+
+        static MapStore open(Path base) throws IOException {
+            MapStore store = new MapStore(base);
+            Path snapshot = snapshotPath(base);
+            if (Files.exists(snapshot)) {
+                for (String line : Files.readAllLines(snapshot, StandardCharsets.UTF_8)) {
+                    int eq = line.indexOf('=');
+                    store.state.put(line.substring(0, eq), Integer.parseInt(line.substring(eq + 1)));
+                }
+            }
+            store.replayed = store.journal.replay((type, payload) -> {
+                String key = payload.readUTF();
+                switch (type) {
+                    case PUT -> store.state.put(key, payload.readInt());
+                    case REMOVE -> store.state.remove(key);
+                    default -> throw new IOException("Unknown record type " + type);
+                }
+            });
+            Path journal = journalPath(base);
+            store.expectedJournalBytes = Files.exists(journal) ? Files.size(journal) : HEADER_SIZE;
+            return store;
+        }
+
+        static Path journalPath(Path base) {
+            return base.resolve("state.journal");
+        }
+
+        static Path snapshotPath(Path base) {
+            return base.resolve("state.txt");
+        }
+
+        Path journalPath() {
+            return journalPath(base);
+        }
+
+        void apply(Edit edit) {
+            int keyBytes = 2 + edit.key.getBytes(StandardCharsets.UTF_8).length;
+            if (edit.value == null) {
+                state.remove(edit.key);
+                journal.append(REMOVE, out -> out.writeUTF(edit.key));
+                expectedJournalBytes += RECORD_OVERHEAD + keyBytes;
+            } else {
+                state.put(edit.key, edit.value);
+                journal.append(PUT, out -> {
+                    out.writeUTF(edit.key);
+                    out.writeInt(edit.value);
+                });
+                expectedJournalBytes += RECORD_OVERHEAD + keyBytes + 4;
+            }
+        }
+
+        private void writeSnapshot(Map<String, Integer> snapshot) throws IOException {
+            StringBuilder text = new StringBuilder();
+            snapshot.forEach((key, value) -> text.append(key).append('=').append(value).append('\n'));
+            AtomicFileWriter.writeString(snapshotPath(base), text.toString());
+            if (crashAfterSnapshot) throw new IllegalStateException("simulated crash");
+        }
+
+        /** Waits until every applied edit is on disk. */
+        void awaitWritten() throws InterruptedException {
+            awaitJournalSize(expectedJournalBytes);
+        }
+
+        void awaitJournalSize(long bytes) throws InterruptedException {
+            await(() -> Files.exists(journalPath()) && Files.size(journalPath()) == bytes,
+                    "journal never reached " + bytes + " bytes");
+        }
+
+        void awaitSnapshot() throws InterruptedException {
+            await(() -> Files.exists(snapshotPath(base)), "snapshot never written");
+        }
+
+        private static void await(IoCondition condition, String message) throws InterruptedException {
+            long deadline = System.nanoTime() + 5_000_000_000L;
+            while (true) {
+                try {
+                    if (condition.holds()) return;
+                } catch (IOException e) {
+                    // File mid-replace; check again.
+                }
+                if (System.nanoTime() - deadline > 0) throw new AssertionError(message);
+                Thread.sleep(1);
+            }
+        }
+
+        @FunctionalInterface
+        private interface IoCondition {
+            boolean holds() throws IOException;
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.github.kd_gaming1.skyblockenhancements.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import org.junit.jupiter.api.Test;
+
+/**
+ * {@link CoinFormat} against the formatters the price tooltip used before it, copied below
+ * as the reference: {@code formatCoins}, {@code formatRawCoins} and the {@code %+.1f%%} trend.
+ */
+class CoinFormatTest {
+
+    private static final double[] EDGES = {
+            0.0, -0.0, Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY,
+            Double.MIN_VALUE, -Double.MIN_VALUE, Double.MAX_VALUE, -Double.MAX_VALUE,
+            0.05, 0.15, 0.25, 0.35, 0.45, 0.95, -0.05, -0.15, -0.95,
+            0.005, 0.015, 0.125, 0.145, 1.005, 2.675, -0.005, -1.005, -2.675,
+            999.95, 9_999.95, 999_999.94, 999_999.95, 999_999.99, 1_000_000.0, 1_049_999.99,
+            1_050_000.0, 1_150_000.0, 999_949_999.0, 999_950_000.0, 1_000_000_000.0, 1_050_000_000.0,
+            2_250_000_000.0, 1e15, 1e16, 1e17, 9.2e18, 1e19, 1e300, -1e15, -1e19,
+            12_345.6, 1_234_567.89, 0.1 + 0.2, 1.0 / 3, -1.0 / 3};
+
+    @Test
+    void edgeCasesMatchOldFormatters() {
+        for (double value : EDGES) {
+            assertAllForms(value);
+        }
+    }
+
+    @Test
+    void roundingTiesMatchOldFormatters() {
+        // Every value that is a tie in its shortest decimal form at the tenths and hundredths.
+        for (long n = -200_000; n <= 200_000; n++) {
+            assertAllForms(n / 10.0 + 0.05);
+            assertAllForms(n / 100.0 + 0.005);
+        }
+        for (long n = 0; n < 20_000; n++) {
+            assertAllForms(1_000_000.0 + n * 50_000.0);
+            assertAllForms(1_000_000_000.0 + n * 50_000_000.0);
+        }
+    }
+
+    @Test
+    void randomValuesMatchOldFormatters() {
+        Random random = new Random(15);
+        for (int i = 0; i < 1_000_000; i++) {
+            double magnitude = Math.pow(10, random.nextInt(19) - 3);
+            double value = random.nextDouble() * magnitude;
+            if (random.nextInt(4) == 0) value = -value;
+            if (random.nextInt(8) == 0) value = Math.rint(value * 100) / 100;
+            assertAllForms(value);
+        }
+    }
+
+    @Test
+    void randomBitPatternsMatchOldFormatters() {
+        Random random = new Random(150);
+        for (int i = 0; i < 20_000; i++) {
+            assertAllForms(Double.longBitsToDouble(random.nextLong()));
+        }
+    }
+
+    private static void assertAllForms(double value) {
+        String label = value + " (0x" + Long.toHexString(Double.doubleToRawLongBits(value)) + ")";
+        assertEquals(outcome(() -> Reference.formatCoins(value)), outcome(() -> CoinFormat.US.compact(value)),
+                () -> "compact " + label);
+        assertEquals(outcome(() -> Reference.formatRawCoins(value)), outcome(() -> CoinFormat.US.full(value)),
+                () -> "full " + label);
+        assertEquals(outcome(() -> Reference.percent(value)),
+                outcome(() -> CoinFormat.US.appendSignedPercent(new StringBuilder(), value).toString()),
+                () -> "percent " + label);
+    }
+
+    /** The formatted text, or the exception type; both formatters must agree either way. */
+    private static String outcome(Callable<String> format) {
+        try {
+            return format.call();
+        } catch (Exception e) {
+            return "threw " + e.getClass().getName();
+        }
+    }
+
+    /** The tooltip's formatting as it was before {@link CoinFormat}, unchanged. */
+    private static final class Reference {
+        private static final DecimalFormat COIN_FORMAT;
+        static {
+            DecimalFormatSymbols symbols = new DecimalFormatSymbols(Locale.US);
+            symbols.setGroupingSeparator(',');
+            COIN_FORMAT = new DecimalFormat("#,##0.#", symbols);
+        }
+
+        static String percent(double trend) {
+            return String.format(Locale.US, "%+.1f%%", trend);
+        }
+
+        static String formatCoins(double value) {
+            if (value >= 1_000_000_000) {
+                return String.format(Locale.US, "%.1fB", value / 1_000_000_000);
+            }
+            if (value >= 1_000_000) {
+                return String.format(Locale.US, "%.1fM", value / 1_000_000);
+            }
+            return COIN_FORMAT.format(value);
+        }
+
+        static String formatRawCoins(double value) {
+            String plain = BigDecimal.valueOf(value)
+                    .setScale(2, RoundingMode.HALF_UP)
+                    .stripTrailingZeros()
+                    .toPlainString();
+
+            int decimalIndex = plain.indexOf('.');
+            String integerPart = decimalIndex >= 0 ? plain.substring(0, decimalIndex) : plain;
+            String fractionPart = decimalIndex >= 0 ? plain.substring(decimalIndex) : "";
+
+            String sign = "";
+            if (integerPart.startsWith("-") || integerPart.startsWith("+")) {
+                sign = integerPart.substring(0, 1);
+                integerPart = integerPart.substring(1);
+            }
+
+            StringBuilder grouped = new StringBuilder(integerPart.length() + integerPart.length() / 3);
+            for (int i = 0; i < integerPart.length(); i++) {
+                if (i > 0 && (integerPart.length() - i) % 3 == 0) {
+                    grouped.append(',');
+                }
+                grouped.append(integerPart.charAt(i));
+            }
+
+            return sign + grouped + fractionPart;
+        }
+    }
+}
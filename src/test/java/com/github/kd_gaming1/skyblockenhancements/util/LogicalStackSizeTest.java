@@ -0,0 +1,83 @@
+package com.github.kd_gaming1.skyblockenhancements.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.github.kd_gaming1.skyblockenhancements.Bench;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/** {@link LogicalStackSize#scanLine} against the regexes it replaced. */
+class LogicalStackSizeTest {
+
+    /** Quantity lines as Hypixel sends them, plus ordinary lore that must not match. */
+    static final List<String> TOOLTIP = List.of(
+            "Enchanted Diamond",
+            "Buy Order",
+            "Order amount: 1,500x",
+            "Offer amount: 2.5k",
+            "Amount: 64x",
+            " Amount: 3M",
+            "Stored: 12,345/100k",
+            "Compost Available: 1.2B",
+            "Price per unit: 1,234.5 coins",
+            "Customers: 3 (64x)",
+            "",
+            "Click to view details!",
+            "RARE MATERIAL",
+            "Amount: 10 coins",
+            "Stored: 5",
+            "Compost Available: 7x");
+
+    private static final String[] PIECES = {
+            "Amount: ", "Offer amount: ", "Order amount: ", " Amount: ", "Stored: ", "Compost Available: ",
+            "1,500", "2.5k", "3M", "64", "0", "x", "/", ",", ".", "k", "B", ": ", "Order", " amount", "abc", " "};
+
+    @Test
+    void knownLinesMatchRegexes() {
+        for (String line : TOOLTIP) {
+            assertEquals(reference(line), scanned(line), line);
+        }
+    }
+
+    @Test
+    void generatedLinesMatchRegexes() {
+        Random random = new Random(14);
+        StringBuilder line = new StringBuilder();
+        for (int i = 0; i < 200_000; i++) {
+            line.setLength(0);
+            for (int n = 1 + random.nextInt(5); n > 0; n--) {
+                line.append(PIECES[random.nextInt(PIECES.length)]);
+            }
+            String text = line.toString();
+            assertEquals(reference(text), scanned(text), text);
+        }
+    }
+
+    @Test
+    @Tag("benchmark")
+    void scannerVersusRegexes() throws Exception {
+        Bench.run("regex, 16-line tooltip", 20_000, 200_000, () -> {
+            long found = 0;
+            for (String line : TOOLTIP) found += reference(line);
+            return found;
+        });
+        Bench.run("scanner, 16-line tooltip", 20_000, 200_000, () -> {
+            long found = 0;
+            for (String line : TOOLTIP) found += scanned(line);
+            return found;
+        });
+    }
+
+    /** A regex result as the caller sees it: positive quantities only. */
+    private static long reference(String line) {
+        Long parsed = RegexStackSize.tryParse(line);
+        return parsed != null && parsed > 0 ? parsed : -1L;
+    }
+
+    private static long scanned(String line) {
+        long parsed = LogicalStackSize.scanLine(line);
+        return parsed > 0 ? parsed : -1L;
+    }
+}
@@ -0,0 +1,52 @@
+package com.github.kd_gaming1.skyblockenhancements.util;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The regex-based quantity parser {@link LogicalStackSize} used before its single-pass
+ * scanner, kept verbatim as the reference the scanner is checked and measured against.
+ */
+final class RegexStackSize {
+
+    private static final String SHORT_NUMBER_FORMAT = "[0-9]+(?:,[0-9]+)*(?:\\.[0-9]+)?[kKmMbB]?";
+
+    private static final Pattern AMOUNT_REGEX = Pattern.compile(
+            ".*(?:Offer amount|Amount|Order amount): (" + SHORT_NUMBER_FORMAT + ")x?");
+
+    private static final Pattern STORED_REGEX = Pattern.compile(
+            "Stored: (" + SHORT_NUMBER_FORMAT + ")/.+");
+
+    private static final Pattern COMPOST_REGEX = Pattern.compile(
+            "Compost Available: (" + SHORT_NUMBER_FORMAT + ")");
+
+    private static final Pattern GEMSTONE_SACK_REGEX = Pattern.compile(
+            " Amount: (" + SHORT_NUMBER_FORMAT + ")");
+
+    private RegexStackSize() {}
+
+    /** Tries all known patterns against a single tooltip line. */
+    static Long tryParse(String text) {
+        Long result = tryPattern(AMOUNT_REGEX, text);
+        if (result != null) return result;
+
+        result = tryPattern(GEMSTONE_SACK_REGEX, text);
+        if (result != null) return result;
+
+        result = tryPattern(STORED_REGEX, text);
+        if (result != null) return result;
+
+        result = tryPattern(COMPOST_REGEX, text);
+        return result;
+    }
+
+    private static Long tryPattern(Pattern pattern, String text) {
+        Matcher m = pattern.matcher(text);
+        if (!m.matches()) return null;
+        try {
+            return LogicalStackSize.parseShortNumber(m.group(1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}